@@ -3,6 +3,7 @@ plugins {
     id("jacoco")
     id("org.springframework.boot") version "3.5.0"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "hu.zoltanterek.worldsim"
@@ -25,6 +26,7 @@ configurations.configureEach {
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
     implementation(refinery.generator)
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -36,6 +38,57 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+tasks.processResources {
+    // Startup warm-up fixtures; bundled so the default does not depend on the working directory.
+    from("examples/requests") {
+        into("warmup/requests")
+    }
+}
+
+tasks.register<JavaExec>("snapshotFactsBenchmark") {
+    group = "verification"
+    description = "Compares allocation and time of tree-bound vs streaming director facts extraction."
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass = "hu.zoltanterek.worldsim.refinery.benchmark.SnapshotFactsBenchmark"
+    workingDir = projectDir
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Drives /v1/patch in pipeline mode against an in-process stub OpenRouter server."
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass = "hu.zoltanterek.worldsim.refinery.benchmark.PipelineLoadHarness"
+    workingDir = projectDir
+    args = providers.gradleProperty("loadArgs").getOrElse("").split(" ").filter { it.isNotBlank() }
+}
+
+jmh {
+    jmhVersion = "1.37"
+    includeTests = true
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    warmup = "2s"
+    timeOnIteration = "2s"
+    jvmArgsAppend = listOf("-Dworldsim.benchmark.requestsDir=${projectDir.resolve("examples/requests")}")
+    // e.g. ./gradlew jmh -PjmhIncludes=DirectorHotPathBenchmark.validateAndRepair
+    includes = listOf(providers.gradleProperty("jmhIncludes").getOrElse(".*"))
+}
+
+tasks.register<JavaExec>("jmhCompare") {
+    group = "verification"
+    description = "Compares the last JMH results against src/jmh/jmh-baseline.json."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "hu.zoltanterek.worldsim.refinery.benchmark.JmhBaselineComparison"
+    args(
+        file("src/jmh/jmh-baseline.json"),
+        layout.buildDirectory.file("results/jmh/results.json").get().asFile,
+        providers.gradleProperty("jmhRegressionPercent").getOrElse("25")
+    )
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
 
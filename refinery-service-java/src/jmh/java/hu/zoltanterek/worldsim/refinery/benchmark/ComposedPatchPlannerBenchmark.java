@@ -0,0 +1,78 @@
+package hu.zoltanterek.worldsim.refinery.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import hu.zoltanterek.worldsim.refinery.RefineryServiceApplication;
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
+import hu.zoltanterek.worldsim.refinery.planner.ComposedPatchPlanner;
+
+/**
+ * Full {@link ComposedPatchPlanner#plan(PatchRequest)} for a season director checkpoint, wired by Spring exactly as
+ * the service runs it (no web server, LLM disabled). The mock memo is turned off so every invocation plans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComposedPatchPlannerBenchmark {
+    @Param({"mock", "pipeline"})
+    public String mode;
+
+    @Param({"0", "256"})
+    public int scale;
+
+    private ConfigurableApplicationContext context;
+    private ComposedPatchPlanner planner;
+    private PatchRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(RefineryServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(
+                        "--planner.mode=" + mode,
+                        "--planner.llm.enabled=false",
+                        "--planner.memo.maxEntries=0",
+                        "--planner.warmup.enabled=false",
+                        "--logging.level.root=WARN"
+                );
+        planner = context.getBean(ComposedPatchPlanner.class);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        request = objectMapper.treeToValue(
+                ScaledRequests.load(objectMapper, scale).stream()
+                        .filter(named -> named.name().equals("patch-season-director-v1.json"))
+                        .findFirst()
+                        .orElseThrow()
+                        .body(),
+                PatchRequest.class
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PatchResponse plan() {
+        return planner.plan(request);
+    }
+}
@@ -0,0 +1,130 @@
+package hu.zoltanterek.worldsim.refinery.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import hu.zoltanterek.worldsim.refinery.model.PatchOp;
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.planner.MockPlanner;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorCorePatchAssertionsMapper;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDesign;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorModelValidator;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorOutputAssertions;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeAssertions;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeAssertionsMapper;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeFacts;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorSnapshotMapper;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorValidationOutcome;
+import hu.zoltanterek.worldsim.refinery.planner.llm.DirectorCandidateParser;
+import hu.zoltanterek.worldsim.refinery.planner.llm.DirectorPromptFactory;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorRefinerySolveResult;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorRefinerySolver;
+
+/**
+ * Per-checkpoint director stages on the season director example, with {@code snapshot.director} arrays scaled by
+ * {@link #scale} (see {@link ScaledRequests}). {@code solve} runs uncached, so it measures a full tools.refinery
+ * propagation each time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DirectorHotPathBenchmark {
+    static final String CANDIDATE_CONTENT = """
+            {
+              "explanation": "Food is short, so the director nudges farming.",
+              "designatedOutput": {
+                "storyBeatSlot": {
+                  "beatId": "BEAT_BENCH_1",
+                  "text": "A dry spell tests the granaries.",
+                  "durationTicks": 24,
+                  "severity": "major",
+                  "effects": [
+                    {"kind":"domain_modifier","domain":"food","modifier":-0.1,"durationTicks":24}
+                  ]
+                },
+                "directiveSlot": {
+                  "colonyId": 0,
+                  "directive": "PrioritizeFood",
+                  "durationTicks": 20,
+                  "biases": [
+                    {"kind":"goal_bias","goalCategory":"farming","weight":0.4,"durationTicks":20}
+                  ]
+                }
+              }
+            }
+            """;
+
+    @Param({"0", "16", "256"})
+    public int scale;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DirectorSnapshotMapper snapshotMapper = new DirectorSnapshotMapper();
+    private final DirectorModelValidator validator = new DirectorModelValidator();
+    private final DirectorCandidateParser candidateParser = new DirectorCandidateParser(objectMapper);
+    private final DirectorPromptFactory promptFactory = new DirectorPromptFactory();
+    private final DirectorRuntimeAssertionsMapper runtimeAssertionsMapper = new DirectorRuntimeAssertionsMapper();
+    private final DirectorRefinerySolver solver = new DirectorRefinerySolver();
+
+    private PatchRequest request;
+    private DirectorRuntimeFacts facts;
+    private List<PatchOp> candidatePatch;
+    private DirectorOutputAssertions assertions;
+
+    @Setup
+    public void setUp() throws Exception {
+        request = objectMapper.treeToValue(
+                ScaledRequests.load(objectMapper, scale).stream()
+                        .filter(named -> named.name().equals("patch-season-director-v1.json"))
+                        .findFirst()
+                        .orElseThrow()
+                        .body(),
+                PatchRequest.class
+        );
+        facts = snapshotMapper.map(request, DirectorDesign.DEFAULT_INFLUENCE_BUDGET);
+        candidatePatch = new MockPlanner(objectMapper, "both", false, 0).plan(request).patch();
+        List<PatchOp> validated = validator.validateAndRepair(candidatePatch, facts).patch();
+        assertions = new DirectorCorePatchAssertionsMapper().map(validated).assertions();
+    }
+
+    @Benchmark
+    public DirectorRuntimeFacts snapshotMap() {
+        return snapshotMapper.map(request, DirectorDesign.DEFAULT_INFLUENCE_BUDGET);
+    }
+
+    @Benchmark
+    public DirectorValidationOutcome validateAndRepair() {
+        return validator.validateAndRepair(candidatePatch, facts);
+    }
+
+    @Benchmark
+    public Optional<DirectorCandidateParser.DirectorCandidate> candidateParse() {
+        return candidateParser.parse(CANDIDATE_CONTENT);
+    }
+
+    @Benchmark
+    public String userPrompt() {
+        return promptFactory.userPrompt(facts, "both", false, List.of());
+    }
+
+    @Benchmark
+    public DirectorRuntimeAssertions runtimeAssertionsMap() {
+        return runtimeAssertionsMapper.map(facts);
+    }
+
+    @Benchmark
+    public DirectorRefinerySolveResult solve() {
+        return solver.solve(facts, assertions);
+    }
+}
@@ -0,0 +1,83 @@
+package hu.zoltanterek.worldsim.refinery.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import hu.zoltanterek.worldsim.refinery.model.PatchOp;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDesign;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDiagnostic;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorModelValidator;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeFacts;
+
+/**
+ * Cost of rejecting a bad director candidate. {@code throwing} is the {@code validateAndRepair} contract the retry
+ * loop used to catch; {@code verdict} is the result-object path it uses now. {@code rejection} picks an op-level
+ * failure ({@code directive}, unknown directive name) or one found while walking a causal chain ({@code causalChain}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DirectorRejectPathBenchmark {
+    @Param({"directive", "causalChain"})
+    public String rejection;
+
+    private final DirectorModelValidator validator = new DirectorModelValidator();
+
+    private DirectorRuntimeFacts facts;
+    private List<PatchOp> candidatePatch;
+
+    @Setup
+    public void setUp() {
+        facts = new DirectorRuntimeFacts(128L, 2, 0L, DirectorDesign.DEFAULT_INFLUENCE_BUDGET, List.of(), List.of());
+        PatchOp.EffectEntry effect = new PatchOp.EffectEntry("domain_modifier", "food", -0.1, 24);
+        candidatePatch = switch (rejection) {
+            case "directive" -> List.of(
+                    new PatchOp.AddStoryBeat("op_story", "BEAT_1", "A dry spell tests the granaries.", 24, "major", List.of(effect)),
+                    new PatchOp.SetColonyDirective("op_dir", 0, "ConquerEverything", 20)
+            );
+            case "causalChain" -> List.of(new PatchOp.AddStoryBeat(
+                    "op_story",
+                    "BEAT_1",
+                    "A dry spell tests the granaries.",
+                    24,
+                    "major",
+                    List.of(effect),
+                    new PatchOp.CausalChainEntry(
+                            "causal_chain",
+                            new PatchOp.CausalCondition("food_reserves_pct", "lt", 25),
+                            new PatchOp.CausalFollowUpBeat("BEAT_2", "Rationing begins.", 12, "major", List.of(effect)),
+                            10_000,
+                            DirectorDesign.CAUSAL_MAX_TRIGGERS
+                    )
+            ));
+            default -> throw new IllegalArgumentException("unknown rejection " + rejection);
+        };
+        if (validator.validate(candidatePatch, facts).isAccepted()) {
+            throw new IllegalStateException("benchmark candidate must be rejected: " + rejection);
+        }
+    }
+
+    @Benchmark
+    public String throwing() {
+        try {
+            validator.validateAndRepair(candidatePatch, facts);
+            return null;
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    @Benchmark
+    public DirectorDiagnostic verdict() {
+        return validator.validate(candidatePatch, facts).rejection();
+    }
+}
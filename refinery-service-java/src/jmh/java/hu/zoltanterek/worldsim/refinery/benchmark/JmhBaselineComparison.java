@@ -0,0 +1,132 @@
+package hu.zoltanterek.worldsim.refinery.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a JMH JSON result file against the checked-in baseline: score and {@code gc.alloc.rate.norm} per
+ * benchmark and parameter set. Scores are judged relative to the run as a whole: each current/baseline ratio is
+ * divided by the geometric mean of all ratios, so a uniformly faster or slower host cancels out and only benchmarks
+ * that moved against the rest count. With fewer than {@value #MIN_NORMALIZED_OVERLAP} benchmarks shared with the
+ * baseline (e.g. a run filtered with {@code -PjmhIncludes}) the run cannot serve as its own reference, so raw
+ * deltas are judged instead. Throws, failing the Gradle task, when any slowdown exceeds the threshold. Run with
+ * {@code ./gradlew jmhCompare} after {@code ./gradlew jmh}.
+ */
+public final class JmhBaselineComparison {
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+    private static final int MIN_NORMALIZED_OVERLAP = 3;
+
+    private JmhBaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("usage: JmhBaselineComparison <baseline.json> <results.json> [thresholdPercent]");
+        }
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : 25.0;
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(Files.readString(Path.of(args[0]))));
+        Map<String, JsonNode> results = index(objectMapper.readTree(Files.readString(Path.of(args[1]))));
+
+        int overlap = overlap(baseline, results);
+        double hostFactor = 1.0;
+        if (overlap < MIN_NORMALIZED_OVERLAP) {
+            System.out.printf(Locale.ROOT,
+                    "WARNING: only %d benchmark(s) overlap the baseline; judging raw deltas, which depend on the host%n",
+                    overlap);
+        } else {
+            hostFactor = hostFactor(baseline, results);
+            if ((hostFactor - 1.0) * 100.0 > thresholdPercent) {
+                System.out.printf(Locale.ROOT,
+                        "WARNING: the whole run is %.1f%% slower than the baseline; a slowdown shared by every"
+                                + " benchmark is not flagged, check the raw%% column%n",
+                        (hostFactor - 1.0) * 100.0);
+            }
+        }
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-70s %12s %12s %8s %8s %12s %12s%n",
+                "benchmark", "baseline", "current", "raw%", "rel%", "baseB/op", "curB/op");
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode current = entry.getValue();
+            JsonNode base = baseline.get(entry.getKey());
+            double currentScore = score(current);
+            if (base == null) {
+                System.out.printf(Locale.ROOT, "%-70s %12s %12.3f %8s %8s %12s %12.0f%n",
+                        entry.getKey(), "-", currentScore, "new", "new", "-", allocation(current));
+                continue;
+            }
+            double baseScore = score(base);
+            double rawDelta = baseScore == 0.0 ? 0.0 : (currentScore / baseScore - 1.0) * 100.0;
+            double relativeDelta = baseScore == 0.0 ? 0.0 : (currentScore / baseScore / hostFactor - 1.0) * 100.0;
+            boolean regressed = relativeDelta > thresholdPercent;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-70s %12.3f %12.3f %+8.1f %+8.1f %12.0f %12.0f%s%n",
+                    entry.getKey(), baseScore, currentScore, rawDelta, relativeDelta, allocation(base),
+                    allocation(current), regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf(Locale.ROOT,
+                "%d benchmark(s), host factor %.3f, %d regression(s) above %.1f%% %s%n",
+                results.size(), hostFactor, regressions, thresholdPercent,
+                overlap < MIN_NORMALIZED_OVERLAP ? "(raw)" : "relative to the run");
+        if (regressions > 0) {
+            throw new IllegalStateException(regressions + " benchmark(s) regressed against " + args[0]);
+        }
+    }
+
+    private static int overlap(Map<String, JsonNode> baseline, Map<String, JsonNode> results) {
+        int count = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode base = baseline.get(entry.getKey());
+            if (base != null && score(base) > 0.0 && score(entry.getValue()) > 0.0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Geometric mean of current/baseline score ratios over the benchmarks both files share. */
+    private static double hostFactor(Map<String, JsonNode> baseline, Map<String, JsonNode> results) {
+        double logSum = 0.0;
+        int count = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode base = baseline.get(entry.getKey());
+            if (base == null || score(base) <= 0.0 || score(entry.getValue()) <= 0.0) {
+                continue;
+            }
+            logSum += Math.log(score(entry.getValue()) / score(base));
+            count++;
+        }
+        return count == 0 ? 1.0 : Math.exp(logSum / count);
+    }
+
+    private static double score(JsonNode run) {
+        return run.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> byKey = new TreeMap<>();
+        for (JsonNode run : runs) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText().replaceFirst("^.*\\.benchmark\\.", ""));
+            Map<String, String> params = new TreeMap<>();
+            for (Map.Entry<String, JsonNode> field : run.path("params").properties()) {
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+
+    private static double allocation(JsonNode run) {
+        return run.path("secondaryMetrics").path(ALLOC_METRIC).path("score").asDouble(Double.NaN);
+    }
+}
@@ -0,0 +1,64 @@
+package hu.zoltanterek.worldsim.refinery.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+
+/**
+ * {@link PatchRequest} decode time for JSON vs Smile over every example request, with the director arrays scaled by
+ * {@code scale}. One invocation decodes the whole example set. Encoded sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"1", "16", "256", "4096"})
+    public int scale;
+
+    private ObjectMapper mapper;
+    private List<byte[]> payloads;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        mapper = switch (format) {
+            case "json" -> json;
+            case "smile" -> new SmileMapper();
+            default -> throw new IllegalArgumentException("unknown format " + format);
+        };
+        payloads = new ArrayList<>();
+        long totalBytes = 0;
+        for (ScaledRequests.NamedRequest request : ScaledRequests.load(json, scale)) {
+            byte[] payload = mapper.writeValueAsBytes(request.body());
+            payloads.add(payload);
+            totalBytes += payload.length;
+        }
+        System.out.printf(Locale.ROOT, "%s scale=%d requests=%d encodedBytes=%d%n", format, scale, payloads.size(), totalBytes);
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws Exception {
+        for (byte[] payload : payloads) {
+            blackhole.consume(mapper.readValue(payload, PatchRequest.class));
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package hu.zoltanterek.worldsim.refinery.controller;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -11,12 +16,23 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 
 import hu.zoltanterek.worldsim.refinery.model.ErrorResponse;
+import hu.zoltanterek.worldsim.refinery.service.RequestMetrics;
+import hu.zoltanterek.worldsim.refinery.service.WorldSessionConflictException;
+import jakarta.validation.ConstraintViolationException;
 
 @RestControllerAdvice
 public class ApiExceptionHandler {
+    private static final Logger logger = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    private final RequestMetrics requestMetrics;
+
+    public ApiExceptionHandler(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException exception) {
+        requestMetrics.recordError("validation");
         List<String> details = exception.getBindingResult()
                 .getAllErrors()
                 .stream()
@@ -30,9 +46,70 @@ public class ApiExceptionHandler {
         return ResponseEntity.badRequest().body(new ErrorResponse("Validation failed", details));
     }
 
+    /**
+     * Bean validation of a body bound outside {@code @Valid}, i.e. by {@link PatchRequestReader}. Details have the same
+     * {@code field: message} shape as {@link #handleValidation}.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException exception) {
+        requestMetrics.recordError("validation");
+        List<String> details = exception.getConstraintViolations()
+                .stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .toList();
+        return ResponseEntity.badRequest().body(new ErrorResponse("Validation failed", details));
+    }
+
     @ExceptionHandler({HttpMessageNotReadableException.class, IllegalArgumentException.class})
     public ResponseEntity<ErrorResponse> handleBadRequest(Exception exception) {
+        requestMetrics.recordError("bad_request");
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse("Bad request", List.of(exception.getMessage())));
     }
+
+    /**
+     * Async endpoints fail with the planner's exception wrapped in {@link CompletionException}; map the cause like a
+     * synchronous failure so {@code /v1/patch:async} answers 400/409 exactly where {@code /v1/patch} does.
+     */
+    @ExceptionHandler(CompletionException.class)
+    public ResponseEntity<ErrorResponse> handleCompletion(CompletionException exception) throws Throwable {
+        Throwable cause = exception;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof IllegalArgumentException || cause instanceof HttpMessageNotReadableException) {
+            return handleBadRequest((Exception) cause);
+        }
+        if (cause instanceof WorldSessionConflictException conflict) {
+            return handleSessionConflict(conflict);
+        }
+        if (cause instanceof Exception unexpected) {
+            return handleUnexpected(unexpected);
+        }
+        throw cause;
+    }
+
+    @ExceptionHandler(WorldSessionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleSessionConflict(WorldSessionConflictException exception) {
+        requestMetrics.recordError("session_conflict");
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(PatchController.SESSION_VERSION_HEADER, Long.toString(exception.currentVersion()))
+                .body(new ErrorResponse("Session conflict", List.of(exception.getMessage())));
+    }
+
+    /**
+     * Anything the handlers above do not map is a 500, counted as {@code internal}. Spring's own web exceptions
+     * (unknown route, wrong method, async timeout, ...) carry their status and are left to the default resolvers.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleUnexpected(Exception exception) throws Exception {
+        if (exception instanceof org.springframework.web.ErrorResponse || exception instanceof TypeMismatchException) {
+            throw exception;
+        }
+        requestMetrics.recordError("internal");
+        logger.error("unhandled request failure", exception);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Internal error", List.of(exception.getClass().getSimpleName())));
+    }
 }
@@ -1,22 +1,35 @@
 package hu.zoltanterek.worldsim.refinery.controller;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorSolverObservabilitySidecar;
 
 @RestController
 @RequestMapping("/v1/director")
 public class DirectorTelemetryController {
     private final DirectorPipelineTelemetry telemetry;
+    private final DirectorSolverObservabilitySidecar solverSidecar;
 
-    public DirectorTelemetryController(DirectorPipelineTelemetry telemetry) {
+    public DirectorTelemetryController(
+            DirectorPipelineTelemetry telemetry,
+            DirectorSolverObservabilitySidecar solverSidecar
+    ) {
         this.telemetry = telemetry;
+        this.solverSidecar = solverSidecar;
     }
 
     @GetMapping("/telemetry")
     public DirectorPipelineTelemetry.Snapshot telemetry() {
         return telemetry.snapshot();
     }
+
+    @GetMapping("/solver-observability/{requestId}")
+    public ResponseEntity<DirectorSolverObservabilitySidecar.Entry> solverObservability(@PathVariable String requestId) {
+        return ResponseEntity.of(solverSidecar.lookup(requestId));
+    }
 }
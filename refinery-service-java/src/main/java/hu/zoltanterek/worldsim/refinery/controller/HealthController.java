@@ -1,24 +1,42 @@
 package hu.zoltanterek.worldsim.refinery.controller;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import hu.zoltanterek.worldsim.refinery.service.StartupWarmup;
+
 @RestController
 public class HealthController {
     private final String version;
+    private final StartupWarmup startupWarmup;
 
-    public HealthController(@Value("${app.version:0.1.0}") String version) {
+    public HealthController(@Value("${app.version:0.1.0}") String version, StartupWarmup startupWarmup) {
         this.version = version;
+        this.startupWarmup = startupWarmup;
     }
 
     @GetMapping("/health")
-    public Map<String, String> health() {
-        return Map.of(
-                "status", "ok",
-                "version", version
-        );
+    public ResponseEntity<Map<String, Object>> health() {
+        if (!startupWarmup.isEnabled()) {
+            return ResponseEntity.ok(Map.of(
+                    "status", "ok",
+                    "version", version
+            ));
+        }
+
+        StartupWarmup.Report report = startupWarmup.report();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", report == null ? "warming_up" : "ready");
+        body.put("version", version);
+        if (report != null) {
+            body.put("warmup", report);
+        }
+        return ResponseEntity.status(report == null ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK).body(body);
     }
 }
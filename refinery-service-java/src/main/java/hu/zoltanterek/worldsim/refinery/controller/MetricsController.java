@@ -0,0 +1,25 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import hu.zoltanterek.worldsim.refinery.service.PrometheusMetricsExporter;
+import hu.zoltanterek.worldsim.refinery.util.PrometheusTextWriter;
+
+@RestController
+public class MetricsController {
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType(PrometheusTextWriter.CONTENT_TYPE);
+
+    private final PrometheusMetricsExporter exporter;
+
+    public MetricsController(PrometheusMetricsExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<String> metrics() {
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(exporter.render());
+    }
+}
@@ -1,28 +1,97 @@
 package hu.zoltanterek.worldsim.refinery.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import hu.zoltanterek.worldsim.refinery.model.PatchBatchResponse;
 import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
 import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
+import hu.zoltanterek.worldsim.refinery.model.SessionPatchRequest;
+import hu.zoltanterek.worldsim.refinery.service.PatchBatchService;
 import hu.zoltanterek.worldsim.refinery.service.PatchService;
+import hu.zoltanterek.worldsim.refinery.service.PatchStreamService;
+import hu.zoltanterek.worldsim.refinery.service.WorldSessionStore;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @Validated
 @RestController
 @RequestMapping("/v1")
 public class PatchController {
+    private static final String NDJSON = "application/x-ndjson";
+    static final String SESSION_VERSION_HEADER = "X-Session-Version";
+
     private final PatchService patchService;
+    private final PatchRequestReader patchRequestReader;
+    private final PatchBatchService patchBatchService;
+    private final PatchStreamService patchStreamService;
+    private final WorldSessionStore worldSessionStore;
 
-    public PatchController(PatchService patchService) {
+    public PatchController(
+            PatchService patchService,
+            PatchRequestReader patchRequestReader,
+            PatchBatchService patchBatchService,
+            PatchStreamService patchStreamService,
+            WorldSessionStore worldSessionStore
+    ) {
         this.patchService = patchService;
+        this.patchRequestReader = patchRequestReader;
+        this.patchBatchService = patchBatchService;
+        this.patchStreamService = patchStreamService;
+        this.worldSessionStore = worldSessionStore;
+    }
+
+    /**
+     * JSON bodies arrive as bytes so a director checkpoint is planned without binding its whole snapshot; see
+     * {@link PatchRequestReader}. Smile bodies are bound by {@link #patch(PatchRequest)}.
+     */
+    @PostMapping(value = "/patch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public PatchResponse patchJson(@RequestBody byte[] body) {
+        return patchService.createPatch(patchRequestReader.read(body));
     }
 
     @PostMapping("/patch")
     public PatchResponse patch(@Valid @RequestBody PatchRequest request) {
         return patchService.createPatch(request);
     }
+
+    @PostMapping("/patch:async")
+    public CompletableFuture<PatchResponse> patchAsync(@Valid @RequestBody PatchRequest request) {
+        return patchService.createPatchAsync(request);
+    }
+
+    @PostMapping("/patch:batch")
+    public CompletableFuture<PatchBatchResponse> patchBatch(@RequestBody(required = false) List<PatchRequest> requests) {
+        return patchBatchService.createPatchesAsync(requests);
+    }
+
+    @PostMapping(value = "/patch:stream", consumes = NDJSON, produces = NDJSON)
+    public void patchStream(InputStream requestBody, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        patchStreamService.stream(requestBody, response.getOutputStream());
+    }
+
+    @PostMapping("/sessions/{worldId}/patch")
+    public ResponseEntity<PatchResponse> sessionPatch(
+            @PathVariable String worldId,
+            @Valid @RequestBody SessionPatchRequest request
+    ) {
+        WorldSessionStore.Resolved resolved = worldSessionStore.resolve(worldId, request);
+        PatchResponse response = patchService.createPatch(request.toPatchRequest(resolved.snapshot()));
+        long version = worldSessionStore.commit(resolved);
+        return ResponseEntity.ok()
+                .header(SESSION_VERSION_HEADER, Long.toString(version))
+                .body(response);
+    }
 }
@@ -0,0 +1,58 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorSnapshotStreamMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+/**
+ * Binds a JSON {@code /v1/patch} body through {@link DirectorSnapshotStreamMapper}. A director checkpoint is planned
+ * from its header and projected snapshot, and the rest of the body is skipped without building a tree; every other
+ * request is bound in full from the same bytes. The read is timed into {@code http.bind}, which
+ * {@link RequestBindingTimer} leaves to this class for byte bodies.
+ */
+@Component
+public class PatchRequestReader {
+    private final DirectorSnapshotStreamMapper streamMapper;
+    private final Validator validator;
+    private final DirectorPipelineTelemetry telemetry;
+
+    public PatchRequestReader(ObjectMapper objectMapper, Validator validator, DirectorPipelineTelemetry telemetry) {
+        this.streamMapper = new DirectorSnapshotStreamMapper(objectMapper);
+        this.validator = validator;
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the body is not a {@link PatchRequest} JSON document
+     * @throws ConstraintViolationException if the request fails bean validation
+     */
+    public PatchRequest read(byte[] body) {
+        long startedAt = System.nanoTime();
+        PatchRequest request;
+        try {
+            request = streamMapper.read(body).plannerRequest();
+        } catch (UncheckedIOException ex) {
+            String message = ex.getCause() instanceof JsonProcessingException json ? json.getOriginalMessage() : ex.getMessage();
+            throw new IllegalArgumentException("JSON parse error: " + message, ex);
+        } finally {
+            telemetry.recordStageLatency("http.bind", System.nanoTime() - startedAt);
+        }
+
+        Set<ConstraintViolation<PatchRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,27 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.RefineryArtifactStore;
+
+@RestController
+@RequestMapping("/v1/director/artifacts")
+@ConditionalOnProperty(name = "planner.director.artifactReloadEnabled", havingValue = "true")
+public class RefineryArtifactController {
+    private final DirectorPipelineTelemetry telemetry;
+
+    public RefineryArtifactController(DirectorPipelineTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    @PostMapping("/reload")
+    public DirectorPipelineTelemetry.ArtifactStoreSnapshot reload() {
+        RefineryArtifactStore reloaded = RefineryArtifactStore.reloadShared();
+        telemetry.recordArtifactStoreLoad(reloaded.stats(), true);
+        return telemetry.snapshot().artifactStore();
+    }
+}
@@ -0,0 +1,59 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import java.lang.reflect.Type;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+
+/**
+ * Times {@code @RequestBody} conversion (JSON/Smile parse and binding, before bean validation) into the
+ * {@code http.bind} stage histogram. Conversion runs on the request thread between the two callbacks. Byte bodies are
+ * parsed later by their handler, which times that itself ({@link PatchRequestReader}).
+ */
+@ControllerAdvice
+public class RequestBindingTimer extends RequestBodyAdviceAdapter {
+    private static final ThreadLocal<Long> startedAt = new ThreadLocal<>();
+
+    private final DirectorPipelineTelemetry telemetry;
+
+    public RequestBindingTimer(DirectorPipelineTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType != byte[].class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(
+            HttpInputMessage inputMessage,
+            MethodParameter parameter,
+            Type targetType,
+            Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        startedAt.set(System.nanoTime());
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(
+            Object body,
+            HttpInputMessage inputMessage,
+            MethodParameter parameter,
+            Type targetType,
+            Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        Long started = startedAt.get();
+        startedAt.remove();
+        if (started != null) {
+            telemetry.recordStageLatency("http.bind", System.nanoTime() - started);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,31 @@
+package hu.zoltanterek.worldsim.refinery.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public record PatchBatchResponse(
+        int succeeded,
+        int failed,
+        List<Item> results
+) {
+    public PatchBatchResponse {
+        results = List.copyOf(results);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(
+            int index,
+            String requestId,
+            PatchResponse response,
+            ErrorResponse error
+    ) {
+        public static Item success(int index, PatchResponse response) {
+            return new Item(index, response.requestId(), response, null);
+        }
+
+        public static Item failure(int index, String requestId, ErrorResponse error) {
+            return new Item(index, requestId, null, error);
+        }
+    }
+}
@@ -2,12 +2,45 @@ package hu.zoltanterek.worldsim.refinery.model;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public record PatchResponse(
         String schemaVersion,
         String requestId,
         long seed,
         List<PatchOp> patch,
         List<String> explain,
-        List<String> warnings
+        List<String> warnings,
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        List<Diagnostic> diagnostics
 ) {
+    public PatchResponse {
+        diagnostics = diagnostics == null ? List.of() : List.copyOf(diagnostics);
+    }
+
+    public PatchResponse(
+            String schemaVersion,
+            String requestId,
+            long seed,
+            List<PatchOp> patch,
+            List<String> explain,
+            List<String> warnings
+    ) {
+        this(schemaVersion, requestId, seed, patch, explain, warnings, List.of());
+    }
+
+    /**
+     * Machine-readable validator finding for tooling; the same findings are rendered as {@code directorFeedback:}
+     * warnings. {@code op} indexes the candidate patch the finding was raised against, {@code -1} for the whole
+     * checkpoint.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Diagnostic(
+            String code,
+            int op,
+            String path,
+            String observed,
+            String allowed
+    ) {
+    }
 }
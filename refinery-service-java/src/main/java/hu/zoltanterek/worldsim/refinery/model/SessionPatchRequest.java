@@ -0,0 +1,32 @@
+package hu.zoltanterek.worldsim.refinery.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * {@link PatchRequest} for a server-side world session. Either {@code snapshot} (starts or resets the session) or
+ * {@code snapshotDelta} against session version {@code baseVersion} is sent, never both.
+ */
+public record SessionPatchRequest(
+        @NotBlank String schemaVersion,
+        @NotBlank String requestId,
+        long seed,
+        long tick,
+        @NotNull Goal goal,
+        Long baseVersion,
+        JsonNode snapshot,
+        List<@Valid SnapshotDeltaOp> snapshotDelta,
+        JsonNode constraints
+) {
+    public SessionPatchRequest {
+        snapshotDelta = snapshotDelta == null ? null : List.copyOf(snapshotDelta);
+    }
+
+    public PatchRequest toPatchRequest(JsonNode resolvedSnapshot) {
+        return new PatchRequest(schemaVersion, requestId, seed, tick, goal, resolvedSnapshot, constraints);
+    }
+}
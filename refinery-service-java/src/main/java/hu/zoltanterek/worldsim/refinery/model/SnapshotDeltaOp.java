@@ -0,0 +1,15 @@
+package hu.zoltanterek.worldsim.refinery.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * One JSON-Patch-style edit of a session snapshot: {@code op} is {@code add}, {@code replace} or {@code remove},
+ * {@code path} is a JSON Pointer (RFC 6901) into the snapshot.
+ */
+public record SnapshotDeltaOp(
+        @NotBlank String op,
+        @NotBlank String path,
+        JsonNode value
+) {
+}
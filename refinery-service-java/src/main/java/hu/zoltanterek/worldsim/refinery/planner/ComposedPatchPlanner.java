@@ -6,10 +6,14 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
@@ -21,12 +25,19 @@ import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorCampaignOpFactory;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorCorePatchAssertionsMapper;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDesign;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDiagnostic;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorInfluenceBudget;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeFacts;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorSnapshotMapper;
+import hu.zoltanterek.worldsim.refinery.planner.director.PipelineStageTimings;
 import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorRefinerySolver;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorSolveBudget;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorSolveCache;
 import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorSolverObservability;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorSolverObservabilitySidecar;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.RefineryArtifactStore;
+import hu.zoltanterek.worldsim.refinery.util.MdcContext;
 
 @Component
 @Primary
@@ -38,13 +49,16 @@ public class ComposedPatchPlanner implements PatchPlanner {
     private final RefineryPlanner refineryPlanner;
     private final DirectorRefineryPlanner directorRefineryPlanner;
     private final DirectorPipelineTelemetry directorTelemetry;
+    private final DirectorSolverObservabilitySidecar solverSidecar;
+    private final Executor pipelineExecutor;
     private final String plannerMode;
     private final String directorOutputMode;
     private final double directorBudget;
     private final boolean solverObservabilityEnabled;
+    private final boolean stageTimingExplain;
     private final DirectorSnapshotMapper directorSnapshotMapper = new DirectorSnapshotMapper();
     private final DirectorCorePatchAssertionsMapper corePatchAssertionsMapper = new DirectorCorePatchAssertionsMapper();
-    private final DirectorRefinerySolver directorSolver = new DirectorRefinerySolver();
+    private final DirectorRefinerySolver directorSolver;
 
     public ComposedPatchPlanner(
             MockPlanner mockPlanner,
@@ -52,43 +66,75 @@ public class ComposedPatchPlanner implements PatchPlanner {
             RefineryPlanner refineryPlanner,
             DirectorRefineryPlanner directorRefineryPlanner,
             DirectorPipelineTelemetry directorTelemetry,
+            DirectorSolverObservabilitySidecar solverSidecar,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor pipelineExecutor,
             @Value("${planner.mode:mock}") String plannerMode,
             @Value("${planner.director.outputMode:both}") String directorOutputMode,
             @Value("${planner.director.budget:5.0}") double directorBudget,
-            @Value("${planner.director.solverObservabilityEnabled:false}") boolean solverObservabilityEnabled
+            @Value("${planner.director.solverObservabilityEnabled:false}") boolean solverObservabilityEnabled,
+            @Value("${planner.director.solverCacheMaxEntries:256}") int solverCacheMaxEntries,
+            @Value("${planner.director.solverCacheTtlMs:600000}") long solverCacheTtlMs,
+            @Value("${planner.director.solverTimeoutMs:5000}") long solverTimeoutMs,
+            @Value("${planner.director.solverMaxOverlayLines:512}") int solverMaxOverlayLines,
+            @Value("${planner.telemetry.stageTimingExplain:false}") boolean stageTimingExplain
     ) {
         this.mockPlanner = mockPlanner;
         this.llmPlanner = llmPlanner;
         this.refineryPlanner = refineryPlanner;
         this.directorRefineryPlanner = directorRefineryPlanner;
         this.directorTelemetry = directorTelemetry;
+        this.solverSidecar = solverSidecar;
+        this.pipelineExecutor = pipelineExecutor;
         this.plannerMode = plannerMode;
         this.directorOutputMode = normalizeOutputMode(directorOutputMode);
         this.directorBudget = directorBudget > 0d ? directorBudget : DirectorDesign.DEFAULT_INFLUENCE_BUDGET;
         this.solverObservabilityEnabled = solverObservabilityEnabled;
+        this.stageTimingExplain = stageTimingExplain;
+        this.directorSolver = new DirectorRefinerySolver(
+                new DirectorSolveCache(solverCacheMaxEntries, solverCacheTtlMs),
+                new DirectorSolveBudget(solverTimeoutMs, solverMaxOverlayLines)
+        );
+        this.directorTelemetry.recordArtifactStoreLoad(RefineryArtifactStore.shared().stats(), false);
+        this.directorTelemetry.recordSolverCache(directorSolver.cacheStats());
     }
 
     @Override
     public PatchResponse plan(PatchRequest request) {
-        PatchResponse mockResponse = mockPlanner.plan(request);
         if (!"pipeline".equalsIgnoreCase(plannerMode)) {
-            return mockResponse;
+            return mockPlanner.plan(request);
         }
 
         if (request.goal() == Goal.SEASON_DIRECTOR_CHECKPOINT) {
-            return planDirectorPipeline(request, mockResponse);
+            PipelineStageTimings timings = new PipelineStageTimings("director");
+            return planDirectorPipeline(request, timings.time("mock", () -> mockPlanner.plan(request)), timings);
+        }
+
+        PipelineStageTimings timings = new PipelineStageTimings("legacy");
+        return planLegacyPipeline(request, timings.time("mock", () -> mockPlanner.plan(request)), timings);
+    }
+
+    @Override
+    public CompletableFuture<PatchResponse> planAsync(PatchRequest request) {
+        if (!"pipeline".equalsIgnoreCase(plannerMode) || request.goal() != Goal.SEASON_DIRECTOR_CHECKPOINT) {
+            return PatchPlanner.super.planAsync(request);
         }
 
-        return planLegacyPipeline(request, mockResponse);
+        try {
+            PipelineStageTimings timings = new PipelineStageTimings("director");
+            return planDirectorPipelineAsync(request, timings.time("mock", () -> mockPlanner.plan(request)), timings);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
     }
 
-    private PatchResponse planLegacyPipeline(PatchRequest request, PatchResponse mockResponse) {
+    private PatchResponse planLegacyPipeline(PatchRequest request, PatchResponse mockResponse, PipelineStageTimings timings) {
         logger.info("legacy pipeline start goal={} plannerMode={}", request.goal(), plannerMode);
-        Optional<List<PatchOp>> llmProposal = llmPlanner.propose(request);
+        Optional<List<PatchOp>> llmProposal = timings.time("llm", () -> llmPlanner.propose(request));
         List<PatchOp> candidatePatch = llmProposal.orElseGet(mockResponse::patch);
         List<PatchOp> validatedPatch;
         boolean refineryValidated = false;
         boolean refineryFailed = false;
+        long refineryStartedAt = System.nanoTime();
         try {
             validatedPatch = refineryPlanner.validateAndRepair(request, candidatePatch);
             refineryValidated = refineryPlanner.isRefineryEnabled() && request.goal() == Goal.TECH_TREE_PATCH;
@@ -96,6 +142,7 @@ public class ComposedPatchPlanner implements PatchPlanner {
             validatedPatch = mockResponse.patch();
             refineryFailed = true;
         }
+        timings.add("refinery", System.nanoTime() - refineryStartedAt);
 
         List<String> explain = new ArrayList<>();
         explain.add(refineryPlanner.isRefineryEnabled() ? "refineryStage:enabled" : "refineryStage:disabled");
@@ -110,6 +157,10 @@ public class ComposedPatchPlanner implements PatchPlanner {
             explain.add("Refinery planner stage skipped or pass-through.");
         }
         explain.addAll(mockResponse.explain());
+        timings.recordTo(directorTelemetry);
+        if (stageTimingExplain) {
+            explain.addAll(timings.explainMarkers());
+        }
 
         List<String> warnings = new ArrayList<>(mockResponse.warnings());
         if (llmProposal.isEmpty()) {
@@ -140,34 +191,114 @@ public class ComposedPatchPlanner implements PatchPlanner {
         );
     }
 
-    private PatchResponse planDirectorPipeline(PatchRequest request, PatchResponse mockResponse) {
+    private PatchResponse planDirectorPipeline(PatchRequest request, PatchResponse mockResponse, PipelineStageTimings timings) {
         logger.info("director pipeline start outputMode={} plannerMode={}", directorOutputMode, plannerMode);
-        LlmDirectorPlanner.ProposalResult initialProposal = llmPlanner.proposeDirectorWithFeedback(request, List.of());
-        Optional<List<PatchOp>> llmProposal = initialProposal.patch();
-        List<PatchOp> candidatePatch = applyDirectorOutputMode(
-                llmProposal.orElseGet(mockResponse::patch),
-                directorOutputMode
-        );
-        int[] llmCompletionCount = new int[] { initialProposal.completionCount() };
-        Set<String> sanitizeTags = new LinkedHashSet<>(initialProposal.sanitizeTags());
-        boolean[] sanitized = new boolean[] { initialProposal.sanitized() };
+        LlmDirectorPlanner.ProposalResult initialProposal = timings.time("llm", () -> proposeDirector(request, List.of()));
+        List<PatchOp> candidatePatch = directorCandidatePatch(initialProposal, mockResponse);
+        ProposalTally tally = new ProposalTally(initialProposal);
 
+        long validationStartedAt = System.nanoTime();
+        long llmBeforeValidation = timings.nanos("llm");
         DirectorRefineryPlanner.DirectorValidationResult validationResult =
                 directorRefineryPlanner.validateAndRepair(
                         request,
                         candidatePatch,
-                        feedbackHints -> {
-                            LlmDirectorPlanner.ProposalResult retryProposal = llmPlanner.proposeDirectorWithFeedback(request, feedbackHints);
-                            llmCompletionCount[0] += retryProposal.completionCount();
-                            if (retryProposal.sanitized()) {
-                                sanitized[0] = true;
-                                sanitizeTags.addAll(retryProposal.sanitizeTags());
-                            }
-                            return retryProposal.patch().map(patch -> applyDirectorOutputMode(patch, directorOutputMode));
-                        }
+                        feedbackHints -> tally.retry(timings.time("llm", () -> proposeDirector(request, feedbackHints)))
                 );
+        addValidationTime(timings, validationStartedAt, llmBeforeValidation);
+        return completeDirectorPipeline(request, mockResponse, initialProposal, candidatePatch, tally, validationResult, timings);
+    }
+
+    private CompletableFuture<PatchResponse> planDirectorPipelineAsync(
+            PatchRequest request,
+            PatchResponse mockResponse,
+            PipelineStageTimings timings
+    ) {
+        logger.info("director pipeline start outputMode={} plannerMode={} async=true", directorOutputMode, plannerMode);
+        // Validation and the sync solver sidecar are CPU work; keep them off the HttpClient completion thread.
+        Executor continuation = MdcContext.executor(pipelineExecutor);
+        return proposeDirectorAsync(request, List.of(), timings)
+                .thenComposeAsync(initialProposal -> {
+                    List<PatchOp> candidatePatch = directorCandidatePatch(initialProposal, mockResponse);
+                    ProposalTally tally = new ProposalTally(initialProposal);
+                    long validationStartedAt = System.nanoTime();
+                    long llmBeforeValidation = timings.nanos("llm");
+                    return directorRefineryPlanner.validateAndRepairAsync(
+                                    request,
+                                    candidatePatch,
+                                    feedbackHints -> proposeDirectorAsync(request, feedbackHints, timings)
+                                            .thenApply(tally::retry),
+                                    continuation
+                            )
+                            .thenApplyAsync(validationResult -> {
+                                addValidationTime(timings, validationStartedAt, llmBeforeValidation);
+                                return completeDirectorPipeline(
+                                        request,
+                                        mockResponse,
+                                        initialProposal,
+                                        candidatePatch,
+                                        tally,
+                                        validationResult,
+                                        timings
+                                );
+                            }, continuation);
+                }, continuation);
+    }
+
+    /**
+     * Validation time excludes the LLM retry completions it waited on; those are already counted under {@code llm}.
+     */
+    private static void addValidationTime(PipelineStageTimings timings, long startedAt, long llmNanosBefore) {
+        long elapsed = System.nanoTime() - startedAt;
+        timings.add("validation", elapsed - (timings.nanos("llm") - llmNanosBefore));
+    }
+
+    private LlmDirectorPlanner.ProposalResult proposeDirector(PatchRequest request, List<DirectorDiagnostic> feedbackHints) {
+        if (llmPlanner.directorSpeculativeCompletions() > 1) {
+            return proposeDirectorAsync(request, feedbackHints).join();
+        }
+        return llmPlanner.proposeDirectorWithFeedback(request, feedbackHints);
+    }
+
+    private CompletableFuture<LlmDirectorPlanner.ProposalResult> proposeDirectorAsync(
+            PatchRequest request,
+            List<DirectorDiagnostic> feedbackHints,
+            PipelineStageTimings timings
+    ) {
+        long startedAt = System.nanoTime();
+        return proposeDirectorAsync(request, feedbackHints)
+                .whenComplete((result, failure) -> timings.add("llm", System.nanoTime() - startedAt));
+    }
+
+    private CompletableFuture<LlmDirectorPlanner.ProposalResult> proposeDirectorAsync(
+            PatchRequest request,
+            List<DirectorDiagnostic> feedbackHints
+    ) {
+        if (llmPlanner.directorSpeculativeCompletions() <= 1) {
+            return llmPlanner.proposeDirectorWithFeedbackAsync(request, feedbackHints);
+        }
+        return llmPlanner.proposeDirectorSpeculativeAsync(
+                request,
+                feedbackHints,
+                patch -> directorRefineryPlanner.passesValidation(request, applyDirectorOutputMode(patch, directorOutputMode))
+        );
+    }
+
+    private List<PatchOp> directorCandidatePatch(LlmDirectorPlanner.ProposalResult initialProposal, PatchResponse mockResponse) {
+        return applyDirectorOutputMode(initialProposal.patch().orElseGet(mockResponse::patch), directorOutputMode);
+    }
+
+    private PatchResponse completeDirectorPipeline(
+            PatchRequest request,
+            PatchResponse mockResponse,
+            LlmDirectorPlanner.ProposalResult initialProposal,
+            List<PatchOp> candidatePatch,
+            ProposalTally tally,
+            DirectorRefineryPlanner.DirectorValidationResult validationResult,
+            PipelineStageTimings timings
+    ) {
         List<PatchOp> validatedPatch = applyDirectorOutputMode(validationResult.patch(), directorOutputMode);
-        directorTelemetry.recordLlmProposalObservability(llmCompletionCount[0], sanitized[0]);
+        directorTelemetry.recordLlmProposalObservability(tally.completionCount, tally.sanitized);
         int causalChainOpCount = countCausalChainOps(validatedPatch);
         directorTelemetry.recordCausalChainOps(causalChainOpCount);
 
@@ -181,22 +312,32 @@ public class ComposedPatchPlanner implements PatchPlanner {
         explain.add(stage);
         explain.add("directorOutputMode:" + directorOutputMode);
         explain.add("llmStage:" + toLlmStageLabel(initialProposal.status()));
-        explain.add("llmCompletionCount:" + llmCompletionCount[0]);
+        explain.add("llmCompletionCount:" + tally.completionCount);
         explain.add("llmRetryRounds:" + validationResult.retriesUsed());
+        if (llmPlanner.directorSpeculativeCompletions() > 1) {
+            explain.add("llmSpeculativeCompletions:" + llmPlanner.directorSpeculativeCompletions());
+        }
         explain.add("llmRetries:" + validationResult.retriesUsed());
-        explain.add("llmCandidateSanitized:" + (sanitized[0] ? "true" : "false"));
-        if (sanitized[0]) {
-            explain.add("llmCandidateSanitizeTags:" + String.join(",", sanitizeTags));
+        explain.add("llmCandidateSanitized:" + (tally.sanitized ? "true" : "false"));
+        if (tally.sanitized) {
+            explain.add("llmCandidateSanitizeTags:" + String.join(",", tally.sanitizeTags));
         }
         explain.add("budgetUsed:" + formatBudgetUsed(DirectorInfluenceBudget.calculateBudgetUsed(validatedPatch)));
         explain.add("causalChainOps:" + causalChainOpCount);
         explain.add("causalChainMaxTriggers:" + DirectorDesign.CAUSAL_MAX_TRIGGERS);
         explain.add("causalChainMetrics:" + String.join(",", DirectorDesign.CAUSAL_ALLOWED_METRICS));
         explain.add("causalChainEqPolicy:population_exact;floating_tolerance=" + DirectorDesign.CAUSAL_EQ_TOLERANCE);
-        if (solverObservabilityEnabled) {
-            DirectorSolverObservability.Report solverReport = buildDirectorSolverObservability(request, validatedPatch);
-            explain.addAll(solverReport.markers());
-            directorTelemetry.recordSolverObservability(solverReport);
+        if (solverObservabilityEnabled && !directorTelemetry.isMuted()) {
+            List<PatchOp> observedPatch = List.copyOf(validatedPatch);
+            solverSidecar.run(request.requestId(), () -> timings.time("solve", () -> buildDirectorSolverObservability(request, observedPatch)))
+                    .ifPresentOrElse(
+                            solverReport -> explain.addAll(solverReport.markers()),
+                            () -> explain.add("directorSolverPath:async_pending")
+                    );
+        }
+        timings.recordTo(directorTelemetry);
+        if (stageTimingExplain) {
+            explain.addAll(timings.explainMarkers());
         }
         explain.add(describeLlmProposal(initialProposal.status()));
         if (validationResult.fallbackUsed()) {
@@ -211,7 +352,7 @@ public class ComposedPatchPlanner implements PatchPlanner {
         warnings.addAll(validationResult.warnings());
         addLlmProposalWarning(warnings, initialProposal.status());
         if (!validationResult.feedback().isEmpty()) {
-            warnings.addAll(validationResult.feedback().stream().map(msg -> "directorFeedback:" + msg).toList());
+            warnings.addAll(validationResult.feedback().stream().map(diagnostic -> "directorFeedback:" + diagnostic.text()).toList());
         }
 
         logger.info(
@@ -220,10 +361,10 @@ public class ComposedPatchPlanner implements PatchPlanner {
                 candidatePatch.size(),
                 validatedPatch.size(),
                 validationResult.retriesUsed(),
-                llmCompletionCount[0],
-                sanitized[0],
+                tally.completionCount,
+                tally.sanitized,
                 validationResult.fallbackUsed(),
-                llmProposal.isPresent(),
+                initialProposal.patch().isPresent(),
                 warnings.size()
         );
         if (validationResult.fallbackUsed()) {
@@ -242,7 +383,18 @@ public class ComposedPatchPlanner implements PatchPlanner {
                 mockResponse.seed(),
                 validatedPatch,
                 explain,
-                warnings
+                warnings,
+                validationResult.feedback().stream().map(ComposedPatchPlanner::toResponseDiagnostic).toList()
+        );
+    }
+
+    private static PatchResponse.Diagnostic toResponseDiagnostic(DirectorDiagnostic diagnostic) {
+        return new PatchResponse.Diagnostic(
+                diagnostic.invariantCode(),
+                diagnostic.opIndex(),
+                diagnostic.fieldPath(),
+                diagnostic.observed(),
+                diagnostic.allowed()
         );
     }
 
@@ -254,18 +406,41 @@ public class ComposedPatchPlanner implements PatchPlanner {
             }
 
             DirectorRuntimeFacts facts = directorSnapshotMapper.map(request, directorBudget);
-            return DirectorSolverObservability.fromSolveResult(directorSolver.solve(
+            DirectorSolverObservability.Report report = DirectorSolverObservability.fromSolveResult(directorSolver.solve(
                     facts,
                     mapping.assertions(),
                     mapping.unsupportedFeatures()
             ));
+            directorTelemetry.recordSolverCache(directorSolver.cacheStats());
+            return report;
         } catch (Exception ex) {
             logger.warn("director solver observability sidecar unavailable: {}", ex.toString());
             return DirectorSolverObservability.unavailable("unexpected_exception");
         }
     }
 
-    private static String normalizeOutputMode(String rawMode) {
+    private final class ProposalTally {
+        private int completionCount;
+        private boolean sanitized;
+        private final Set<String> sanitizeTags;
+
+        private ProposalTally(LlmDirectorPlanner.ProposalResult initialProposal) {
+            this.completionCount = initialProposal.completionCount();
+            this.sanitized = initialProposal.sanitized();
+            this.sanitizeTags = new LinkedHashSet<>(initialProposal.sanitizeTags());
+        }
+
+        private Optional<List<PatchOp>> retry(LlmDirectorPlanner.ProposalResult retryProposal) {
+            completionCount += retryProposal.completionCount();
+            if (retryProposal.sanitized()) {
+                sanitized = true;
+                sanitizeTags.addAll(retryProposal.sanitizeTags());
+            }
+            return retryProposal.patch().map(patch -> applyDirectorOutputMode(patch, directorOutputMode));
+        }
+    }
+
+    static String normalizeOutputMode(String rawMode) {
         String mode = rawMode == null ? "both" : rawMode.trim().toLowerCase();
         return switch (mode) {
             case RefineryVocabulary.OUTPUT_MODE_BOTH,
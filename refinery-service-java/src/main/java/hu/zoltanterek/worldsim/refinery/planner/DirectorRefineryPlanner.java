@@ -5,6 +5,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
@@ -17,11 +20,15 @@ import hu.zoltanterek.worldsim.refinery.model.PatchOp;
 import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDesign;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDeterministicFallbackPlanner;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDiagnostic;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorModelValidator;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeFacts;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorSnapshotMapper;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorValidationOutcome;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorValidationVerdict;
+import hu.zoltanterek.worldsim.refinery.util.DeterministicMemo;
+import hu.zoltanterek.worldsim.refinery.util.MdcContext;
 
 @Component
 public class DirectorRefineryPlanner {
@@ -33,7 +40,7 @@ public class DirectorRefineryPlanner {
     private final boolean campaignEnabled;
     private final DirectorPipelineTelemetry telemetry;
     private final DirectorSnapshotMapper snapshotMapper = new DirectorSnapshotMapper();
-    private final DirectorDeterministicFallbackPlanner fallbackPlanner = new DirectorDeterministicFallbackPlanner();
+    private final DirectorDeterministicFallbackPlanner fallbackPlanner;
     private final DirectorModelValidator validator;
 
     @Autowired
@@ -42,6 +49,7 @@ public class DirectorRefineryPlanner {
             @Value("${planner.director.maxRetries:2}") int maxRetries,
             @Value("${planner.director.budget:5.0}") double directorBudget,
             @Value("${planner.director.campaignEnabled:false}") boolean campaignEnabled,
+            @Value("${planner.memo.maxEntries:4096}") int memoMaxEntries,
             DirectorPipelineTelemetry telemetry
     ) {
         this.refineryEnabled = refineryEnabled;
@@ -50,18 +58,19 @@ public class DirectorRefineryPlanner {
         this.campaignEnabled = campaignEnabled;
         this.telemetry = telemetry;
         this.validator = new DirectorModelValidator(campaignEnabled);
+        this.fallbackPlanner = new DirectorDeterministicFallbackPlanner(memoMaxEntries);
     }
 
     DirectorRefineryPlanner(boolean refineryEnabled, int maxRetries) {
-        this(refineryEnabled, maxRetries, DirectorDesign.DEFAULT_INFLUENCE_BUDGET, false, new DirectorPipelineTelemetry());
+        this(refineryEnabled, maxRetries, DirectorDesign.DEFAULT_INFLUENCE_BUDGET, false, DeterministicMemo.DEFAULT_MAX_ENTRIES, new DirectorPipelineTelemetry());
     }
 
     DirectorRefineryPlanner(boolean refineryEnabled, int maxRetries, DirectorPipelineTelemetry telemetry) {
-        this(refineryEnabled, maxRetries, DirectorDesign.DEFAULT_INFLUENCE_BUDGET, false, telemetry);
+        this(refineryEnabled, maxRetries, DirectorDesign.DEFAULT_INFLUENCE_BUDGET, false, DeterministicMemo.DEFAULT_MAX_ENTRIES, telemetry);
     }
 
     DirectorRefineryPlanner(boolean refineryEnabled, int maxRetries, boolean campaignEnabled, DirectorPipelineTelemetry telemetry) {
-        this(refineryEnabled, maxRetries, DirectorDesign.DEFAULT_INFLUENCE_BUDGET, campaignEnabled, telemetry);
+        this(refineryEnabled, maxRetries, DirectorDesign.DEFAULT_INFLUENCE_BUDGET, campaignEnabled, DeterministicMemo.DEFAULT_MAX_ENTRIES, telemetry);
     }
 
     public DirectorValidationResult validateAndRepair(PatchRequest request, List<PatchOp> candidatePatch) {
@@ -71,17 +80,50 @@ public class DirectorRefineryPlanner {
     public DirectorValidationResult validateAndRepair(
             PatchRequest request,
             List<PatchOp> candidatePatch,
-            Function<List<String>, Optional<List<PatchOp>>> retryCandidateProvider
+            Function<List<DirectorDiagnostic>, Optional<List<PatchOp>>> retryCandidateProvider
+    ) {
+        try {
+            return validateAndRepairAsync(
+                    request,
+                    candidatePatch,
+                    feedback -> CompletableFuture.completedFuture(retryCandidateProvider.apply(feedback))
+            ).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Same retry loop as {@link #validateAndRepair(PatchRequest, List, Function)}, but each LLM regeneration is a
+     * non-blocking stage; validation, conservative retry and fallback run inline on the completing thread.
+     */
+    public CompletableFuture<DirectorValidationResult> validateAndRepairAsync(
+            PatchRequest request,
+            List<PatchOp> candidatePatch,
+            Function<List<DirectorDiagnostic>, CompletableFuture<Optional<List<PatchOp>>>> retryCandidateProvider
+    ) {
+        return validateAndRepairAsync(request, candidatePatch, retryCandidateProvider, MdcContext.inlineExecutor());
+    }
+
+    /**
+     * As above, but validation after each regeneration runs on {@code continuation}, so it never occupies the thread
+     * that completed the LLM call.
+     */
+    public CompletableFuture<DirectorValidationResult> validateAndRepairAsync(
+            PatchRequest request,
+            List<PatchOp> candidatePatch,
+            Function<List<DirectorDiagnostic>, CompletableFuture<Optional<List<PatchOp>>>> retryCandidateProvider,
+            Executor continuation
     ) {
         if (!refineryEnabled) {
             logger.info("director refinery validation disabled; pass-through candidateOps={}", candidatePatch.size());
-            return new DirectorValidationResult(candidatePatch, false, List.of(), List.of(), 0, false);
+            return CompletableFuture.completedFuture(new DirectorValidationResult(candidatePatch, false, List.of(), List.of(), 0, false));
         }
 
         DirectorRuntimeFacts facts = snapshotMapper.map(request, directorBudget);
-        List<PatchOp> attempt = candidatePatch;
-        List<String> feedback = new ArrayList<>();
-        List<String> warnings = new ArrayList<>();
 
         int duplicateOpIds = countDuplicateOpIds(candidatePatch);
         if (duplicateOpIds > 0) {
@@ -101,84 +143,122 @@ public class DirectorRefineryPlanner {
                 facts.remainingInfluenceBudget()
         );
 
-        for (int retry = 0; retry <= maxRetries; retry++) {
-            try {
-                DirectorValidationOutcome outcome = validator.validateAndRepair(attempt, facts);
-                int droppedOps = Math.max(0, attempt.size() - outcome.patch().size());
-                if (droppedOps > 0) {
-                    telemetry.recordRejectedCommands(droppedOps);
-                    logger.warn(
-                            "director validator dropped operations droppedOps={} retry={} inputOps={} outputOps={}",
-                            droppedOps,
-                            retry,
-                            attempt.size(),
-                            outcome.patch().size()
-                    );
-                }
-
-                warnings.addAll(outcome.warnings());
-                feedback.addAll(outcome.feedback());
-
-                telemetry.recordValidatedOutput(retry);
-                logger.info(
-                        "director validation completed validated=true retriesUsed={} outputOps={} warnings={} feedback={}",
-                        retry,
-                        outcome.patch().size(),
-                        warnings.size(),
-                        feedback.size()
-                );
-                return new DirectorValidationResult(outcome.patch(), true, warnings, feedback, retry, false);
-            } catch (IllegalArgumentException ex) {
-                telemetry.recordRejectedCommands(attempt.size());
-                feedback.add(ex.getMessage());
-                logger.warn(
-                        "director validation failed retry={} error={} attemptOps={}",
-                        retry,
-                        ex.getMessage(),
-                        attempt.size()
-                );
-                if (retry == maxRetries) {
-                    break;
-                }
-
-                Optional<List<PatchOp>> regenerated = retryCandidateProvider.apply(List.copyOf(feedback));
-                if (regenerated.isPresent() && !regenerated.get().isEmpty()) {
-                    attempt = regenerated.get();
-                    logger.warn(
-                            "director retry prepared from llm feedback retry={} nextAttemptOps={} feedbackCount={}",
-                            retry + 1,
-                            attempt.size(),
-                            feedback.size()
-                    );
-                    continue;
-                }
-
-                int attemptBeforeRetry = attempt.size();
-                attempt = validator.conservativeRetryPatch(attempt, facts);
-                int retryDroppedOps = Math.max(0, attemptBeforeRetry - attempt.size());
-                if (retryDroppedOps > 0) {
-                    telemetry.recordRejectedCommands(retryDroppedOps);
-                    logger.warn(
-                            "director conservative retry dropped operations droppedOps={} nextAttemptOps={}",
-                            retryDroppedOps,
-                            attempt.size()
-                    );
-                }
-                feedback.add(DirectorDesign.INV_14 + " conservative retry regenerated candidate patch.");
-                logger.warn("director retry prepared retry={} nextAttemptOps={}", retry + 1, attempt.size());
-            }
+        ValidationRun run = new ValidationRun(request, facts, retryCandidateProvider, continuation);
+        try {
+            return attempt(run, candidatePatch, 0);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
         }
+    }
+
+    /**
+     * Side-effect-free check used to pick a speculative LLM candidate: true when the validator would accept the patch
+     * without a retry. Telemetry and feedback are left to the regular validation run.
+     */
+    public boolean passesValidation(PatchRequest request, List<PatchOp> candidatePatch) {
+        if (!refineryEnabled) {
+            return true;
+        }
+        return validator.validate(candidatePatch, snapshotMapper.map(request, directorBudget)).isAccepted();
+    }
+
+    private CompletableFuture<DirectorValidationResult> attempt(ValidationRun run, List<PatchOp> attempt, int retry) {
+        DirectorValidationVerdict verdict = validator.validate(attempt, run.facts());
+        if (verdict.isAccepted()) {
+            return CompletableFuture.completedFuture(accept(run, attempt, verdict.outcome(), retry));
+        }
+
+        DirectorDiagnostic rejection = verdict.rejection();
+        telemetry.recordRejectedCommands(attempt.size());
+        run.feedback().add(rejection);
+        logger.warn(
+                "director validation failed retry={} error={} opIndex={} attemptOps={}",
+                retry,
+                rejection.text(),
+                rejection.opIndex(),
+                attempt.size()
+        );
+        if (retry == maxRetries) {
+            return CompletableFuture.completedFuture(fallback(run));
+        }
+
+        return run.retryCandidateProvider().apply(List.copyOf(run.feedback()))
+                .thenComposeAsync(regenerated -> attempt(run, nextAttempt(run, attempt, regenerated, retry), retry + 1), run.continuation());
+    }
 
-        List<PatchOp> fallback = fallbackPlanner.build(request, facts, campaignEnabled);
-        warnings.add("directorFallback deterministic fallback planner output was used.");
+    private DirectorValidationResult accept(ValidationRun run, List<PatchOp> attempt, DirectorValidationOutcome outcome, int retry) {
+        int droppedOps = Math.max(0, attempt.size() - outcome.patch().size());
+        if (droppedOps > 0) {
+            telemetry.recordRejectedCommands(droppedOps);
+            logger.warn(
+                    "director validator dropped operations droppedOps={} retry={} inputOps={} outputOps={}",
+                    droppedOps,
+                    retry,
+                    attempt.size(),
+                    outcome.patch().size()
+            );
+        }
+
+        run.warnings().addAll(outcome.warnings());
+        run.feedback().addAll(outcome.feedback());
+
+        telemetry.recordValidatedOutput(retry);
+        logger.info(
+                "director validation completed validated=true retriesUsed={} outputOps={} warnings={} feedback={}",
+                retry,
+                outcome.patch().size(),
+                run.warnings().size(),
+                run.feedback().size()
+        );
+        return new DirectorValidationResult(outcome.patch(), true, run.warnings(), run.feedback(), retry, false);
+    }
+
+    private List<PatchOp> nextAttempt(
+            ValidationRun run,
+            List<PatchOp> attempt,
+            Optional<List<PatchOp>> regenerated,
+            int retry
+    ) {
+        if (regenerated.isPresent() && !regenerated.get().isEmpty()) {
+            logger.warn(
+                    "director retry prepared from llm feedback retry={} nextAttemptOps={} feedbackCount={}",
+                    retry + 1,
+                    regenerated.get().size(),
+                    run.feedback().size()
+            );
+            return regenerated.get();
+        }
+
+        List<PatchOp> conservative = validator.conservativeRetryPatch(attempt, run.facts());
+        int retryDroppedOps = Math.max(0, attempt.size() - conservative.size());
+        if (retryDroppedOps > 0) {
+            telemetry.recordRejectedCommands(retryDroppedOps);
+            logger.warn(
+                    "director conservative retry dropped operations droppedOps={} nextAttemptOps={}",
+                    retryDroppedOps,
+                    conservative.size()
+            );
+        }
+        run.feedback().add(DirectorDiagnostic.of(
+                DirectorDesign.INV_14,
+                DirectorDiagnostic.PATCH_LEVEL,
+                "conservative retry regenerated candidate patch."
+        ));
+        logger.warn("director retry prepared retry={} nextAttemptOps={}", retry + 1, conservative.size());
+        return conservative;
+    }
+
+    private DirectorValidationResult fallback(ValidationRun run) {
+        List<PatchOp> fallback = fallbackPlanner.build(run.request(), run.facts(), campaignEnabled);
+        run.warnings().add("directorFallback deterministic fallback planner output was used.");
         telemetry.recordFallback(maxRetries);
         logger.error(
                 "director validation exhausted retries; deterministic fallback applied fallbackOps={} retriesUsed={} feedback={}",
                 fallback.size(),
                 maxRetries,
-                feedback.size()
+                run.feedback().size()
         );
-        return new DirectorValidationResult(fallback, false, warnings, feedback, maxRetries, true);
+        return new DirectorValidationResult(fallback, false, run.warnings(), run.feedback(), maxRetries, true);
     }
 
     private static int countDuplicateOpIds(List<PatchOp> candidatePatch) {
@@ -212,11 +292,29 @@ public class DirectorRefineryPlanner {
         return null;
     }
 
+    private record ValidationRun(
+            PatchRequest request,
+            DirectorRuntimeFacts facts,
+            Function<List<DirectorDiagnostic>, CompletableFuture<Optional<List<PatchOp>>>> retryCandidateProvider,
+            Executor continuation,
+            List<DirectorDiagnostic> feedback,
+            List<String> warnings
+    ) {
+        ValidationRun(
+                PatchRequest request,
+                DirectorRuntimeFacts facts,
+                Function<List<DirectorDiagnostic>, CompletableFuture<Optional<List<PatchOp>>>> retryCandidateProvider,
+                Executor continuation
+        ) {
+            this(request, facts, retryCandidateProvider, continuation, new ArrayList<>(), new ArrayList<>());
+        }
+    }
+
     public record DirectorValidationResult(
             List<PatchOp> patch,
             boolean validated,
             List<String> warnings,
-            List<String> feedback,
+            List<DirectorDiagnostic> feedback,
             int retriesUsed,
             boolean fallbackUsed
     ) {
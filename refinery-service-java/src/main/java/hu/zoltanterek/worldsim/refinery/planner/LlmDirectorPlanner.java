@@ -6,6 +6,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,20 +26,42 @@ import hu.zoltanterek.worldsim.refinery.model.PatchOp;
 import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorBridgeContractMapper;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDesign;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDiagnostic;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorOutputAssertions;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeFacts;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorSnapshotMapper;
+import hu.zoltanterek.worldsim.refinery.planner.llm.CompletionCache;
 import hu.zoltanterek.worldsim.refinery.planner.llm.DirectorCandidateParser;
 import hu.zoltanterek.worldsim.refinery.planner.llm.DirectorPromptFactory;
 import hu.zoltanterek.worldsim.refinery.planner.llm.OpenRouterClient;
+import hu.zoltanterek.worldsim.refinery.planner.llm.PendingCompletion;
+import hu.zoltanterek.worldsim.refinery.util.MdcContext;
 
 @Component
 public class LlmDirectorPlanner {
     private static final Logger logger = LoggerFactory.getLogger(LlmDirectorPlanner.class);
+    static final int MAX_SPECULATIVE_COMPLETIONS = 8;
+    private static final double MAX_TEMPERATURE = 2.0;
 
     @FunctionalInterface
     interface CompletionGateway {
         String complete(String model, double temperature, int maxTokens, String systemPrompt, String userPrompt) throws Exception;
+
+        default PendingCompletion completeAsync(
+                String model,
+                double temperature,
+                int maxTokens,
+                String systemPrompt,
+                String userPrompt
+        ) {
+            try {
+                return PendingCompletion.of(CompletableFuture.completedFuture(
+                        complete(model, temperature, maxTokens, systemPrompt, userPrompt)
+                ));
+            } catch (Exception ex) {
+                return PendingCompletion.of(CompletableFuture.failedFuture(ex));
+            }
+        }
     }
 
     public enum ProposalStatus {
@@ -80,6 +106,8 @@ public class LlmDirectorPlanner {
     private final DirectorPromptFactory promptFactory;
     private final DirectorCandidateParser candidateParser;
     private final CompletionGateway completionGateway;
+    private final int speculativeCompletions;
+    private final double speculativeTemperatureStep;
     private final DirectorSnapshotMapper snapshotMapper = new DirectorSnapshotMapper();
     private final DirectorBridgeContractMapper bridgeContractMapper = new DirectorBridgeContractMapper();
 
@@ -97,7 +125,10 @@ public class LlmDirectorPlanner {
             @Value("${planner.llm.baseUrl:https://openrouter.ai/api/v1}") String baseUrl,
             @Value("${planner.llm.httpReferer:https://worldsim.local}") String httpReferer,
             @Value("${planner.llm.appTitle:WorldSim}") String appTitle,
-            @Value("${planner.llm.timeoutMs:3000}") int timeoutMs
+            @Value("${planner.llm.timeoutMs:3000}") int timeoutMs,
+            @Value("${planner.llm.speculativeCompletions:1}") int speculativeCompletions,
+            @Value("${planner.llm.speculativeTemperatureStep:0.2}") double speculativeTemperatureStep,
+            CompletionCache completionCache
     ) {
         this(
                 enabled,
@@ -110,7 +141,12 @@ public class LlmDirectorPlanner {
                 campaignEnabled,
                 new DirectorPromptFactory(),
                 new DirectorCandidateParser(objectMapper),
-                new OpenRouterClient(objectMapper, baseUrl, apiKey, httpReferer, appTitle, timeoutMs)::chatCompletion
+                openRouterGateway(
+                        new OpenRouterClient(objectMapper, baseUrl, apiKey, httpReferer, appTitle, timeoutMs),
+                        completionCache
+                ),
+                speculativeCompletions,
+                speculativeTemperatureStep
         );
     }
 
@@ -126,6 +162,38 @@ public class LlmDirectorPlanner {
             DirectorPromptFactory promptFactory,
             DirectorCandidateParser candidateParser,
             CompletionGateway completionGateway
+    ) {
+        this(
+                enabled,
+                apiKey,
+                model,
+                temperature,
+                maxTokens,
+                defaultOutputMode,
+                defaultInfluenceBudget,
+                campaignEnabled,
+                promptFactory,
+                candidateParser,
+                completionGateway,
+                1,
+                0d
+        );
+    }
+
+    LlmDirectorPlanner(
+            boolean enabled,
+            String apiKey,
+            String model,
+            double temperature,
+            int maxTokens,
+            String defaultOutputMode,
+            double defaultInfluenceBudget,
+            boolean campaignEnabled,
+            DirectorPromptFactory promptFactory,
+            DirectorCandidateParser candidateParser,
+            CompletionGateway completionGateway,
+            int speculativeCompletions,
+            double speculativeTemperatureStep
     ) {
         this.enabled = enabled;
         this.apiKey = apiKey == null ? "" : apiKey;
@@ -140,34 +208,134 @@ public class LlmDirectorPlanner {
         this.promptFactory = promptFactory;
         this.candidateParser = candidateParser;
         this.completionGateway = completionGateway;
+        this.speculativeCompletions = Math.max(1, Math.min(MAX_SPECULATIVE_COMPLETIONS, speculativeCompletions));
+        this.speculativeTemperatureStep = Math.max(0d, speculativeTemperatureStep);
     }
 
-    public Optional<List<PatchOp>> propose(PatchRequest request, List<String> feedbackHints) {
+    public int speculativeCompletions() {
+        return speculativeCompletions;
+    }
+
+    public Optional<List<PatchOp>> propose(PatchRequest request, List<DirectorDiagnostic> feedbackHints) {
         return proposeDetailed(request, feedbackHints).patch();
     }
 
-    public ProposalResult proposeDetailed(PatchRequest request, List<String> feedbackHints) {
+    public ProposalResult proposeDetailed(PatchRequest request, List<DirectorDiagnostic> feedbackHints) {
+        Optional<ProposalResult> skipped = skippedProposal(request);
+        if (skipped.isPresent()) {
+            return skipped.get();
+        }
+
+        PromptContext prompt = promptContext(request, feedbackHints);
+        try {
+            String response = completionGateway.complete(model, temperature, maxTokens, prompt.systemPrompt(), prompt.userPrompt());
+            return toProposal(request, prompt.runtimeFacts(), response);
+        } catch (Exception ex) {
+            return requestFailed(ex);
+        }
+    }
+
+    public CompletableFuture<ProposalResult> proposeDetailedAsync(PatchRequest request, List<DirectorDiagnostic> feedbackHints) {
+        Optional<ProposalResult> skipped = skippedProposal(request);
+        if (skipped.isPresent()) {
+            return CompletableFuture.completedFuture(skipped.get());
+        }
+
+        PromptContext prompt = promptContext(request, feedbackHints);
+        Executor continuation = MdcContext.inlineExecutor();
+        return completionGateway.completeAsync(model, temperature, maxTokens, prompt.systemPrompt(), prompt.userPrompt())
+                .content()
+                .handleAsync((response, failure) -> failure != null
+                        ? requestFailed(unwrap(failure))
+                        : toProposal(request, prompt.runtimeFacts(), response), continuation);
+    }
+
+    /**
+     * Fires up to {@code speculativeCompletions} completions for the same prompt, each at a slightly higher
+     * temperature, and returns the first candidate that {@code accept} passes; the remaining in-flight completions
+     * are cancelled. If none passes, the lowest-index candidate is returned. {@code completionCount} is the number
+     * of completions that were sent, including the ones still in flight when the race settled and then cancelled.
+     */
+    public CompletableFuture<ProposalResult> proposeSpeculativeAsync(
+            PatchRequest request,
+            List<DirectorDiagnostic> feedbackHints,
+            Predicate<List<PatchOp>> accept
+    ) {
+        if (speculativeCompletions <= 1) {
+            return proposeDetailedAsync(request, feedbackHints);
+        }
+        Optional<ProposalResult> skipped = skippedProposal(request);
+        if (skipped.isPresent()) {
+            return CompletableFuture.completedFuture(skipped.get());
+        }
+
+        PromptContext prompt = promptContext(request, feedbackHints);
+        Executor continuation = MdcContext.inlineExecutor();
+        SpeculativeRace race = new SpeculativeRace(speculativeCompletions, accept);
+        for (int i = 0; i < speculativeCompletions && !race.settled(); i++) {
+            int index = i;
+            PendingCompletion completion;
+            try {
+                completion = completionGateway.completeAsync(
+                        model,
+                        speculativeTemperature(index),
+                        maxTokens,
+                        prompt.systemPrompt(),
+                        prompt.userPrompt()
+                );
+            } catch (RuntimeException ex) {
+                completion = PendingCompletion.of(CompletableFuture.failedFuture(ex));
+            }
+            race.launched(completion);
+            completion.content().handleAsync((response, failure) -> {
+                if (race.settled()) {
+                    return null;
+                }
+                return failure != null
+                        ? requestFailed(unwrap(failure))
+                        : toProposal(request, prompt.runtimeFacts(), response);
+            }, continuation).whenComplete((result, failure) -> {
+                try {
+                    race.arrive(index, failure != null ? requestFailed(unwrap(failure)) : result);
+                } catch (Throwable ex) {
+                    race.abort(ex);
+                }
+            });
+        }
+        return race.result();
+    }
+
+    private double speculativeTemperature(int index) {
+        return Math.min(MAX_TEMPERATURE, temperature + index * speculativeTemperatureStep);
+    }
+
+    private Optional<ProposalResult> skippedProposal(PatchRequest request) {
         if (request.goal() != Goal.SEASON_DIRECTOR_CHECKPOINT || !enabled) {
-            return ProposalResult.empty();
+            return Optional.of(ProposalResult.empty());
         }
         if (apiKey.isBlank() || model.isBlank()) {
             logger.warn("llm director planner disabled due to missing api key or model");
-            return ProposalResult.missingConfig();
+            return Optional.of(ProposalResult.missingConfig());
         }
+        return Optional.empty();
+    }
 
+    private PromptContext promptContext(PatchRequest request, List<DirectorDiagnostic> feedbackHints) {
         String outputMode = resolveOutputMode(request);
         DirectorRuntimeFacts runtimeFacts = snapshotMapper.map(request, defaultInfluenceBudget);
         String systemPrompt = promptFactory.systemPrompt();
         String userPrompt = promptFactory.userPrompt(runtimeFacts, outputMode, campaignEnabled, feedbackHints);
+        logger.info(
+                "llm director proposal start requestId={} outputMode={} feedbackHints={}",
+                request.requestId(),
+                outputMode,
+                feedbackHints.size()
+        );
+        return new PromptContext(runtimeFacts, systemPrompt, userPrompt);
+    }
 
+    private ProposalResult toProposal(PatchRequest request, DirectorRuntimeFacts runtimeFacts, String response) {
         try {
-            logger.info(
-                    "llm director proposal start requestId={} outputMode={} feedbackHints={}",
-                    request.requestId(),
-                    outputMode,
-                    feedbackHints.size()
-            );
-            String response = completionGateway.complete(model, temperature, maxTokens, systemPrompt, userPrompt);
             Optional<DirectorCandidateParser.DirectorCandidate> candidate = candidateParser.parse(response);
             if (candidate.isEmpty()) {
                 logger.warn("llm director proposal parse failed responsePreview={}", preview(response));
@@ -186,8 +354,159 @@ public class LlmDirectorPlanner {
                     : Optional.of(buildResult.patch());
             return new ProposalResult(patch, 1, buildResult.sanitized(), buildResult.sanitizeTags(), ProposalStatus.CANDIDATE);
         } catch (Exception ex) {
-            logger.warn("llm director proposal failed: {}", ex.toString());
-            return new ProposalResult(Optional.empty(), 0, false, List.of(), ProposalStatus.REQUEST_FAILED);
+            return requestFailed(ex);
+        }
+    }
+
+    private static ProposalResult requestFailed(Throwable ex) {
+        logger.warn("llm director proposal failed: {}", ex.toString());
+        return new ProposalResult(Optional.empty(), 0, false, List.of(), ProposalStatus.REQUEST_FAILED);
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    static CompletionGateway openRouterGateway(OpenRouterClient client, CompletionCache cache) {
+        return new CompletionGateway() {
+            @Override
+            public String complete(String model, double temperature, int maxTokens, String systemPrompt, String userPrompt) throws Exception {
+                String key = CompletionCache.key(model, temperature, maxTokens, systemPrompt, userPrompt);
+                Optional<String> cached = cache.get(key);
+                if (cached.isPresent()) {
+                    return cached.get();
+                }
+                String completion = client.chatCompletion(model, temperature, maxTokens, systemPrompt, userPrompt);
+                cache.put(key, completion);
+                return completion;
+            }
+
+            @Override
+            public PendingCompletion completeAsync(
+                    String model,
+                    double temperature,
+                    int maxTokens,
+                    String systemPrompt,
+                    String userPrompt
+            ) {
+                String key = CompletionCache.key(model, temperature, maxTokens, systemPrompt, userPrompt);
+                Optional<String> cached = cache.get(key);
+                if (cached.isPresent()) {
+                    return PendingCompletion.of(CompletableFuture.completedFuture(cached.get()));
+                }
+                return client.chatCompletionAsync(model, temperature, maxTokens, systemPrompt, userPrompt)
+                        .thenApply(completion -> {
+                            cache.put(key, completion);
+                            return completion;
+                        });
+            }
+        };
+    }
+
+    private record PromptContext(DirectorRuntimeFacts runtimeFacts, String systemPrompt, String userPrompt) {
+    }
+
+    private static final class SpeculativeRace {
+        private final ProposalResult[] results;
+        private final List<PendingCompletion> completions = new ArrayList<>();
+        private final Predicate<List<PatchOp>> accept;
+        private final CompletableFuture<ProposalResult> result = new CompletableFuture<>();
+        private int arrived;
+        private int completionCount;
+        private volatile boolean settled;
+
+        private SpeculativeRace(int size, Predicate<List<PatchOp>> accept) {
+            this.results = new ProposalResult[size];
+            this.accept = accept;
+        }
+
+        private boolean settled() {
+            return settled;
+        }
+
+        private CompletableFuture<ProposalResult> result() {
+            return result;
+        }
+
+        private synchronized void launched(PendingCompletion completion) {
+            completions.add(completion);
+        }
+
+        private void arrive(int index, ProposalResult proposal) {
+            if (settled || proposal == null) {
+                return;
+            }
+            boolean accepted = proposal.patch().isPresent() && accepts(proposal.patch().get());
+            List<PendingCompletion> toCancel;
+            ProposalResult winner;
+            int sent;
+            synchronized (this) {
+                if (settled) {
+                    return;
+                }
+                results[index] = proposal;
+                arrived++;
+                completionCount += proposal.completionCount();
+                if (!accepted && arrived < results.length) {
+                    return;
+                }
+                winner = accepted ? proposal : firstCandidate();
+                settled = true;
+                toCancel = List.copyOf(completions);
+                sent = completionCount + (completions.size() - arrived);
+                logger.info(
+                        "llm director speculative race settled winnerIndex={} accepted={} arrived={} launched={} completionCount={}",
+                        accepted ? index : -1,
+                        accepted,
+                        arrived,
+                        completions.size(),
+                        sent
+                );
+            }
+            toCancel.forEach(PendingCompletion::cancel);
+            result.complete(new ProposalResult(
+                    winner.patch(),
+                    sent,
+                    winner.sanitized(),
+                    winner.sanitizeTags(),
+                    winner.status()
+            ));
+        }
+
+        private void abort(Throwable failure) {
+            List<PendingCompletion> toCancel;
+            synchronized (this) {
+                if (settled) {
+                    return;
+                }
+                settled = true;
+                toCancel = List.copyOf(completions);
+            }
+            toCancel.forEach(PendingCompletion::cancel);
+            result.completeExceptionally(failure);
+        }
+
+        private boolean accepts(List<PatchOp> patch) {
+            try {
+                return accept.test(patch);
+            } catch (RuntimeException ex) {
+                logger.warn("llm director speculative candidate check failed: {}", ex.toString());
+                return false;
+            }
+        }
+
+        private ProposalResult firstCandidate() {
+            for (ProposalResult candidate : results) {
+                if (candidate != null && candidate.patch().isPresent()) {
+                    return candidate;
+                }
+            }
+            for (ProposalResult candidate : results) {
+                if (candidate != null) {
+                    return candidate;
+                }
+            }
+            throw new IllegalStateException("speculative race settled without any proposal");
         }
     }
 
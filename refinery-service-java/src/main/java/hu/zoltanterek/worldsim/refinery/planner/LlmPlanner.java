@@ -2,6 +2,8 @@ package hu.zoltanterek.worldsim.refinery.planner;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Component;
 import hu.zoltanterek.worldsim.refinery.model.PatchOp;
 import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
 import hu.zoltanterek.worldsim.refinery.model.Goal;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDiagnostic;
 
 @Component
 public class LlmPlanner {
@@ -27,11 +30,15 @@ public class LlmPlanner {
         this.llmDirectorPlanner = llmDirectorPlanner;
     }
 
+    public boolean isEnabled() {
+        return enabled;
+    }
+
     public Optional<List<PatchOp>> propose(PatchRequest request) {
         return proposeWithFeedback(request, List.of());
     }
 
-    public LlmDirectorPlanner.ProposalResult proposeDirectorWithFeedback(PatchRequest request, List<String> feedbackHints) {
+    public LlmDirectorPlanner.ProposalResult proposeDirectorWithFeedback(PatchRequest request, List<DirectorDiagnostic> feedbackHints) {
         if (!enabled || request.goal() != Goal.SEASON_DIRECTOR_CHECKPOINT) {
             return LlmDirectorPlanner.ProposalResult.empty();
         }
@@ -39,7 +46,34 @@ public class LlmPlanner {
         return llmDirectorPlanner.proposeDetailed(request, feedbackHints);
     }
 
-    public Optional<List<PatchOp>> proposeWithFeedback(PatchRequest request, List<String> feedbackHints) {
+    public CompletableFuture<LlmDirectorPlanner.ProposalResult> proposeDirectorWithFeedbackAsync(
+            PatchRequest request,
+            List<DirectorDiagnostic> feedbackHints
+    ) {
+        if (!enabled || request.goal() != Goal.SEASON_DIRECTOR_CHECKPOINT) {
+            return CompletableFuture.completedFuture(LlmDirectorPlanner.ProposalResult.empty());
+        }
+
+        return llmDirectorPlanner.proposeDetailedAsync(request, feedbackHints);
+    }
+
+    public int directorSpeculativeCompletions() {
+        return enabled ? llmDirectorPlanner.speculativeCompletions() : 1;
+    }
+
+    public CompletableFuture<LlmDirectorPlanner.ProposalResult> proposeDirectorSpeculativeAsync(
+            PatchRequest request,
+            List<DirectorDiagnostic> feedbackHints,
+            Predicate<List<PatchOp>> accept
+    ) {
+        if (!enabled || request.goal() != Goal.SEASON_DIRECTOR_CHECKPOINT) {
+            return CompletableFuture.completedFuture(LlmDirectorPlanner.ProposalResult.empty());
+        }
+
+        return llmDirectorPlanner.proposeSpeculativeAsync(request, feedbackHints, accept);
+    }
+
+    public Optional<List<PatchOp>> proposeWithFeedback(PatchRequest request, List<DirectorDiagnostic> feedbackHints) {
         if (!enabled) {
             return Optional.empty();
         }
@@ -4,9 +4,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Random;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -18,26 +20,57 @@ import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorCampaignOpFactory;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorInfluenceBudget;
 import hu.zoltanterek.worldsim.refinery.util.DeterministicIds;
+import hu.zoltanterek.worldsim.refinery.util.DeterministicMemo;
 
 @Component
 public class MockPlanner implements PatchPlanner {
     private static final String SCHEMA_VERSION = "v1";
+
     private final ObjectMapper objectMapper;
     private final String directorOutputMode;
     private final boolean directorCampaignEnabled;
+    private final DeterministicMemo<MemoKey, Output> memo;
 
+    @Autowired
     public MockPlanner(
             ObjectMapper objectMapper,
             @Value("${planner.director.outputMode:both}") String directorOutputMode,
-            @Value("${planner.director.campaignEnabled:false}") boolean directorCampaignEnabled
+            @Value("${planner.director.campaignEnabled:false}") boolean directorCampaignEnabled,
+            @Value("${planner.memo.maxEntries:4096}") int memoMaxEntries
     ) {
         this.objectMapper = objectMapper;
-        this.directorOutputMode = normalizeOutputMode(directorOutputMode);
+        this.directorOutputMode = ComposedPatchPlanner.normalizeOutputMode(directorOutputMode);
         this.directorCampaignEnabled = directorCampaignEnabled;
+        this.memo = new DeterministicMemo<>(memoMaxEntries);
+    }
+
+    public MockPlanner(ObjectMapper objectMapper, String directorOutputMode, boolean directorCampaignEnabled) {
+        this(objectMapper, directorOutputMode, directorCampaignEnabled, DeterministicMemo.DEFAULT_MAX_ENTRIES);
     }
 
+    /**
+     * Output depends only on goal, seed, tick and this planner's config, so the patch and explain lists are memoized
+     * and shared; only {@code requestId} is taken from the request. Ops carrying mutable {@link JsonNode} payloads
+     * (tech cost/effects, world event params) are deep-copied per response so callers cannot alter the memo.
+     */
     @Override
     public PatchResponse plan(PatchRequest request) {
+        Output output = memo.get(new MemoKey(request.seed(), request.tick(), request.goal()), () -> compute(request));
+        return new PatchResponse(
+                SCHEMA_VERSION,
+                request.requestId(),
+                request.seed(),
+                detached(output.patch()),
+                output.explain(),
+                List.of()
+        );
+    }
+
+    long memoHits() {
+        return memo.hits();
+    }
+
+    private Output compute(PatchRequest request) {
         Random random = new Random(DeterministicIds.combineSeed(request.seed(), request.tick(), request.goal().name()));
 
         List<PatchOp> patch = switch (request.goal()) {
@@ -64,14 +97,7 @@ public class MockPlanner implements PatchPlanner {
         );
 
         // TODO: Replace with LLM -> Refinery validate/repair planner chain.
-        return new PatchResponse(
-                SCHEMA_VERSION,
-                request.requestId(),
-                request.seed(),
-                patch,
-                explain,
-                List.of()
-        );
+        return new Output(List.copyOf(patch), explain);
     }
 
     private PatchOp planTechTreePatch(PatchRequest request) {
@@ -151,14 +177,30 @@ public class MockPlanner implements PatchPlanner {
         return List.copyOf(patch);
     }
 
-    private static String normalizeOutputMode(String rawMode) {
-        String mode = rawMode == null ? "both" : rawMode.trim().toLowerCase();
-        return switch (mode) {
-            case RefineryVocabulary.OUTPUT_MODE_BOTH,
-                    RefineryVocabulary.OUTPUT_MODE_STORY_ONLY,
-                    RefineryVocabulary.OUTPUT_MODE_NUDGE_ONLY,
-                    RefineryVocabulary.OUTPUT_MODE_OFF -> mode;
-            default -> "both";
+    private static List<PatchOp> detached(List<PatchOp> patch) {
+        if (patch.stream().noneMatch(op -> op instanceof PatchOp.AddTech || op instanceof PatchOp.AddWorldEvent)) {
+            return patch;
+        }
+        return patch.stream().map(MockPlanner::deepCopy).toList();
+    }
+
+    private static PatchOp deepCopy(PatchOp op) {
+        return switch (op) {
+            case PatchOp.AddTech tech -> new PatchOp.AddTech(
+                    tech.opId(),
+                    tech.techId(),
+                    tech.prereqTechIds(),
+                    tech.cost().deepCopy(),
+                    tech.effects().deepCopy()
+            );
+            case PatchOp.AddWorldEvent event -> new PatchOp.AddWorldEvent(
+                    event.opId(),
+                    event.eventId(),
+                    event.type(),
+                    event.params().deepCopy(),
+                    event.durationTicks()
+            );
+            default -> op;
         };
     }
 
@@ -178,4 +220,10 @@ public class MockPlanner implements PatchPlanner {
     private static String formatBudgetUsed(double budgetUsed) {
         return String.format(Locale.ROOT, "%.3f", budgetUsed);
     }
+
+    private record MemoKey(long seed, long tick, Goal goal) {
+    }
+
+    private record Output(List<PatchOp> patch, List<String> explain) {
+    }
 }
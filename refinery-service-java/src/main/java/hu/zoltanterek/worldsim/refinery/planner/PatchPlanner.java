@@ -1,8 +1,22 @@
 package hu.zoltanterek.worldsim.refinery.planner;
 
+import java.util.concurrent.CompletableFuture;
+
 import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
 import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
 
 public interface PatchPlanner {
     PatchResponse plan(PatchRequest request);
+
+    /**
+     * Non-blocking variant. The default runs {@link #plan(PatchRequest)} on the caller, which is fine for planners
+     * that never wait on I/O.
+     */
+    default CompletableFuture<PatchResponse> planAsync(PatchRequest request) {
+        try {
+            return CompletableFuture.completedFuture(plan(request));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
 }
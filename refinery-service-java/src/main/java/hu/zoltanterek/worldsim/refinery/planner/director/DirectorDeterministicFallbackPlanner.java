@@ -7,15 +7,39 @@ import hu.zoltanterek.worldsim.refinery.model.Goal;
 import hu.zoltanterek.worldsim.refinery.model.PatchOp;
 import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
 import hu.zoltanterek.worldsim.refinery.util.DeterministicIds;
+import hu.zoltanterek.worldsim.refinery.util.DeterministicMemo;
 
 /**
  * Conservative deterministic safety net used only after validation/retry exhaustion.
+ * Output depends only on seed, tick, the campaign gate and two runtime facts, so results are memoized as shared
+ * immutable lists.
  */
 public final class DirectorDeterministicFallbackPlanner {
+    private final DeterministicMemo<MemoKey, List<PatchOp>> memo;
+
+    public DirectorDeterministicFallbackPlanner() {
+        this(DeterministicMemo.DEFAULT_MAX_ENTRIES);
+    }
+
+    public DirectorDeterministicFallbackPlanner(int memoMaxEntries) {
+        this.memo = new DeterministicMemo<>(memoMaxEntries);
+    }
+
     public List<PatchOp> build(PatchRequest request, DirectorRuntimeFacts facts, boolean campaignEnabled) {
+        MemoKey key = new MemoKey(
+                request.seed(),
+                request.tick(),
+                campaignEnabled,
+                facts.beatCooldownTicks() <= 0,
+                facts.colonyCount() > 0
+        );
+        return memo.get(key, () -> compute(request, key));
+    }
+
+    private static List<PatchOp> compute(PatchRequest request, MemoKey key) {
         List<PatchOp> fallback = new ArrayList<>(2);
 
-        if (facts.beatCooldownTicks() <= 0) {
+        if (key.storyAllowed()) {
             String beatId = "BEAT_FALLBACK_" + DeterministicIds.shortStableId(
                     request.seed(),
                     request.tick(),
@@ -38,7 +62,7 @@ public final class DirectorDeterministicFallbackPlanner {
             ));
         }
 
-        if (facts.colonyCount() > 0) {
+        if (key.directiveAllowed()) {
             String directive = "PrioritizeFood";
             String directiveOpId = DeterministicIds.opId(
                     request.seed(),
@@ -55,8 +79,11 @@ public final class DirectorDeterministicFallbackPlanner {
             ));
         }
 
-        DirectorCampaignOpFactory.buildDeterministicCampaignOp(request, campaignEnabled).ifPresent(fallback::add);
+        DirectorCampaignOpFactory.buildDeterministicCampaignOp(request, key.campaignEnabled()).ifPresent(fallback::add);
+
+        return List.copyOf(fallback);
+    }
 
-        return fallback;
+    private record MemoKey(long seed, long tick, boolean campaignEnabled, boolean storyAllowed, boolean directiveAllowed) {
     }
 }
@@ -0,0 +1,31 @@
+package hu.zoltanterek.worldsim.refinery.planner.director;
+
+/**
+ * One validator finding, either a rejection or a repair the validator applied. {@code opIndex} points into the
+ * candidate patch as submitted ({@link #PATCH_LEVEL} for checkpoint-wide checks); {@code fieldPath} is relative to
+ * that op, e.g. {@code effects[1].domain}. {@code fieldPath}, {@code observed} and {@code allowed} are null when they
+ * do not apply.
+ */
+public record DirectorDiagnostic(
+        String invariantCode,
+        int opIndex,
+        String fieldPath,
+        String observed,
+        String allowed,
+        String message
+) {
+    public static final int PATCH_LEVEL = -1;
+
+    public static DirectorDiagnostic of(String invariantCode, int opIndex, String message) {
+        return new DirectorDiagnostic(invariantCode, opIndex, null, null, null, message);
+    }
+
+    /** The {@code "INV-xx message"} form used in the LLM prompt, response warnings and the legacy exception. */
+    public String text() {
+        return invariantCode + " " + message;
+    }
+
+    public DirectorRetryHint retryHint() {
+        return DirectorRetryHint.forInvariant(invariantCode);
+    }
+}
@@ -22,9 +22,26 @@ public final class DirectorModelValidator {
         this.campaignEnabled = campaignEnabled;
     }
 
+    /**
+     * Throwing form of {@link #validate(List, DirectorRuntimeFacts)}; the exception message is the rejection's
+     * {@link DirectorDiagnostic#text()}.
+     */
     public DirectorValidationOutcome validateAndRepair(List<PatchOp> candidatePatch, DirectorRuntimeFacts facts) {
+        DirectorValidationVerdict verdict = validate(candidatePatch, facts);
+        if (!verdict.isAccepted()) {
+            throw new IllegalArgumentException(verdict.rejection().text());
+        }
+        return verdict.outcome();
+    }
+
+    /**
+     * Validates and repairs a candidate patch without throwing: the first violated invariant comes back as a
+     * {@link DirectorDiagnostic}, which keeps retry rounds on noisy LLM output off the exception path.
+     */
+    public DirectorValidationVerdict validate(List<PatchOp> candidatePatch, DirectorRuntimeFacts facts) {
+        Check check = new Check();
         List<String> warnings = new ArrayList<>();
-        List<String> feedback = new ArrayList<>();
+        List<DirectorDiagnostic> feedback = new ArrayList<>();
         List<PatchOp> repaired = new ArrayList<>(candidatePatch.size());
         Map<Integer, String> directivesPerColony = new HashMap<>();
         Set<String> seenOpIds = new HashSet<>();
@@ -33,20 +50,25 @@ public final class DirectorModelValidator {
         boolean changed = false;
 
         if (candidatePatch.size() > DirectorDesign.MAX_OPS_PER_CHECKPOINT) {
-            throw invalid(
+            return check.fail(
                     DirectorDesign.INV_12,
+                    null,
+                    String.valueOf(candidatePatch.size()),
+                    "<=" + DirectorDesign.MAX_OPS_PER_CHECKPOINT,
                     "Too many ops in checkpoint: " + candidatePatch.size() +
                             " (max " + DirectorDesign.MAX_OPS_PER_CHECKPOINT + ")"
             );
         }
 
-        for (PatchOp op : candidatePatch) {
+        for (int opIndex = 0; opIndex < candidatePatch.size(); opIndex++) {
+            PatchOp op = candidatePatch.get(opIndex);
+            check.at(opIndex);
             if (op instanceof PatchOp.AddStoryBeat storyBeat) {
                 if (isBlank(storyBeat.opId())) {
-                    throw invalid(DirectorDesign.INV_11, "Story beat opId is required.");
+                    return check.fail(DirectorDesign.INV_11, "opId", null, null, "Story beat opId is required.");
                 }
                 if (!seenOpIds.add(storyBeat.opId())) {
-                    throw invalid(DirectorDesign.INV_11, "Duplicate opId detected: " + storyBeat.opId());
+                    return check.fail(DirectorDesign.INV_11, "opId", storyBeat.opId(), null, "Duplicate opId detected: " + storyBeat.opId());
                 }
                 if (storyBeatSeen) {
                     warnings.add(code(DirectorDesign.INV_02, "Dropped extra story beat in same checkpoint."));
@@ -54,22 +76,43 @@ public final class DirectorModelValidator {
                     continue;
                 }
                 if (facts.beatCooldownTicks() > 0) {
-                    throw invalid(DirectorDesign.INV_03, "Story beat cooldown active; cannot emit beat this checkpoint.");
+                    return check.fail(
+                            DirectorDesign.INV_03,
+                            null,
+                            String.valueOf(facts.beatCooldownTicks()),
+                            "0",
+                            "Story beat cooldown active; cannot emit beat this checkpoint."
+                    );
                 }
                 long repairedDuration = clamp(storyBeat.durationTicks(), DirectorDesign.MIN_STORY_DURATION, DirectorDesign.MAX_STORY_DURATION);
                 if (repairedDuration != storyBeat.durationTicks()) {
                     warnings.add(code(DirectorDesign.INV_06, "Clamped story beat duration to safe range."));
-                    feedback.add(code(DirectorDesign.INV_06, "Story beat duration was clamped from " + storyBeat.durationTicks() + " to " + repairedDuration + '.'));
+                    feedback.add(check.diagnostic(
+                            DirectorDesign.INV_06,
+                            "durationTicks",
+                            String.valueOf(storyBeat.durationTicks()),
+                            range(DirectorDesign.MIN_STORY_DURATION, DirectorDesign.MAX_STORY_DURATION),
+                            "Story beat duration was clamped from " + storyBeat.durationTicks() + " to " + repairedDuration + '.'
+                    ));
                     changed = true;
                 }
                 if (hasMismatchedEffectDuration(storyBeat.effects(), repairedDuration)) {
                     warnings.add(code(DirectorDesign.INV_06, "Aligned story effect durations to parent story beat duration."));
-                    feedback.add(code(DirectorDesign.INV_06, "Story effect durationTicks must match story beat durationTicks " + repairedDuration + '.'));
+                    feedback.add(check.diagnostic(
+                            DirectorDesign.INV_06,
+                            "effects[].durationTicks",
+                            null,
+                            String.valueOf(repairedDuration),
+                            "Story effect durationTicks must match story beat durationTicks " + repairedDuration + '.'
+                    ));
                     changed = true;
                 }
 
-                List<PatchOp.EffectEntry> effects = sanitizeEffects(storyBeat.effects(), repairedDuration);
-                String explicitSeverity = normalizeOptionalSeverity(storyBeat.severity());
+                List<PatchOp.EffectEntry> effects = sanitizeEffects(storyBeat.effects(), repairedDuration, "effects", check);
+                String explicitSeverity = normalizeOptionalSeverity(storyBeat.severity(), check);
+                if (check.failed()) {
+                    return check.verdict();
+                }
                 String newBeatSeverity = inferSeverity(effects);
                 if (explicitSeverity != null && !explicitSeverity.equals(newBeatSeverity)) {
                     warnings.add(code(
@@ -77,29 +120,36 @@ public final class DirectorModelValidator {
                             "Normalized story beat severity from '" + explicitSeverity + "' to '" + newBeatSeverity
                                     + "' based on effect count " + effects.size() + "."
                     ));
-                    feedback.add(code(
+                    feedback.add(check.diagnostic(
                             DirectorDesign.INV_01,
+                            "severity",
+                            explicitSeverity,
+                            newBeatSeverity,
                             "Story beat severity must match effect count (minor=0, major=1-2, epic=3)."
                     ));
                     changed = true;
                 }
                 if ("major".equals(newBeatSeverity) && hasActiveSeverity(facts, "major")) {
-                    throw invalid(DirectorDesign.INV_08, "Major beat already active; cannot emit another major beat.");
+                    return check.fail(DirectorDesign.INV_08, "severity", newBeatSeverity, null, "Major beat already active; cannot emit another major beat.");
                 }
                 if ("epic".equals(newBeatSeverity) && hasActiveSeverity(facts, "epic")) {
-                    throw invalid(DirectorDesign.INV_09, "Epic beat already active; cannot emit another epic beat.");
+                    return check.fail(DirectorDesign.INV_09, "severity", newBeatSeverity, null, "Epic beat already active; cannot emit another epic beat.");
+                }
+                if (!validateNoContradictoryModifiers(effects, "effects", check) || !validateDomainStackCap(effects, "effects", check)) {
+                    return check.verdict();
                 }
-                validateNoContradictoryModifiers(effects);
-                validateDomainStackCap(effects);
                 if (isBlank(storyBeat.beatId())) {
-                    throw invalid(DirectorDesign.INV_04, "Story beat beatId is required.");
+                    return check.fail(DirectorDesign.INV_04, "beatId", null, null, "Story beat beatId is required.");
                 }
                 if (isBlank(storyBeat.text())) {
-                    throw invalid(DirectorDesign.INV_05, "Story beat text is required.");
+                    return check.fail(DirectorDesign.INV_05, "text", null, null, "Story beat text is required.");
                 }
                 if (storyBeat.text().length() > DirectorDesign.MAX_STORY_TEXT_LENGTH) {
-                    throw invalid(
+                    return check.fail(
                             DirectorDesign.INV_05,
+                            "text",
+                            String.valueOf(storyBeat.text().length()),
+                            "<=" + DirectorDesign.MAX_STORY_TEXT_LENGTH,
                             "Story beat text too long: " + storyBeat.text().length() +
                                     " (max " + DirectorDesign.MAX_STORY_TEXT_LENGTH + ")"
                     );
@@ -110,8 +160,12 @@ public final class DirectorModelValidator {
                         repairedDuration,
                         newBeatSeverity,
                         effects,
-                        facts
+                        facts,
+                        check
                 );
+                if (check.failed()) {
+                    return check.verdict();
+                }
 
                 repaired.add(new PatchOp.AddStoryBeat(
                         storyBeat.opId(),
@@ -128,24 +182,36 @@ public final class DirectorModelValidator {
 
             if (op instanceof PatchOp.SetColonyDirective directive) {
                 if (isBlank(directive.opId())) {
-                    throw invalid(DirectorDesign.INV_11, "Directive opId is required.");
+                    return check.fail(DirectorDesign.INV_11, "opId", null, null, "Directive opId is required.");
                 }
                 if (!seenOpIds.add(directive.opId())) {
-                    throw invalid(DirectorDesign.INV_11, "Duplicate opId detected: " + directive.opId());
+                    return check.fail(DirectorDesign.INV_11, "opId", directive.opId(), null, "Duplicate opId detected: " + directive.opId());
                 }
                 if (isBlank(directive.directive())) {
-                    throw invalid(DirectorDesign.INV_07, "Directive name is required.");
+                    return check.fail(DirectorDesign.INV_07, "directive", null, null, "Directive name is required.");
                 }
                 if (!DirectorDesign.ALLOWED_DIRECTIVES.contains(directive.directive())) {
-                    throw invalid(DirectorDesign.INV_07, "Unknown directive: " + directive.directive());
+                    return check.fail(
+                            DirectorDesign.INV_07,
+                            "directive",
+                            directive.directive(),
+                            String.join(",", DirectorDesign.ALLOWED_DIRECTIVES),
+                            "Unknown directive: " + directive.directive()
+                    );
                 }
                 if (directive.colonyId() < 0 || directive.colonyId() >= facts.colonyCount()) {
-                    throw invalid(DirectorDesign.INV_11, "Directive references unknown colonyId: " + directive.colonyId());
+                    return check.fail(
+                            DirectorDesign.INV_11,
+                            "colonyId",
+                            String.valueOf(directive.colonyId()),
+                            range(0, facts.colonyCount() - 1L),
+                            "Directive references unknown colonyId: " + directive.colonyId()
+                    );
                 }
 
                 String existing = directivesPerColony.get(directive.colonyId());
                 if (existing != null && !existing.equals(directive.directive())) {
-                    throw invalid(DirectorDesign.INV_12, "Conflicting directives for colonyId " + directive.colonyId());
+                    return check.fail(DirectorDesign.INV_12, "directive", directive.directive(), existing, "Conflicting directives for colonyId " + directive.colonyId());
                 }
                 if (existing != null) {
                     warnings.add(code(DirectorDesign.INV_12, "Dropped duplicate directive for colony " + directive.colonyId() + '.'));
@@ -156,11 +222,20 @@ public final class DirectorModelValidator {
                 long repairedDuration = clamp(directive.durationTicks(), DirectorDesign.MIN_DIRECTIVE_DURATION, DirectorDesign.MAX_DIRECTIVE_DURATION);
                 if (repairedDuration != directive.durationTicks()) {
                     warnings.add(code(DirectorDesign.INV_10, "Clamped directive duration to safe range."));
-                    feedback.add(code(DirectorDesign.INV_10, "Directive duration was clamped from " + directive.durationTicks() + " to " + repairedDuration + '.'));
+                    feedback.add(check.diagnostic(
+                            DirectorDesign.INV_10,
+                            "durationTicks",
+                            String.valueOf(directive.durationTicks()),
+                            range(DirectorDesign.MIN_DIRECTIVE_DURATION, DirectorDesign.MAX_DIRECTIVE_DURATION),
+                            "Directive duration was clamped from " + directive.durationTicks() + " to " + repairedDuration + '.'
+                    ));
                     changed = true;
                 }
 
-                List<PatchOp.GoalBiasEntry> biases = sanitizeBiases(directive.biases());
+                List<PatchOp.GoalBiasEntry> biases = sanitizeBiases(directive.biases(), check);
+                if (biases == null) {
+                    return check.verdict();
+                }
 
                 repaired.add(new PatchOp.SetColonyDirective(
                         directive.opId(),
@@ -175,21 +250,29 @@ public final class DirectorModelValidator {
 
             if (op instanceof PatchOp.DeclareWar declareWar) {
                 if (!campaignEnabled) {
-                    throw invalid(DirectorDesign.INV_01, "Campaign ops disabled by planner.director.campaignEnabled=false.");
+                    return check.fail(DirectorDesign.INV_01, null, null, null, "Campaign ops disabled by planner.director.campaignEnabled=false.");
                 }
                 if (isBlank(declareWar.opId())) {
-                    throw invalid(DirectorDesign.INV_11, "Campaign opId is required.");
+                    return check.fail(DirectorDesign.INV_11, "opId", null, null, "Campaign opId is required.");
                 }
                 if (!seenOpIds.add(declareWar.opId())) {
-                    throw invalid(DirectorDesign.INV_11, "Duplicate opId detected: " + declareWar.opId());
+                    return check.fail(DirectorDesign.INV_11, "opId", declareWar.opId(), null, "Duplicate opId detected: " + declareWar.opId());
                 }
                 if (campaignSeen) {
-                    throw invalid(DirectorDesign.INV_12, "Only one campaign op is allowed per checkpoint.");
+                    return check.fail(DirectorDesign.INV_12, null, null, null, "Only one campaign op is allowed per checkpoint.");
+                }
+                if (!validateFactionRange(declareWar.attackerFactionId(), "declareWar.attackerFactionId", check)
+                        || !validateFactionRange(declareWar.defenderFactionId(), "declareWar.defenderFactionId", check)) {
+                    return check.verdict();
                 }
-                validateFactionRange(declareWar.attackerFactionId(), "declareWar.attackerFactionId");
-                validateFactionRange(declareWar.defenderFactionId(), "declareWar.defenderFactionId");
                 if (declareWar.attackerFactionId() == declareWar.defenderFactionId()) {
-                    throw invalid(DirectorDesign.INV_11, "declareWar requires attackerFactionId != defenderFactionId.");
+                    return check.fail(
+                            DirectorDesign.INV_11,
+                            "defenderFactionId",
+                            String.valueOf(declareWar.defenderFactionId()),
+                            "!=" + declareWar.attackerFactionId(),
+                            "declareWar requires attackerFactionId != defenderFactionId."
+                    );
                 }
                 repaired.add(declareWar);
                 campaignSeen = true;
@@ -198,23 +281,34 @@ public final class DirectorModelValidator {
 
             if (op instanceof PatchOp.ProposeTreaty treaty) {
                 if (!campaignEnabled) {
-                    throw invalid(DirectorDesign.INV_01, "Campaign ops disabled by planner.director.campaignEnabled=false.");
+                    return check.fail(DirectorDesign.INV_01, null, null, null, "Campaign ops disabled by planner.director.campaignEnabled=false.");
                 }
                 if (isBlank(treaty.opId())) {
-                    throw invalid(DirectorDesign.INV_11, "Campaign opId is required.");
+                    return check.fail(DirectorDesign.INV_11, "opId", null, null, "Campaign opId is required.");
                 }
                 if (!seenOpIds.add(treaty.opId())) {
-                    throw invalid(DirectorDesign.INV_11, "Duplicate opId detected: " + treaty.opId());
+                    return check.fail(DirectorDesign.INV_11, "opId", treaty.opId(), null, "Duplicate opId detected: " + treaty.opId());
                 }
                 if (campaignSeen) {
-                    throw invalid(DirectorDesign.INV_12, "Only one campaign op is allowed per checkpoint.");
+                    return check.fail(DirectorDesign.INV_12, null, null, null, "Only one campaign op is allowed per checkpoint.");
+                }
+                if (!validateFactionRange(treaty.proposerFactionId(), "proposeTreaty.proposerFactionId", check)
+                        || !validateFactionRange(treaty.receiverFactionId(), "proposeTreaty.receiverFactionId", check)) {
+                    return check.verdict();
                 }
-                validateFactionRange(treaty.proposerFactionId(), "proposeTreaty.proposerFactionId");
-                validateFactionRange(treaty.receiverFactionId(), "proposeTreaty.receiverFactionId");
                 if (treaty.proposerFactionId() == treaty.receiverFactionId()) {
-                    throw invalid(DirectorDesign.INV_11, "proposeTreaty requires proposerFactionId != receiverFactionId.");
+                    return check.fail(
+                            DirectorDesign.INV_11,
+                            "receiverFactionId",
+                            String.valueOf(treaty.receiverFactionId()),
+                            "!=" + treaty.proposerFactionId(),
+                            "proposeTreaty requires proposerFactionId != receiverFactionId."
+                    );
+                }
+                String normalizedTreatyKind = normalizeTreatyKind(treaty.treatyKind(), check);
+                if (normalizedTreatyKind == null) {
+                    return check.verdict();
                 }
-                String normalizedTreatyKind = normalizeTreatyKind(treaty.treatyKind());
                 repaired.add(new PatchOp.ProposeTreaty(
                         treaty.opId(),
                         treaty.proposerFactionId(),
@@ -226,10 +320,19 @@ public final class DirectorModelValidator {
                 continue;
             }
 
-            throw invalid(DirectorDesign.INV_01, "Director checkpoint supports only addStoryBeat/setColonyDirective/declareWar/proposeTreaty ops.");
+            return check.fail(
+                    DirectorDesign.INV_01,
+                    null,
+                    op.getClass().getSimpleName(),
+                    "addStoryBeat,setColonyDirective,declareWar,proposeTreaty",
+                    "Director checkpoint supports only addStoryBeat/setColonyDirective/declareWar/proposeTreaty ops."
+            );
         }
 
-        validateInfluenceBudget(repaired, facts);
+        check.at(DirectorDiagnostic.PATCH_LEVEL);
+        if (!validateInfluenceBudget(repaired, facts, check)) {
+            return check.verdict();
+        }
 
         repaired.sort(Comparator.comparingInt(DirectorModelValidator::sortKey)
                 .thenComparing(DirectorModelValidator::stableSecondaryKey));
@@ -238,7 +341,7 @@ public final class DirectorModelValidator {
             warnings.add(code(DirectorDesign.INV_13, "Normalized director op ordering for deterministic output."));
         }
 
-        return new DirectorValidationOutcome(repaired, warnings, feedback, changed);
+        return DirectorValidationVerdict.accepted(new DirectorValidationOutcome(repaired, warnings, feedback, changed));
     }
 
     public List<PatchOp> conservativeRetryPatch(List<PatchOp> candidatePatch, DirectorRuntimeFacts facts) {
@@ -248,6 +351,7 @@ public final class DirectorModelValidator {
         boolean campaignSeen = false;
 
         for (PatchOp op : candidatePatch) {
+            Check check = new Check();
             if (op instanceof PatchOp.AddStoryBeat storyBeat) {
                 if (facts.beatCooldownTicks() > 0 || isBlank(storyBeat.opId()) || isBlank(storyBeat.beatId()) || isBlank(storyBeat.text())) {
                     continue;
@@ -256,32 +360,33 @@ public final class DirectorModelValidator {
                     continue;
                 }
                 long duration = clamp(storyBeat.durationTicks(), DirectorDesign.MIN_STORY_DURATION, DirectorDesign.MAX_STORY_DURATION);
-                List<PatchOp.EffectEntry> effects;
-                String severity;
-                try {
-                    effects = sanitizeEffects(storyBeat.effects(), duration);
-                    validateNoContradictoryModifiers(effects);
-                    validateDomainStackCap(effects);
-                    severity = inferSeverity(effects);
-                    PatchOp.CausalChainEntry causalChain = validateAndSanitizeCausalChain(
-                            storyBeat,
-                            duration,
-                            severity,
-                            effects,
-                            facts
-                    );
-                    filtered.add(new PatchOp.AddStoryBeat(
-                            storyBeat.opId(),
-                            storyBeat.beatId(),
-                            storyBeat.text(),
-                            duration,
-                            severity,
-                            effects,
-                            causalChain
-                    ));
-                } catch (IllegalArgumentException ex) {
+                List<PatchOp.EffectEntry> effects = sanitizeEffects(storyBeat.effects(), duration, "effects", check);
+                if (effects == null
+                        || !validateNoContradictoryModifiers(effects, "effects", check)
+                        || !validateDomainStackCap(effects, "effects", check)) {
                     continue;
                 }
+                String severity = inferSeverity(effects);
+                PatchOp.CausalChainEntry causalChain = validateAndSanitizeCausalChain(
+                        storyBeat,
+                        duration,
+                        severity,
+                        effects,
+                        facts,
+                        check
+                );
+                if (check.failed()) {
+                    continue;
+                }
+                filtered.add(new PatchOp.AddStoryBeat(
+                        storyBeat.opId(),
+                        storyBeat.beatId(),
+                        storyBeat.text(),
+                        duration,
+                        severity,
+                        effects,
+                        causalChain
+                ));
                 continue;
             }
             if (op instanceof PatchOp.SetColonyDirective directive) {
@@ -302,10 +407,8 @@ public final class DirectorModelValidator {
                 }
                 directivesPerColony.put(directive.colonyId(), directive.directive());
                 long duration = clamp(directive.durationTicks(), DirectorDesign.MIN_DIRECTIVE_DURATION, DirectorDesign.MAX_DIRECTIVE_DURATION);
-                List<PatchOp.GoalBiasEntry> biases;
-                try {
-                    biases = sanitizeBiases(directive.biases());
-                } catch (IllegalArgumentException ex) {
+                List<PatchOp.GoalBiasEntry> biases = sanitizeBiases(directive.biases(), check);
+                if (biases == null) {
                     continue;
                 }
                 filtered.add(new PatchOp.SetColonyDirective(
@@ -359,19 +462,18 @@ public final class DirectorModelValidator {
                         || treaty.proposerFactionId() == treaty.receiverFactionId()) {
                     continue;
                 }
-                try {
-                    String normalizedTreatyKind = normalizeTreatyKind(treaty.treatyKind());
-                    filtered.add(new PatchOp.ProposeTreaty(
-                            treaty.opId(),
-                            treaty.proposerFactionId(),
-                            treaty.receiverFactionId(),
-                            normalizedTreatyKind,
-                            treaty.note()
-                    ));
-                    campaignSeen = true;
-                } catch (IllegalArgumentException ex) {
+                String normalizedTreatyKind = normalizeTreatyKind(treaty.treatyKind(), check);
+                if (normalizedTreatyKind == null) {
                     continue;
                 }
+                filtered.add(new PatchOp.ProposeTreaty(
+                        treaty.opId(),
+                        treaty.proposerFactionId(),
+                        treaty.receiverFactionId(),
+                        normalizedTreatyKind,
+                        treaty.note()
+                ));
+                campaignSeen = true;
             }
         }
 
@@ -385,10 +487,6 @@ public final class DirectorModelValidator {
         return filtered;
     }
 
-    private static IllegalArgumentException invalid(String invariantCode, String message) {
-        return new IllegalArgumentException(code(invariantCode, message));
-    }
-
     private static String code(String invariantCode, String message) {
         return invariantCode + " " + message;
     }
@@ -426,29 +524,36 @@ public final class DirectorModelValidator {
         return op.getClass().getSimpleName();
     }
 
-    private static void validateFactionRange(int factionId, String fieldName) {
+    private static boolean validateFactionRange(int factionId, String fieldName, Check check) {
         if (!isValidFactionRange(factionId)) {
-            throw invalid(
+            return check.reject(
                     DirectorDesign.INV_11,
+                    fieldName.substring(fieldName.indexOf('.') + 1),
+                    String.valueOf(factionId),
+                    range(DirectorDesign.MIN_FACTION_ID, DirectorDesign.MAX_FACTION_ID),
                     fieldName + " out of range: " + factionId + " (expected "
                             + DirectorDesign.MIN_FACTION_ID + ".." + DirectorDesign.MAX_FACTION_ID + ")"
             );
         }
+        return true;
     }
 
     private static boolean isValidFactionRange(int factionId) {
         return factionId >= DirectorDesign.MIN_FACTION_ID && factionId <= DirectorDesign.MAX_FACTION_ID;
     }
 
-    private static String normalizeTreatyKind(String treatyKindRaw) {
+    private static String normalizeTreatyKind(String treatyKindRaw, Check check) {
         if (isBlank(treatyKindRaw)) {
-            throw invalid(DirectorDesign.INV_11, "proposeTreaty.treatyKind is required.");
+            return check.rejectValue(DirectorDesign.INV_11, "treatyKind", null, null, "proposeTreaty.treatyKind is required.");
         }
 
         String normalized = treatyKindRaw.trim().toLowerCase(Locale.ROOT);
         if (!DirectorDesign.VALID_TREATY_KINDS.contains(normalized)) {
-            throw invalid(
+            return check.rejectValue(
                     DirectorDesign.INV_11,
+                    "treatyKind",
+                    treatyKindRaw,
+                    String.join(",", DirectorDesign.VALID_TREATY_KINDS),
                     "Unsupported proposeTreaty.treatyKind '" + treatyKindRaw + "'. Expected one of: ceasefire, peace_talks."
             );
         }
@@ -471,43 +576,74 @@ public final class DirectorModelValidator {
         };
     }
 
-    private static String normalizeOptionalSeverity(String rawSeverity) {
+    private static String normalizeOptionalSeverity(String rawSeverity, Check check) {
         if (isBlank(rawSeverity)) {
             return null;
         }
         String severity = rawSeverity.trim().toLowerCase(Locale.ROOT);
         if (!DirectorDesign.VALID_SEVERITIES.contains(severity)) {
-            throw invalid(DirectorDesign.INV_01, "Unknown story beat severity: " + rawSeverity);
+            return check.rejectValue(
+                    DirectorDesign.INV_01,
+                    "severity",
+                    rawSeverity,
+                    String.join(",", DirectorDesign.VALID_SEVERITIES),
+                    "Unknown story beat severity: " + rawSeverity
+            );
         }
         return severity;
     }
 
-    private static List<PatchOp.EffectEntry> sanitizeEffects(List<PatchOp.EffectEntry> effects, long storyDurationTicks) {
+    private static List<PatchOp.EffectEntry> sanitizeEffects(
+            List<PatchOp.EffectEntry> effects,
+            long storyDurationTicks,
+            String path,
+            Check check
+    ) {
         if (effects == null || effects.isEmpty()) {
             return List.of();
         }
         if (effects.size() > DirectorDesign.MAX_EFFECTS_PER_BEAT) {
-            throw invalid(
+            return check.rejectValue(
                     DirectorDesign.INV_05,
+                    path,
+                    String.valueOf(effects.size()),
+                    "<=" + DirectorDesign.MAX_EFFECTS_PER_BEAT,
                     "Story beat has too many effects: " + effects.size() + " (max " + DirectorDesign.MAX_EFFECTS_PER_BEAT + ")"
             );
         }
 
         List<PatchOp.EffectEntry> sanitized = new ArrayList<>(effects.size());
-        for (PatchOp.EffectEntry effect : effects) {
+        for (int i = 0; i < effects.size(); i++) {
+            PatchOp.EffectEntry effect = effects.get(i);
+            String entryPath = path + "[" + i + "]";
             if (effect == null) {
-                throw invalid(DirectorDesign.INV_02, "Effect entry cannot be null.");
+                return check.rejectValue(DirectorDesign.INV_02, entryPath, null, null, "Effect entry cannot be null.");
             }
             if (isBlank(effect.type()) || !"domain_modifier".equalsIgnoreCase(effect.type())) {
-                throw invalid(DirectorDesign.INV_02, "Unsupported effect type: " + effect.type());
+                return check.rejectValue(
+                        DirectorDesign.INV_02,
+                        entryPath + ".type",
+                        effect.type(),
+                        "domain_modifier",
+                        "Unsupported effect type: " + effect.type()
+                );
             }
             String domain = effect.domain() == null ? "" : effect.domain().trim().toLowerCase(Locale.ROOT);
             if (!DirectorDesign.VALID_DOMAINS.contains(domain)) {
-                throw invalid(DirectorDesign.INV_02, "Unknown effect domain: " + effect.domain());
+                return check.rejectValue(
+                        DirectorDesign.INV_02,
+                        entryPath + ".domain",
+                        effect.domain(),
+                        String.join(",", DirectorDesign.VALID_DOMAINS),
+                        "Unknown effect domain: " + effect.domain()
+                );
             }
             if (effect.modifier() < DirectorDesign.MODIFIER_MIN || effect.modifier() > DirectorDesign.MODIFIER_MAX) {
-                throw invalid(
+                return check.rejectValue(
                         DirectorDesign.INV_03,
+                        entryPath + ".modifier",
+                        String.valueOf(effect.modifier()),
+                        range(DirectorDesign.MODIFIER_MIN, DirectorDesign.MODIFIER_MAX),
                         "Effect modifier out of range for domain '" + domain + "': " + effect.modifier()
                 );
             }
@@ -534,32 +670,52 @@ public final class DirectorModelValidator {
         return false;
     }
 
-    private static List<PatchOp.GoalBiasEntry> sanitizeBiases(List<PatchOp.GoalBiasEntry> biases) {
+    private static List<PatchOp.GoalBiasEntry> sanitizeBiases(List<PatchOp.GoalBiasEntry> biases, Check check) {
         if (biases == null || biases.isEmpty()) {
             return List.of();
         }
         if (biases.size() > DirectorDesign.MAX_BIASES_PER_DIRECTIVE) {
-            throw invalid(
+            return check.rejectValue(
                     DirectorDesign.INV_12,
+                    "biases",
+                    String.valueOf(biases.size()),
+                    "<=" + DirectorDesign.MAX_BIASES_PER_DIRECTIVE,
                     "Directive has too many biases: " + biases.size() + " (max " + DirectorDesign.MAX_BIASES_PER_DIRECTIVE + ")"
             );
         }
 
         List<PatchOp.GoalBiasEntry> sanitized = new ArrayList<>(biases.size());
-        for (PatchOp.GoalBiasEntry bias : biases) {
+        for (int i = 0; i < biases.size(); i++) {
+            PatchOp.GoalBiasEntry bias = biases.get(i);
+            String entryPath = "biases[" + i + "]";
             if (bias == null) {
-                throw invalid(DirectorDesign.INV_12, "Bias entry cannot be null.");
+                return check.rejectValue(DirectorDesign.INV_12, entryPath, null, null, "Bias entry cannot be null.");
             }
             if (isBlank(bias.type()) || !"goal_bias".equalsIgnoreCase(bias.type())) {
-                throw invalid(DirectorDesign.INV_12, "Unsupported bias type: " + bias.type());
+                return check.rejectValue(
+                        DirectorDesign.INV_12,
+                        entryPath + ".type",
+                        bias.type(),
+                        "goal_bias",
+                        "Unsupported bias type: " + bias.type()
+                );
             }
             String goalCategory = bias.goalCategory() == null ? "" : bias.goalCategory().trim().toLowerCase(Locale.ROOT);
             if (!DirectorDesign.VALID_GOAL_CATEGORIES.contains(goalCategory)) {
-                throw invalid(DirectorDesign.INV_12, "Unknown goal category in bias: " + bias.goalCategory());
+                return check.rejectValue(
+                        DirectorDesign.INV_12,
+                        entryPath + ".goalCategory",
+                        bias.goalCategory(),
+                        String.join(",", DirectorDesign.VALID_GOAL_CATEGORIES),
+                        "Unknown goal category in bias: " + bias.goalCategory()
+                );
             }
             if (bias.weight() < DirectorDesign.WEIGHT_MIN || bias.weight() > DirectorDesign.WEIGHT_MAX) {
-                throw invalid(
+                return check.rejectValue(
                         DirectorDesign.INV_12,
+                        entryPath + ".weight",
+                        String.valueOf(bias.weight()),
+                        range(DirectorDesign.WEIGHT_MIN, DirectorDesign.WEIGHT_MAX),
                         "Bias weight out of range for goal category '" + goalCategory + "': " + bias.weight()
                 );
             }
@@ -567,8 +723,11 @@ public final class DirectorModelValidator {
             if (duration != null) {
                 long clamped = clamp(duration, DirectorDesign.MIN_DIRECTIVE_DURATION, DirectorDesign.MAX_DIRECTIVE_DURATION);
                 if (clamped != duration) {
-                    throw invalid(
+                    return check.rejectValue(
                             DirectorDesign.INV_12,
+                            entryPath + ".durationTicks",
+                            String.valueOf(duration),
+                            range(DirectorDesign.MIN_DIRECTIVE_DURATION, DirectorDesign.MAX_DIRECTIVE_DURATION),
                             "Bias duration out of range for goal category '" + goalCategory + "': " + duration
                     );
                 }
@@ -579,9 +738,10 @@ public final class DirectorModelValidator {
         return List.copyOf(sanitized);
     }
 
-    private static void validateNoContradictoryModifiers(List<PatchOp.EffectEntry> effects) {
+    private static boolean validateNoContradictoryModifiers(List<PatchOp.EffectEntry> effects, String path, Check check) {
         Map<String, Double> firstByDomain = new HashMap<>();
-        for (PatchOp.EffectEntry effect : effects) {
+        for (int i = 0; i < effects.size(); i++) {
+            PatchOp.EffectEntry effect = effects.get(i);
             if (effect.modifier() == 0.0d) {
                 continue;
             }
@@ -589,38 +749,51 @@ public final class DirectorModelValidator {
             if (previous != null && Math.signum(previous) != Math.signum(effect.modifier())) {
                 String previousText = String.format(Locale.ROOT, "%+.3f", previous);
                 String nextText = String.format(Locale.ROOT, "%+.3f", effect.modifier());
-                throw invalid(
+                return check.reject(
                         DirectorDesign.INV_20,
+                        path + "[" + i + "].modifier",
+                        nextText,
+                        previous > 0 ? ">=0" : "<=0",
                         "Contradictory modifiers on '" + effect.domain() + "': " + previousText + " and " + nextText + " in same checkpoint"
                 );
             }
             firstByDomain.putIfAbsent(effect.domain(), effect.modifier());
         }
+        return true;
     }
 
-    private static void validateDomainStackCap(List<PatchOp.EffectEntry> effects) {
+    private static boolean validateDomainStackCap(List<PatchOp.EffectEntry> effects, String path, Check check) {
         Map<String, Double> sumByDomain = new HashMap<>();
-        for (PatchOp.EffectEntry effect : effects) {
+        for (int i = 0; i < effects.size(); i++) {
+            PatchOp.EffectEntry effect = effects.get(i);
             double sum = sumByDomain.getOrDefault(effect.domain(), 0.0d) + effect.modifier();
             sumByDomain.put(effect.domain(), sum);
             if (Math.abs(sum) > DirectorDesign.MAX_DOMAIN_STACK) {
-                throw invalid(
+                return check.reject(
                         DirectorDesign.INV_10,
+                        path + "[" + i + "].modifier",
+                        String.valueOf(sum),
+                        range(-DirectorDesign.MAX_DOMAIN_STACK, DirectorDesign.MAX_DOMAIN_STACK),
                         "Domain stack exceeds cap on '" + effect.domain() + "': " + sum
                                 + " (max abs " + DirectorDesign.MAX_DOMAIN_STACK + ")"
                 );
             }
         }
+        return true;
     }
 
-    private static void validateInfluenceBudget(List<PatchOp> repaired, DirectorRuntimeFacts facts) {
+    private static boolean validateInfluenceBudget(List<PatchOp> repaired, DirectorRuntimeFacts facts, Check check) {
         double budgetUsed = DirectorInfluenceBudget.calculateBudgetUsed(repaired);
         if (budgetUsed > facts.remainingInfluenceBudget()) {
-            throw invalid(
+            return check.reject(
                     DirectorDesign.INV_15,
+                    null,
+                    String.valueOf(budgetUsed),
+                    "<=" + facts.remainingInfluenceBudget(),
                     "Budget cost " + budgetUsed + " exceeds limit " + facts.remainingInfluenceBudget()
             );
         }
+        return true;
     }
 
     private static PatchOp.CausalChainEntry validateAndSanitizeCausalChain(
@@ -628,7 +801,8 @@ public final class DirectorModelValidator {
             long repairedDuration,
             String explicitSeverity,
             List<PatchOp.EffectEntry> effects,
-            DirectorRuntimeFacts facts
+            DirectorRuntimeFacts facts,
+            Check check
     ) {
         PatchOp.CausalChainEntry causalChain = storyBeat.causalChain();
         if (causalChain == null) {
@@ -636,45 +810,81 @@ public final class DirectorModelValidator {
         }
 
         if (isBlank(causalChain.type()) || !"causal_chain".equalsIgnoreCase(causalChain.type())) {
-            throw invalid(DirectorDesign.INV_18, "Unsupported causal chain type: " + causalChain.type());
+            return check.rejectValue(
+                    DirectorDesign.INV_18,
+                    "causalChain.type",
+                    causalChain.type(),
+                    "causal_chain",
+                    "Unsupported causal chain type: " + causalChain.type()
+            );
         }
 
         PatchOp.CausalCondition condition = causalChain.condition();
         if (condition == null) {
-            throw invalid(DirectorDesign.INV_18, "Causal chain condition is required.");
+            return check.rejectValue(DirectorDesign.INV_18, "causalChain.condition", null, null, "Causal chain condition is required.");
         }
 
         String metric = condition.metric() == null ? "" : condition.metric().trim().toLowerCase(Locale.ROOT);
         if (!DirectorDesign.CAUSAL_ALLOWED_METRICS.contains(metric)) {
-            throw invalid(DirectorDesign.INV_18, "Unknown condition metric '" + condition.metric() + "'.");
+            return check.rejectValue(
+                    DirectorDesign.INV_18,
+                    "causalChain.condition.metric",
+                    condition.metric(),
+                    String.join(",", DirectorDesign.CAUSAL_ALLOWED_METRICS),
+                    "Unknown condition metric '" + condition.metric() + "'."
+            );
         }
 
         String operator = condition.operator() == null ? "" : condition.operator().trim().toLowerCase(Locale.ROOT);
         if (!DirectorDesign.CAUSAL_ALLOWED_OPERATORS.contains(operator)) {
-            throw invalid(DirectorDesign.INV_18, "Unknown condition operator '" + condition.operator() + "'.");
+            return check.rejectValue(
+                    DirectorDesign.INV_18,
+                    "causalChain.condition.operator",
+                    condition.operator(),
+                    String.join(",", DirectorDesign.CAUSAL_ALLOWED_OPERATORS),
+                    "Unknown condition operator '" + condition.operator() + "'."
+            );
         }
 
         double threshold = condition.threshold();
         if (Double.isNaN(threshold) || Double.isInfinite(threshold)) {
-            throw invalid(DirectorDesign.INV_18, "Condition threshold must be finite.");
+            return check.rejectValue(
+                    DirectorDesign.INV_18,
+                    "causalChain.condition.threshold",
+                    String.valueOf(threshold),
+                    "finite",
+                    "Condition threshold must be finite."
+            );
         }
 
         if ("population".equals(metric) && "eq".equals(operator) && Math.rint(threshold) != threshold) {
-            throw invalid(DirectorDesign.INV_18, "Population eq threshold must be an integer value.");
+            return check.rejectValue(
+                    DirectorDesign.INV_18,
+                    "causalChain.condition.threshold",
+                    String.valueOf(threshold),
+                    "integer",
+                    "Population eq threshold must be an integer value."
+            );
         }
 
         if (causalChain.windowTicks() < DirectorDesign.MIN_CAUSAL_WINDOW_TICKS
                 || causalChain.windowTicks() > DirectorDesign.MAX_CAUSAL_WINDOW_TICKS) {
-            throw invalid(
+            return check.rejectValue(
                     DirectorDesign.INV_19,
+                    "causalChain.windowTicks",
+                    String.valueOf(causalChain.windowTicks()),
+                    range(DirectorDesign.MIN_CAUSAL_WINDOW_TICKS, DirectorDesign.MAX_CAUSAL_WINDOW_TICKS),
                     "Chain window " + causalChain.windowTicks() + " out of bounds ["
                             + DirectorDesign.MIN_CAUSAL_WINDOW_TICKS + ", " + DirectorDesign.MAX_CAUSAL_WINDOW_TICKS + "]"
             );
         }
 
         if (causalChain.maxTriggers() != DirectorDesign.CAUSAL_MAX_TRIGGERS) {
-            throw invalid(
+            return check.rejectValue(
                     DirectorDesign.INV_19,
+                    "causalChain.maxTriggers",
+                    String.valueOf(causalChain.maxTriggers()),
+                    String.valueOf(DirectorDesign.CAUSAL_MAX_TRIGGERS),
                     "Causal chain maxTriggers must be " + DirectorDesign.CAUSAL_MAX_TRIGGERS
                             + " in S7-A, got " + causalChain.maxTriggers()
             );
@@ -682,17 +892,32 @@ public final class DirectorModelValidator {
 
         PatchOp.CausalFollowUpBeat followUpBeat = causalChain.followUpBeat();
         if (followUpBeat == null) {
-            throw invalid(DirectorDesign.INV_16, "Causal chain followUpBeat is required.");
+            return check.rejectValue(DirectorDesign.INV_16, "causalChain.followUpBeat", null, null, "Causal chain followUpBeat is required.");
         }
         if (isBlank(followUpBeat.beatId()) || isBlank(followUpBeat.text())) {
-            throw invalid(DirectorDesign.INV_16, "Causal follow-up beatId and text are required.");
+            return check.rejectValue(
+                    DirectorDesign.INV_16,
+                    isBlank(followUpBeat.beatId()) ? "causalChain.followUpBeat.beatId" : "causalChain.followUpBeat.text",
+                    null,
+                    null,
+                    "Causal follow-up beatId and text are required."
+            );
         }
         if (storyBeat.beatId().equals(followUpBeat.beatId())) {
-            throw invalid(DirectorDesign.INV_16, "Causal chain references parent beat, creating loop.");
+            return check.rejectValue(
+                    DirectorDesign.INV_16,
+                    "causalChain.followUpBeat.beatId",
+                    followUpBeat.beatId(),
+                    "!=" + storyBeat.beatId(),
+                    "Causal chain references parent beat, creating loop."
+            );
         }
         if (followUpBeat.text().length() > DirectorDesign.MAX_STORY_TEXT_LENGTH) {
-            throw invalid(
+            return check.rejectValue(
                     DirectorDesign.INV_16,
+                    "causalChain.followUpBeat.text",
+                    String.valueOf(followUpBeat.text().length()),
+                    "<=" + DirectorDesign.MAX_STORY_TEXT_LENGTH,
                     "Causal follow-up text too long: " + followUpBeat.text().length()
                             + " (max " + DirectorDesign.MAX_STORY_TEXT_LENGTH + ")"
             );
@@ -703,10 +928,14 @@ public final class DirectorModelValidator {
                 DirectorDesign.MIN_STORY_DURATION,
                 DirectorDesign.MAX_STORY_DURATION
         );
-        List<PatchOp.EffectEntry> followUpEffects = sanitizeEffects(followUpBeat.effects(), followUpDuration);
+        String followUpEffectsPath = "causalChain.followUpBeat.effects";
+        List<PatchOp.EffectEntry> followUpEffects = sanitizeEffects(followUpBeat.effects(), followUpDuration, followUpEffectsPath, check);
+        if (followUpEffects == null
+                || !validateNoContradictoryModifiers(followUpEffects, followUpEffectsPath, check)
+                || !validateDomainStackCap(followUpEffects, followUpEffectsPath, check)) {
+            return null;
+        }
         String followUpSeverity = inferSeverity(followUpEffects);
-        validateNoContradictoryModifiers(followUpEffects);
-        validateDomainStackCap(followUpEffects);
 
         PatchOp.CausalChainEntry repairedChain = new PatchOp.CausalChainEntry(
                 "causal_chain",
@@ -734,8 +963,11 @@ public final class DirectorModelValidator {
                 )
         ));
         if (storyWithChainBudget > facts.remainingInfluenceBudget()) {
-            throw invalid(
+            return check.rejectValue(
                     DirectorDesign.INV_17,
+                    "causalChain",
+                    String.valueOf(storyWithChainBudget),
+                    "<=" + facts.remainingInfluenceBudget(),
                     "Chain total cost " + storyWithChainBudget + " exceeds limit " + facts.remainingInfluenceBudget()
             );
         }
@@ -746,4 +978,54 @@ public final class DirectorModelValidator {
     private static long clamp(long value, long min, long max) {
         return Math.max(min, Math.min(max, value));
     }
+
+    private static String range(long min, long max) {
+        return "[" + min + "," + max + "]";
+    }
+
+    private static String range(double min, double max) {
+        return "[" + min + "," + max + "]";
+    }
+
+    /**
+     * Per-call diagnostic sink. The first rejection wins and carries the op index set by {@link #at(int)}; helpers
+     * report through it and return {@code false} or {@code null} instead of throwing.
+     */
+    private static final class Check {
+        private int opIndex = DirectorDiagnostic.PATCH_LEVEL;
+        private DirectorDiagnostic rejection;
+
+        void at(int opIndex) {
+            this.opIndex = opIndex;
+        }
+
+        boolean failed() {
+            return rejection != null;
+        }
+
+        DirectorDiagnostic diagnostic(String invariantCode, String fieldPath, String observed, String allowed, String message) {
+            return new DirectorDiagnostic(invariantCode, opIndex, fieldPath, observed, allowed, message);
+        }
+
+        boolean reject(String invariantCode, String fieldPath, String observed, String allowed, String message) {
+            if (rejection == null) {
+                rejection = diagnostic(invariantCode, fieldPath, observed, allowed, message);
+            }
+            return false;
+        }
+
+        <T> T rejectValue(String invariantCode, String fieldPath, String observed, String allowed, String message) {
+            reject(invariantCode, fieldPath, observed, allowed, message);
+            return null;
+        }
+
+        DirectorValidationVerdict fail(String invariantCode, String fieldPath, String observed, String allowed, String message) {
+            reject(invariantCode, fieldPath, observed, allowed, message);
+            return verdict();
+        }
+
+        DirectorValidationVerdict verdict() {
+            return DirectorValidationVerdict.rejected(rejection);
+        }
+    }
 }
@@ -1,12 +1,21 @@
 package hu.zoltanterek.worldsim.refinery.planner.director;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Component;
 
+import hu.zoltanterek.worldsim.refinery.planner.llm.CompletionCache;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorSolveCache;
 import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorSolverObservability;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.RefineryArtifactStore;
 
 @Component
 public class DirectorPipelineTelemetry {
@@ -24,40 +33,116 @@ public class DirectorPipelineTelemetry {
     private final AtomicLong solverSuccessCount = new AtomicLong();
     private final AtomicLong solverNonSuccessCount = new AtomicLong();
     private final AtomicLong solverLoadFailureCount = new AtomicLong();
+    private final AtomicLong solverTimeoutCount = new AtomicLong();
+    private final AtomicLong solverSidecarDroppedCount = new AtomicLong();
     private final AtomicLong solverExtractionFailureCount = new AtomicLong();
     private final AtomicLong solverValidatedStoryCount = new AtomicLong();
     private final AtomicLong solverValidatedDirectiveCount = new AtomicLong();
     private final AtomicLong solverUnsupportedFeatureCount = new AtomicLong();
+    private final AtomicLong artifactStoreReloadCount = new AtomicLong();
+
+    private final SlidingWindowCounter recentDirectorRequests;
+    private final SlidingWindowCounter recentValidatedOutputs;
+    private final SlidingWindowCounter recentFallbacks;
+    private final SlidingWindowCounter recentLlmCompletions;
+    private final SlidingWindowCounter recentRejectedCommands;
+    private final SlidingWindowCounter recentSolverSuccesses;
+    private final SlidingWindowCounter recentSolverNonSuccesses;
+    private final SlidingWindowCounter recentSolverTimeouts;
+    private final SlidingWindowCounter recentSolverLoadFailures;
+
+    private final Map<String, LatencyHistogram> stageLatencies = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Boolean> muted = ThreadLocal.withInitial(() -> false);
 
     private volatile Instant lastUpdatedUtc = Instant.EPOCH;
     private volatile SolverObservabilitySnapshot latestSolverObservability = SolverObservabilitySnapshot.empty();
+    private volatile ArtifactStoreSnapshot artifactStore = ArtifactStoreSnapshot.empty();
+    private volatile SolverCacheSnapshot solverCache = SolverCacheSnapshot.empty();
+    private volatile LlmCompletionCacheSnapshot llmCompletionCache = LlmCompletionCacheSnapshot.empty();
+    private volatile IdempotencyCacheSnapshot idempotencyCache = IdempotencyCacheSnapshot.empty();
+
+    public DirectorPipelineTelemetry() {
+        this(System::nanoTime);
+    }
+
+    DirectorPipelineTelemetry(LongSupplier nanoClock) {
+        this.recentDirectorRequests = new SlidingWindowCounter(nanoClock);
+        this.recentValidatedOutputs = new SlidingWindowCounter(nanoClock);
+        this.recentFallbacks = new SlidingWindowCounter(nanoClock);
+        this.recentLlmCompletions = new SlidingWindowCounter(nanoClock);
+        this.recentRejectedCommands = new SlidingWindowCounter(nanoClock);
+        this.recentSolverSuccesses = new SlidingWindowCounter(nanoClock);
+        this.recentSolverNonSuccesses = new SlidingWindowCounter(nanoClock);
+        this.recentSolverTimeouts = new SlidingWindowCounter(nanoClock);
+        this.recentSolverLoadFailures = new SlidingWindowCounter(nanoClock);
+    }
+
+    /**
+     * Runs {@code work} with request-level recording switched off on the calling thread, so synthetic traffic (the
+     * startup warm-up) never shows up in the counters, windows or stage latencies. Cache and store snapshots still go
+     * through because they describe state, not traffic.
+     */
+    public <T> T muted(Supplier<T> work) {
+        boolean previous = muted.get();
+        muted.set(true);
+        try {
+            return work.get();
+        } finally {
+            muted.set(previous);
+        }
+    }
+
+    public boolean isMuted() {
+        return muted.get();
+    }
 
     public void recordDirectorRequest() {
+        if (muted.get()) {
+            return;
+        }
         directorRequestsCount.incrementAndGet();
+        recentDirectorRequests.increment();
         touch();
     }
 
     public void recordValidatedOutput(int retriesUsed) {
+        if (muted.get()) {
+            return;
+        }
         validatedOutputsCount.incrementAndGet();
+        recentValidatedOutputs.increment();
         recordValidationRetryRounds(retriesUsed);
     }
 
     public void recordFallback(int retriesUsed) {
+        if (muted.get()) {
+            return;
+        }
         fallbackCount.incrementAndGet();
+        recentFallbacks.increment();
         recordValidationRetryRounds(retriesUsed);
     }
 
     public void recordRejectedCommands(long rejectedCount) {
+        if (muted.get()) {
+            return;
+        }
         if (rejectedCount <= 0) {
             return;
         }
         rejectedCommandCount.addAndGet(rejectedCount);
+        recentRejectedCommands.add(rejectedCount);
         touch();
     }
 
     public void recordLlmProposalObservability(int completionCount, boolean sanitized) {
+        if (muted.get()) {
+            return;
+        }
         if (completionCount > 0) {
             llmCompletionCountTotal.addAndGet(completionCount);
+            recentLlmCompletions.add(completionCount);
             retryAttemptsTotal.addAndGet(Math.max(0, completionCount - 1));
         }
         if (sanitized) {
@@ -67,6 +152,9 @@ public class DirectorPipelineTelemetry {
     }
 
     public void recordCausalChainOps(int causalChainOps) {
+        if (muted.get()) {
+            return;
+        }
         if (causalChainOps > 0) {
             causalChainOpCountTotal.addAndGet(causalChainOps);
         }
@@ -74,15 +162,21 @@ public class DirectorPipelineTelemetry {
     }
 
     public void recordSolverObservability(DirectorSolverObservability.Report report) {
-        if (report == null) {
+        if (report == null || muted.get()) {
             return;
         }
         if ("success".equals(report.status())) {
             solverSuccessCount.incrementAndGet();
+            recentSolverSuccesses.increment();
         } else if ("non_success".equals(report.status())) {
             solverNonSuccessCount.incrementAndGet();
+            recentSolverNonSuccesses.increment();
         } else if ("load_failure".equals(report.status())) {
             solverLoadFailureCount.incrementAndGet();
+            recentSolverLoadFailures.increment();
+        } else if ("timeout".equals(report.status())) {
+            solverTimeoutCount.incrementAndGet();
+            recentSolverTimeouts.increment();
         }
         if ("failed".equals(report.extraction())) {
             solverExtractionFailureCount.incrementAndGet();
@@ -98,6 +192,78 @@ public class DirectorPipelineTelemetry {
         touch();
     }
 
+    public void recordSolverSidecarDropped() {
+        if (muted.get()) {
+            return;
+        }
+        solverSidecarDroppedCount.incrementAndGet();
+        touch();
+    }
+
+    public void recordArtifactStoreLoad(RefineryArtifactStore.LoadStats stats, boolean reload) {
+        if (stats == null) {
+            return;
+        }
+        long reloads = reload ? artifactStoreReloadCount.incrementAndGet() : artifactStoreReloadCount.get();
+        artifactStore = new ArtifactStoreSnapshot(
+                stats.artifactCount(),
+                stats.totalBytes(),
+                stats.loadMillis(),
+                reloads,
+                stats.loadedAtUtc()
+        );
+        touch();
+    }
+
+    public void recordSolverCache(DirectorSolveCache.Stats stats) {
+        if (stats == null) {
+            return;
+        }
+        solverCache = new SolverCacheSnapshot(
+                stats.enabled(),
+                stats.size(),
+                stats.maxEntries(),
+                stats.hits(),
+                stats.misses(),
+                stats.evictions()
+        );
+        touch();
+    }
+
+    public void recordLlmCompletionCache(CompletionCache.Stats stats) {
+        if (stats == null) {
+            return;
+        }
+        llmCompletionCache = new LlmCompletionCacheSnapshot(
+                stats.enabled(),
+                stats.size(),
+                stats.maxEntries(),
+                stats.diskEntries(),
+                stats.hits(),
+                stats.misses(),
+                stats.evictions(),
+                stats.bytesServed(),
+                stats.bytesStored()
+        );
+        touch();
+    }
+
+    public void recordIdempotencyCache(IdempotencyCacheSnapshot stats) {
+        if (stats == null) {
+            return;
+        }
+        idempotencyCache = stats;
+        touch();
+    }
+
+    public void recordStageLatency(String stage, long nanos) {
+        if (muted.get()) {
+            return;
+        }
+        stageLatencies.computeIfAbsent(stage, ignored -> new LatencyHistogram()).recordNanos(nanos);
+        touch();
+    }
+
     public Snapshot snapshot() {
         long requests = directorRequestsCount.get();
         long llmRetryAttempts = retryAttemptsTotal.get();
@@ -106,6 +272,8 @@ public class DirectorPipelineTelemetry {
         double averageRetryCount = requests == 0 ? 0.0 : ((double) llmRetryAttempts) / requests;
         double averageValidationRetryRounds = requests == 0 ? 0.0 : ((double) validationRetryRounds) / requests;
         double averageCompletionCount = requests == 0 ? 0.0 : ((double) completionCount) / requests;
+        Map<String, LatencyHistogram.Snapshot> latencies = new TreeMap<>();
+        stageLatencies.forEach((stage, histogram) -> latencies.put(stage, histogram.snapshot()));
         return new Snapshot(
                 directorRequestsCount.get(),
                 validatedOutputsCount.get(),
@@ -122,16 +290,43 @@ public class DirectorPipelineTelemetry {
                 solverSuccessCount.get(),
                 solverNonSuccessCount.get(),
                 solverLoadFailureCount.get(),
+                solverTimeoutCount.get(),
                 solverExtractionFailureCount.get(),
                 solverValidatedStoryCount.get(),
                 solverValidatedDirectiveCount.get(),
                 solverUnsupportedFeatureCount.get(),
+                solverSidecarDroppedCount.get(),
+                new RecentWindowsSnapshot(recentWindow(1), recentWindow(5), recentWindow(15)),
                 latestSolverObservability,
+                artifactStore,
+                solverCache,
+                llmCompletionCache,
+                idempotencyCache,
+                Collections.unmodifiableMap(latencies),
                 lastUpdatedUtc,
                 PIPELINE_VERSION
         );
     }
 
+    private RecentWindowSnapshot recentWindow(int minutes) {
+        long validated = recentValidatedOutputs.sum(minutes);
+        long fallbacks = recentFallbacks.sum(minutes);
+        long outcomes = validated + fallbacks;
+        return new RecentWindowSnapshot(
+                recentDirectorRequests.sum(minutes),
+                validated,
+                fallbacks,
+                outcomes == 0 ? 0.0 : ((double) validated) / outcomes,
+                outcomes == 0 ? 0.0 : ((double) fallbacks) / outcomes,
+                recentLlmCompletions.sum(minutes),
+                recentRejectedCommands.sum(minutes),
+                recentSolverSuccesses.sum(minutes),
+                recentSolverNonSuccesses.sum(minutes),
+                recentSolverTimeouts.sum(minutes),
+                recentSolverLoadFailures.sum(minutes)
+        );
+    }
+
     private void recordValidationRetryRounds(int retriesUsed) {
         if (retriesUsed > 0) {
             validationRetryRoundsTotal.addAndGet(retriesUsed);
@@ -159,16 +354,52 @@ public class DirectorPipelineTelemetry {
             long solverSuccessCount,
             long solverNonSuccessCount,
             long solverLoadFailureCount,
+            long solverTimeoutCount,
             long solverExtractionFailureCount,
             long solverValidatedStoryCount,
             long solverValidatedDirectiveCount,
             long solverUnsupportedFeatureCount,
+            long solverSidecarDroppedCount,
+            RecentWindowsSnapshot recentWindows,
             SolverObservabilitySnapshot latestSolverObservability,
+            ArtifactStoreSnapshot artifactStore,
+            SolverCacheSnapshot solverCache,
+            LlmCompletionCacheSnapshot llmCompletionCache,
+            IdempotencyCacheSnapshot idempotencyCache,
+            Map<String, LatencyHistogram.Snapshot> stageLatencies,
             Instant lastUpdatedUtc,
             String pipelineVersion
     ) {
     }
 
+    /**
+     * Counts over the trailing 1, 5 and 15 minutes, so a recent spike stays visible next to the lifetime totals.
+     */
+    public record RecentWindowsSnapshot(
+            RecentWindowSnapshot last1m,
+            RecentWindowSnapshot last5m,
+            RecentWindowSnapshot last15m
+    ) {
+    }
+
+    /**
+     * Rates are shares of the window's validated-or-fallback outcomes.
+     */
+    public record RecentWindowSnapshot(
+            long directorRequests,
+            long validatedOutputs,
+            long fallbacks,
+            double validatedRate,
+            double fallbackRate,
+            long llmCompletions,
+            long rejectedCommands,
+            long solverSuccesses,
+            long solverNonSuccesses,
+            long solverTimeouts,
+            long solverLoadFailures
+    ) {
+    }
+
     public record SolverObservabilitySnapshot(
             String path,
             String status,
@@ -208,4 +439,59 @@ public class DirectorPipelineTelemetry {
             );
         }
     }
+
+    public record ArtifactStoreSnapshot(
+            int artifactCount,
+            long totalBytes,
+            double loadMillis,
+            long reloadCount,
+            Instant loadedAtUtc
+    ) {
+        static ArtifactStoreSnapshot empty() {
+            return new ArtifactStoreSnapshot(0, 0L, 0.0, 0L, Instant.EPOCH);
+        }
+    }
+
+    public record SolverCacheSnapshot(
+            boolean enabled,
+            int size,
+            int maxEntries,
+            long hits,
+            long misses,
+            long evictions
+    ) {
+        static SolverCacheSnapshot empty() {
+            return new SolverCacheSnapshot(false, 0, 0, 0L, 0L, 0L);
+        }
+    }
+
+    public record LlmCompletionCacheSnapshot(
+            boolean enabled,
+            int size,
+            int maxEntries,
+            int diskEntries,
+            long hits,
+            long misses,
+            long evictions,
+            long bytesServed,
+            long bytesStored
+    ) {
+        static LlmCompletionCacheSnapshot empty() {
+            return new LlmCompletionCacheSnapshot(false, 0, 0, 0, 0L, 0L, 0L, 0L, 0L);
+        }
+    }
+
+    public record IdempotencyCacheSnapshot(
+            boolean enabled,
+            int size,
+            int maxEntries,
+            long misses,
+            long replays,
+            long coalesced,
+            long evictions
+    ) {
+        static IdempotencyCacheSnapshot empty() {
+            return new IdempotencyCacheSnapshot(false, 0, 0, 0L, 0L, 0L, 0L);
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package hu.zoltanterek.worldsim.refinery.planner.director;
+
+/**
+ * Extra prompt guidance a retry round should carry for a {@link DirectorDiagnostic}.
+ */
+public enum DirectorRetryHint {
+    NONE,
+    BUDGET;
+
+    public static DirectorRetryHint forInvariant(String invariantCode) {
+        return switch (invariantCode) {
+            case DirectorDesign.INV_15, DirectorDesign.INV_17 -> BUDGET;
+            default -> NONE;
+        };
+    }
+}
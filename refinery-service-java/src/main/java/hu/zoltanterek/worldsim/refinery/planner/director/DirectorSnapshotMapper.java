@@ -13,9 +13,12 @@ public final class DirectorSnapshotMapper {
     }
 
     public DirectorRuntimeFacts map(PatchRequest request, double configuredBudget) {
-        JsonNode director = request.snapshot().path("director");
-        JsonNode legacyWorld = request.snapshot().path("world");
-        JsonNode constraints = request.constraints();
+        return map(request.snapshot(), request.tick(), request.constraints(), configuredBudget);
+    }
+
+    public DirectorRuntimeFacts map(JsonNode snapshot, long tick, JsonNode constraints, double configuredBudget) {
+        JsonNode director = snapshot.path("director");
+        JsonNode legacyWorld = snapshot.path("world");
 
         int colonyCount = Math.max(1, readColonyCount(director, legacyWorld));
         long cooldown = Math.max(
@@ -45,7 +48,7 @@ public final class DirectorSnapshotMapper {
         ));
 
         return new DirectorRuntimeFacts(
-                request.tick(),
+                tick,
                 colonyCount,
                 cooldown,
                 remainingInfluenceBudget,
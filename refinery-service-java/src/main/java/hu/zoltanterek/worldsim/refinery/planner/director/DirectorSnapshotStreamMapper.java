@@ -0,0 +1,271 @@
+package hu.zoltanterek.worldsim.refinery.planner.director;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import hu.zoltanterek.worldsim.refinery.model.Goal;
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+
+/**
+ * Token-stream variant of {@link DirectorSnapshotMapper}: only the snapshot fields the mapper reads are kept,
+ * every other subtree is skipped with {@link JsonParser#skipChildren()}. The kept fields go through the tree mapper,
+ * so both paths produce the same {@link DirectorRuntimeFacts}.
+ */
+public final class DirectorSnapshotStreamMapper {
+    private static final Map<String, Set<String>> SECTION_FIELDS = Map.of(
+            "director", Set.of("colonyCount", "beatCooldownRemainingTicks", "remainingInfluenceBudget", "activeBeats", "activeDirectives"),
+            "world", Set.of("colonyCount", "storyBeatCooldownTicks", "activeBeats", "activeDirectives")
+    );
+    private static final Map<String, Set<String>> ITEM_FIELDS = Map.of(
+            "activeBeats", Set.of("beatId", "severity", "remainingTicks"),
+            "activeDirectives", Set.of("colonyId", "directive")
+    );
+
+    private final ObjectMapper objectMapper;
+    private final DirectorSnapshotMapper treeMapper = new DirectorSnapshotMapper();
+
+    public DirectorSnapshotStreamMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads a whole {@link PatchRequest} JSON document in one pass. The header fields are read as tokens and the
+     * snapshot is projected down to what {@link DirectorSnapshotMapper} reads; the full request is bound from the same
+     * bytes only if a later stage calls {@link Checkpoint#request()}.
+     *
+     * @throws UncheckedIOException if the bytes are not well-formed JSON
+     */
+    public Checkpoint read(byte[] requestJson) {
+        try (JsonParser parser = objectMapper.createParser(requestJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("PatchRequest must be a JSON object");
+            }
+            String schemaVersion = null;
+            String requestId = null;
+            long seed = 0L;
+            long tick = 0L;
+            Goal goal = null;
+            JsonNode constraints = null;
+            ObjectNode snapshot = null;
+            // Anything the binder would coerce, default or reject is left to it.
+            boolean plain = true;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "schemaVersion" -> {
+                        plain &= value == JsonToken.VALUE_STRING;
+                        schemaVersion = parser.getValueAsString();
+                    }
+                    case "requestId" -> {
+                        plain &= value == JsonToken.VALUE_STRING;
+                        requestId = parser.getValueAsString();
+                    }
+                    case "seed" -> {
+                        plain &= value == JsonToken.VALUE_NUMBER_INT;
+                        seed = parser.getValueAsLong();
+                    }
+                    case "tick" -> {
+                        plain &= value == JsonToken.VALUE_NUMBER_INT;
+                        tick = parser.getValueAsLong();
+                    }
+                    case "goal" -> {
+                        goal = value == JsonToken.VALUE_STRING ? parseGoal(parser.getText()) : null;
+                        parser.skipChildren();
+                    }
+                    case "constraints" -> constraints = parser.readValueAsTree();
+                    case "snapshot" -> {
+                        if (value == JsonToken.START_OBJECT) {
+                            snapshot = project(parser);
+                        } else {
+                            snapshot = null;
+                            parser.skipChildren();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            plain &= goal != null && snapshot != null && schemaVersion != null && requestId != null;
+            PatchRequest projected = plain
+                    ? new PatchRequest(schemaVersion, requestId, seed, tick, goal, snapshot, constraints)
+                    : null;
+            return new Checkpoint(objectMapper, treeMapper, requestJson, goal, tick, constraints, snapshot, projected);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Maps a snapshot object; {@code parser} must be positioned on its {@code START_OBJECT} and is left on the
+     * matching {@code END_OBJECT}.
+     */
+    public DirectorRuntimeFacts map(JsonParser parser, long tick, JsonNode constraints, double configuredBudget) throws IOException {
+        return treeMapper.map(project(parser), tick, constraints, configuredBudget);
+    }
+
+    private static ObjectNode project(JsonParser parser) throws IOException {
+        ObjectNode snapshot = JsonNodeFactory.instance.objectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            Set<String> keep = SECTION_FIELDS.get(field);
+            if (keep != null && value == JsonToken.START_OBJECT) {
+                snapshot.set(field, projectSection(parser, keep));
+            } else {
+                // A non-object section reads as missing in the tree mapper, same as an absent one.
+                snapshot.remove(field);
+                parser.skipChildren();
+            }
+        }
+        return snapshot;
+    }
+
+    private static ObjectNode projectSection(JsonParser parser, Set<String> keep) throws IOException {
+        ObjectNode section = JsonNodeFactory.instance.objectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!keep.contains(field)) {
+                parser.skipChildren();
+            } else if (value == JsonToken.START_ARRAY && ITEM_FIELDS.containsKey(field)) {
+                section.set(field, projectItems(parser, ITEM_FIELDS.get(field)));
+            } else {
+                section.set(field, parser.readValueAsTree());
+            }
+        }
+        return section;
+    }
+
+    private static ArrayNode projectItems(JsonParser parser, Set<String> keep) throws IOException {
+        ArrayNode items = JsonNodeFactory.instance.arrayNode();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                // Non-object items still count; the tree mapper reads them with default values.
+                parser.skipChildren();
+                items.addObject();
+                continue;
+            }
+            ObjectNode item = items.addObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (keep.contains(field)) {
+                    item.set(field, parser.readValueAsTree());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return items;
+    }
+
+    private static Goal parseGoal(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        try {
+            return Goal.valueOf(raw);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Result of {@link #read}: the header, the projected snapshot and the original bytes, which are only bound to a
+     * full {@link PatchRequest} if a later stage calls {@link #request()}.
+     */
+    public static final class Checkpoint {
+        private final ObjectMapper objectMapper;
+        private final DirectorSnapshotMapper treeMapper;
+        private final byte[] requestJson;
+        private final Goal goal;
+        private final long tick;
+        private final JsonNode constraints;
+        private final ObjectNode snapshot;
+        private final PatchRequest projected;
+        private volatile PatchRequest request;
+
+        Checkpoint(
+                ObjectMapper objectMapper,
+                DirectorSnapshotMapper treeMapper,
+                byte[] requestJson,
+                Goal goal,
+                long tick,
+                JsonNode constraints,
+                ObjectNode snapshot,
+                PatchRequest projected
+        ) {
+            this.objectMapper = objectMapper;
+            this.treeMapper = treeMapper;
+            this.requestJson = requestJson;
+            this.goal = goal;
+            this.tick = tick;
+            this.constraints = constraints;
+            this.snapshot = snapshot;
+            this.projected = projected;
+        }
+
+        public Goal goal() {
+            return goal;
+        }
+
+        public long tick() {
+            return tick;
+        }
+
+        /**
+         * Facts for a director checkpoint, {@code null} for other goals.
+         */
+        public DirectorRuntimeFacts facts(double configuredBudget) {
+            if (goal != Goal.SEASON_DIRECTOR_CHECKPOINT) {
+                return null;
+            }
+            return treeMapper.map(
+                    snapshot == null ? JsonNodeFactory.instance.objectNode() : snapshot,
+                    tick,
+                    constraints,
+                    configuredBudget
+            );
+        }
+
+        /**
+         * The request to plan. A {@link Goal#SEASON_DIRECTOR_CHECKPOINT} whose header fields are plain JSON values
+         * comes back with only the projected snapshot, which yields the same facts as the full one. Any other request
+         * is bound in full.
+         */
+        public PatchRequest plannerRequest() {
+            return projected != null && goal == Goal.SEASON_DIRECTOR_CHECKPOINT ? projected : request();
+        }
+
+        public boolean requestBound() {
+            return request != null;
+        }
+
+        public PatchRequest request() {
+            PatchRequest current = request;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                if (request == null) {
+                    try {
+                        request = objectMapper.readValue(requestJson, PatchRequest.class);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+                return request;
+            }
+        }
+    }
+}
@@ -7,7 +7,7 @@ import hu.zoltanterek.worldsim.refinery.model.PatchOp;
 public record DirectorValidationOutcome(
         List<PatchOp> patch,
         List<String> warnings,
-        List<String> feedback,
+        List<DirectorDiagnostic> feedback,
         boolean repaired
 ) {
 }
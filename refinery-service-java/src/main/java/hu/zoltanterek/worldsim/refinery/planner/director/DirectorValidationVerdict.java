@@ -0,0 +1,21 @@
+package hu.zoltanterek.worldsim.refinery.planner.director;
+
+/**
+ * Result of {@link DirectorModelValidator#validate}: exactly one of {@code outcome} and {@code rejection} is set.
+ */
+public record DirectorValidationVerdict(
+        DirectorValidationOutcome outcome,
+        DirectorDiagnostic rejection
+) {
+    public static DirectorValidationVerdict accepted(DirectorValidationOutcome outcome) {
+        return new DirectorValidationVerdict(outcome, null);
+    }
+
+    public static DirectorValidationVerdict rejected(DirectorDiagnostic rejection) {
+        return new DirectorValidationVerdict(null, rejection);
+    }
+
+    public boolean isAccepted() {
+        return rejection == null;
+    }
+}
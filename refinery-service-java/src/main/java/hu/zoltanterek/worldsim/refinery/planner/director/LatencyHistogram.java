@@ -0,0 +1,89 @@
+package hu.zoltanterek.worldsim.refinery.planner.director;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear latency histogram in microseconds, HdrHistogram-style: every power of two is split into
+ * {@value #SUB_BUCKETS} linear sub-buckets, so reported percentiles are within about 6% of the recorded value.
+ * Recording is a few atomic increments; snapshots are not atomic across buckets but never lose a count.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0L, nanos / 1_000L);
+        buckets.incrementAndGet(bucketIndex(micros));
+        sumMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+        count.incrementAndGet();
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0L) {
+            return Snapshot.empty();
+        }
+        long max = maxMicros.get();
+        return new Snapshot(
+                total,
+                toMillis(Math.min(max, valueAtPercentile(counts, total, 50.0))),
+                toMillis(Math.min(max, valueAtPercentile(counts, total, 90.0))),
+                toMillis(Math.min(max, valueAtPercentile(counts, total, 99.0))),
+                toMillis(max),
+                toMillis(sumMicros.get()) / Math.max(1L, count.get())
+        );
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        // Values in [16 << shift, 32 << shift) share one group of SUB_BUCKETS linear buckets.
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((micros >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1L) << shift) - 1L;
+    }
+
+    private static long valueAtPercentile(long[] counts, long total, double percentile) {
+        long threshold = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return highestEquivalentValue(counts.length - 1);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    public record Snapshot(long count, double p50Ms, double p90Ms, double p99Ms, double maxMs, double meanMs) {
+        static Snapshot empty() {
+            return new Snapshot(0L, 0.0, 0.0, 0.0, 0.0, 0.0);
+        }
+    }
+}
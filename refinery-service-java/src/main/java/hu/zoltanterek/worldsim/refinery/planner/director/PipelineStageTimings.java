@@ -0,0 +1,64 @@
+package hu.zoltanterek.worldsim.refinery.planner.director;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-request stage durations. Stages may be added several times (LLM retries) and from continuation threads;
+ * {@link #recordTo} pushes every stage plus {@code total} into the shared telemetry histograms. Stages that finish
+ * afterwards (an async solver sidecar) go straight to the histograms and are not part of the explain markers.
+ */
+public final class PipelineStageTimings {
+    public static final String TOTAL = "total";
+
+    private final String pipeline;
+    private final long startedAtNanos;
+    private final Map<String, Long> nanosByStage = new LinkedHashMap<>();
+    private DirectorPipelineTelemetry recordedTo;
+
+    public PipelineStageTimings(String pipeline) {
+        this.pipeline = pipeline;
+        this.startedAtNanos = System.nanoTime();
+    }
+
+    public <T> T time(String stage, Supplier<T> work) {
+        long startedAt = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            add(stage, System.nanoTime() - startedAt);
+        }
+    }
+
+    public synchronized void add(String stage, long nanos) {
+        if (recordedTo != null) {
+            recordedTo.recordStageLatency(pipeline + "." + stage, Math.max(0L, nanos));
+            return;
+        }
+        nanosByStage.merge(stage, Math.max(0L, nanos), Long::sum);
+    }
+
+    public synchronized long nanos(String stage) {
+        return nanosByStage.getOrDefault(stage, 0L);
+    }
+
+    /**
+     * Closes the request: records {@code total} and every stage under {@code <pipeline>.<stage>}.
+     */
+    public synchronized void recordTo(DirectorPipelineTelemetry telemetry) {
+        nanosByStage.put(TOTAL, System.nanoTime() - startedAtNanos);
+        nanosByStage.forEach((stage, nanos) -> telemetry.recordStageLatency(pipeline + "." + stage, nanos));
+        recordedTo = telemetry;
+    }
+
+    public synchronized List<String> explainMarkers() {
+        List<String> markers = new ArrayList<>(nanosByStage.size());
+        nanosByStage.forEach((stage, nanos) ->
+                markers.add(String.format(Locale.ROOT, "stageTimingMs:%s=%.3f", stage, nanos / 1_000_000.0)));
+        return markers;
+    }
+}
@@ -0,0 +1,66 @@
+package hu.zoltanterek.worldsim.refinery.planner.director;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free event counter over the last 15 minutes in {@value #BUCKET_SECONDS}-second buckets. Each ring slot packs
+ * its bucket id (low {@value #EPOCH_BITS} bits) and count into one long, so a slot that wraps around is reset by the
+ * same CAS that adds to it and no increment is lost. Window sums include the current, partially filled bucket.
+ */
+public final class SlidingWindowCounter {
+    static final int BUCKET_SECONDS = 10;
+    static final int EPOCH_BITS = 24;
+    private static final long BUCKET_NANOS = BUCKET_SECONDS * 1_000_000_000L;
+    private static final int SLOTS = 15 * 60 / BUCKET_SECONDS;
+    private static final long EPOCH_MASK = (1L << EPOCH_BITS) - 1;
+    private static final int COUNT_SHIFT = EPOCH_BITS;
+
+    private final AtomicLongArray slots = new AtomicLongArray(SLOTS);
+    private final LongSupplier nanoClock;
+
+    public SlidingWindowCounter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public void add(long delta) {
+        if (delta <= 0) {
+            return;
+        }
+        long epoch = currentEpoch();
+        int slot = (int) Math.floorMod(epoch, (long) SLOTS);
+        long stamp = epoch & EPOCH_MASK;
+        while (true) {
+            long current = slots.get(slot);
+            long count = (current & EPOCH_MASK) == stamp ? current >>> COUNT_SHIFT : 0L;
+            if (slots.compareAndSet(slot, current, ((count + delta) << COUNT_SHIFT) | stamp)) {
+                return;
+            }
+        }
+    }
+
+    public void increment() {
+        add(1L);
+    }
+
+    /**
+     * Sum over the last {@code minutes} (1 to 15).
+     */
+    public long sum(int minutes) {
+        int buckets = Math.min(SLOTS, Math.max(1, minutes * 60 / BUCKET_SECONDS));
+        long epoch = currentEpoch();
+        long total = 0L;
+        for (int i = 0; i < buckets; i++) {
+            long bucket = epoch - i;
+            long current = slots.get((int) Math.floorMod(bucket, (long) SLOTS));
+            if ((current & EPOCH_MASK) == (bucket & EPOCH_MASK)) {
+                total += current >>> COUNT_SHIFT;
+            }
+        }
+        return total;
+    }
+
+    private long currentEpoch() {
+        return Math.floorDiv(nanoClock.getAsLong(), BUCKET_NANOS);
+    }
+}
@@ -0,0 +1,229 @@
+package hu.zoltanterek.worldsim.refinery.planner.llm;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.util.ContentDigests;
+
+/**
+ * Completion cache in front of {@link OpenRouterClient}, keyed by model, temperature, maxTokens and the prompt hashes.
+ * An in-memory LRU answers repeated prompts within a process; the optional {@link CompletionLog} directory keeps
+ * completions across restarts so scenario replays and CI never reach OpenRouter twice for the same prompt.
+ * Only successful completions are stored. Disk reads and appends run outside the in-memory lock, so a slow disk never
+ * stalls lookups that the LRU can answer.
+ */
+@Component
+public class CompletionCache implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(CompletionCache.class);
+
+    private final int maxEntries;
+    private final CompletionLog diskStore;
+    private final DirectorPipelineTelemetry telemetry;
+    private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long bytesServed;
+    private long bytesStored;
+
+    @Autowired
+    public CompletionCache(
+            DirectorPipelineTelemetry telemetry,
+            @Value("${planner.llm.cache.maxEntries:0}") int maxEntries,
+            @Value("${planner.llm.cache.dir:}") String directory
+    ) {
+        this(telemetry, maxEntries, directory == null || directory.isBlank() ? null : Path.of(directory));
+    }
+
+    CompletionCache(DirectorPipelineTelemetry telemetry, int maxEntries, Path directory) {
+        this.telemetry = telemetry;
+        this.maxEntries = Math.max(0, maxEntries);
+        this.diskStore = openDiskStore(directory);
+        telemetry.recordLlmCompletionCache(stats());
+    }
+
+    public static CompletionCache disabled() {
+        return new CompletionCache(new DirectorPipelineTelemetry(), 0, (Path) null);
+    }
+
+    public boolean enabled() {
+        return maxEntries > 0 || diskStore != null;
+    }
+
+    public static String key(String model, double temperature, int maxTokens, String systemPrompt, String userPrompt) {
+        return ContentDigests.sha256Hex(
+                model + '\n'
+                        + temperature + '\n'
+                        + maxTokens + '\n'
+                        + ContentDigests.sha256Hex(systemPrompt) + '\n'
+                        + ContentDigests.sha256Hex(userPrompt)
+        );
+    }
+
+    public Optional<String> get(String key) {
+        if (!enabled()) {
+            return Optional.empty();
+        }
+        Optional<String> cached;
+        lock.lock();
+        try {
+            cached = Optional.ofNullable(entries.get(key));
+        } finally {
+            lock.unlock();
+        }
+        boolean fromDisk = cached.isEmpty() && diskStore != null;
+        if (fromDisk) {
+            cached = readDisk(key);
+        }
+        lock.lock();
+        try {
+            if (cached.isPresent()) {
+                if (fromDisk) {
+                    remember(key, cached.get());
+                }
+                hits++;
+                bytesServed += utf8Length(cached.get());
+            } else {
+                misses++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        telemetry.recordLlmCompletionCache(stats());
+        return cached;
+    }
+
+    public void put(String key, String completion) {
+        if (!enabled() || completion == null) {
+            return;
+        }
+        boolean stored;
+        lock.lock();
+        try {
+            stored = remember(key, completion);
+        } finally {
+            lock.unlock();
+        }
+        if (diskStore != null) {
+            stored = appendDisk(key, completion);
+        }
+        if (stored) {
+            lock.lock();
+            try {
+                bytesStored += utf8Length(completion);
+            } finally {
+                lock.unlock();
+            }
+        }
+        telemetry.recordLlmCompletionCache(stats());
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(
+                    enabled(),
+                    entries.size(),
+                    maxEntries,
+                    diskStore == null ? 0 : diskStore.size(),
+                    hits,
+                    misses,
+                    evictions,
+                    bytesServed,
+                    bytesStored
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (diskStore != null) {
+            diskStore.close();
+        }
+    }
+
+    private boolean remember(String key, String completion) {
+        if (maxEntries == 0) {
+            return false;
+        }
+        boolean added = entries.put(key, completion) == null;
+        trim();
+        return added;
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, String>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private Optional<String> readDisk(String key) {
+        try {
+            return diskStore.read(key);
+        } catch (IOException ex) {
+            logger.warn("llm completion cache disk read failed: {}", ex.toString());
+            return Optional.empty();
+        }
+    }
+
+    private boolean appendDisk(String key, String completion) {
+        try {
+            return diskStore.append(key, completion);
+        } catch (IOException ex) {
+            logger.warn("llm completion cache disk append failed: {}", ex.toString());
+            return false;
+        }
+    }
+
+    private static CompletionLog openDiskStore(Path directory) {
+        if (directory == null) {
+            return null;
+        }
+        try {
+            CompletionLog log = CompletionLog.open(directory);
+            logger.info("llm completion cache disk store opened dir={} entries={}", directory, log.size());
+            return log;
+        } catch (IOException ex) {
+            logger.warn("llm completion cache disk store unavailable dir={}: {}", directory, ex.toString());
+            return null;
+        }
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    public record Stats(
+            boolean enabled,
+            int size,
+            int maxEntries,
+            int diskEntries,
+            long hits,
+            long misses,
+            long evictions,
+            long bytesServed,
+            long bytesStored
+    ) {
+    }
+}
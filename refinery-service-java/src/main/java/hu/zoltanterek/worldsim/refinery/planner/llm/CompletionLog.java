@@ -0,0 +1,181 @@
+package hu.zoltanterek.worldsim.refinery.planner.llm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only on-disk completion store: {@value #VALUES_FILE} holds the UTF-8 completion bodies back to back and
+ * {@value #INDEX_FILE} holds fixed-size {@code (sha256 key, offset, length)} entries. The index is memory-mapped once
+ * on open; values are read with positional reads. Appends only reserve their value and index ranges under the lock and
+ * write them afterwards, so concurrent reads and appends never wait on each other's I/O. A value is always written
+ * before its index entry, so a torn write leaves at most an unreferenced value tail, a partial index entry or a zeroed
+ * index slot, all of which are ignored on the next open.
+ * <p>
+ * Writes are not forced to disk. They survive a crash of the service process (the OS still holds them) but may be
+ * lost on an OS crash or power loss; that is acceptable for a cache, where a lost entry only costs one more
+ * OpenRouter call.
+ */
+final class CompletionLog implements Closeable {
+    static final String INDEX_FILE = "completions.idx";
+    static final String VALUES_FILE = "completions.log";
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int KEY_BYTES = 32;
+    private static final int ENTRY_BYTES = KEY_BYTES + Long.BYTES + Integer.BYTES;
+
+    private final FileChannel index;
+    private final FileChannel values;
+    private final Map<String, Location> locations = new ConcurrentHashMap<>();
+    private final Set<String> reserved = new HashSet<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long valuesEnd;
+    private long indexEnd;
+
+    private CompletionLog(FileChannel index, FileChannel values) throws IOException {
+        this.index = index;
+        this.values = values;
+        loadIndex();
+    }
+
+    static CompletionLog open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel index = FileChannel.open(
+                directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+        try {
+            FileChannel values = FileChannel.open(
+                    directory.resolve(VALUES_FILE),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE
+            );
+            return new CompletionLog(index, values);
+        } catch (IOException ex) {
+            index.close();
+            throw ex;
+        }
+    }
+
+    int size() {
+        return locations.size();
+    }
+
+    Optional<String> read(String key) throws IOException {
+        Location location = locations.get(key);
+        if (location == null) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(location.length());
+        long position = location.offset();
+        while (buffer.hasRemaining()) {
+            int read = values.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("completion log truncated at offset " + position);
+            }
+            position += read;
+        }
+        return Optional.of(new String(buffer.array(), StandardCharsets.UTF_8));
+    }
+
+    boolean append(String key, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long valueOffset;
+        long entryOffset;
+        lock.lock();
+        try {
+            if (locations.containsKey(key) || !reserved.add(key)) {
+                return false;
+            }
+            valueOffset = valuesEnd;
+            valuesEnd += bytes.length;
+            entryOffset = indexEnd;
+            indexEnd += ENTRY_BYTES;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writeFully(values, ByteBuffer.wrap(bytes), valueOffset);
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_BYTES)
+                    .put(HEX.parseHex(key))
+                    .putLong(valueOffset)
+                    .putInt(bytes.length)
+                    .flip();
+            writeFully(index, entry, entryOffset);
+            locations.put(key, new Location(valueOffset, bytes.length));
+            return true;
+        } finally {
+            lock.lock();
+            try {
+                reserved.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            try {
+                index.close();
+            } finally {
+                values.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        long valuesSize = values.size();
+        long completeEntries = index.size() / ENTRY_BYTES;
+        long indexBytes = completeEntries * ENTRY_BYTES;
+        if (indexBytes > 0) {
+            MappedByteBuffer mapped = index.map(FileChannel.MapMode.READ_ONLY, 0, indexBytes);
+            byte[] key = new byte[KEY_BYTES];
+            byte[] unwritten = new byte[KEY_BYTES];
+            while (mapped.remaining() >= ENTRY_BYTES) {
+                mapped.get(key);
+                long offset = mapped.getLong();
+                int length = mapped.getInt();
+                if (!Arrays.equals(key, unwritten) && offset >= 0 && length >= 0 && offset + length <= valuesSize) {
+                    locations.put(HEX.formatHex(key), new Location(offset, length));
+                }
+            }
+        }
+        if (index.size() != indexBytes) {
+            index.truncate(indexBytes);
+        }
+        valuesEnd = valuesSize;
+        indexEnd = indexBytes;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long next = position;
+        while (buffer.hasRemaining()) {
+            next += channel.write(buffer, next);
+        }
+    }
+
+    private record Location(long offset, int length) {
+    }
+}
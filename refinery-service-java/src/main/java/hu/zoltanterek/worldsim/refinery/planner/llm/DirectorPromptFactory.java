@@ -1,9 +1,13 @@
 package hu.zoltanterek.worldsim.refinery.planner.llm;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDesign;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDiagnostic;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRetryHint;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeFacts;
 
 public final class DirectorPromptFactory {
@@ -16,7 +20,7 @@ public final class DirectorPromptFactory {
             DirectorRuntimeFacts facts,
             String outputMode,
             boolean campaignEnabled,
-            List<String> feedbackHints
+            List<DirectorDiagnostic> feedbackHints
     ) {
         int colonyCount = Math.max(1, facts.colonyCount());
         long cooldown = Math.max(0L, facts.beatCooldownTicks());
@@ -74,12 +78,18 @@ public final class DirectorPromptFactory {
             sb.append(" treatyKind allowlist: ceasefire,peace_talks.");
         }
 
-        if (containsBudgetFeedback(feedbackHints)) {
-            sb.append(" Budget repair hint: previous candidate exceeded influence budget.");
-            sb.append(" Remove causalChain first.");
-            sb.append(" Then reduce story effects to at most one light effect with abs(modifier)<=0.05 and short duration.");
-            sb.append(" Keep directive biases empty or tiny unless budget clearly allows them.");
-            sb.append(" If still over budget, omit optional slots instead of exceeding budget.");
+        for (DirectorRetryHint hint : retryHints(feedbackHints)) {
+            switch (hint) {
+                case BUDGET -> {
+                    sb.append(" Budget repair hint: previous candidate exceeded influence budget.");
+                    sb.append(" Remove causalChain first.");
+                    sb.append(" Then reduce story effects to at most one light effect with abs(modifier)<=0.05 and short duration.");
+                    sb.append(" Keep directive biases empty or tiny unless budget clearly allows them.");
+                    sb.append(" If still over budget, omit optional slots instead of exceeding budget.");
+                }
+                case NONE -> {
+                }
+            }
         }
 
         if (!feedbackHints.isEmpty()) {
@@ -88,7 +98,7 @@ public final class DirectorPromptFactory {
                 if (i > 0) {
                     sb.append(" | ");
                 }
-                sb.append(feedbackHints.get(i));
+                sb.append(feedbackHints.get(i).text());
             }
             sb.append('.');
         }
@@ -96,21 +106,11 @@ public final class DirectorPromptFactory {
         return sb.toString();
     }
 
-    private static boolean containsBudgetFeedback(List<String> feedbackHints) {
-        for (String hint : feedbackHints) {
-            if (hint == null) {
-                continue;
-            }
-
-            String normalized = hint.toLowerCase(Locale.ROOT);
-            if (normalized.contains("inv-15")
-                    || normalized.contains("inv-17")
-                    || normalized.contains("budget")
-                    || normalized.contains("exceeds limit")) {
-                return true;
-            }
+    private static Set<DirectorRetryHint> retryHints(List<DirectorDiagnostic> feedbackHints) {
+        Set<DirectorRetryHint> hints = EnumSet.noneOf(DirectorRetryHint.class);
+        for (DirectorDiagnostic hint : feedbackHints) {
+            hints.add(hint.retryHint());
         }
-
-        return false;
+        return hints;
     }
 }
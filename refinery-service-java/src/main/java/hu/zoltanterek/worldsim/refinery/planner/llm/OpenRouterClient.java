@@ -1,5 +1,7 @@
 package hu.zoltanterek.worldsim.refinery.planner.llm;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -7,6 +9,7 @@ import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -40,6 +43,40 @@ public final class OpenRouterClient {
     }
 
     public String chatCompletion(String model, double temperature, int maxTokens, String systemPrompt, String userPrompt) throws Exception {
+        HttpRequest request = buildRequest(model, temperature, maxTokens, systemPrompt, userPrompt);
+        return extractContent(httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    public PendingCompletion chatCompletionAsync(
+            String model,
+            double temperature,
+            int maxTokens,
+            String systemPrompt,
+            String userPrompt
+    ) {
+        HttpRequest request;
+        try {
+            request = buildRequest(model, temperature, maxTokens, systemPrompt, userPrompt);
+        } catch (IOException ex) {
+            return PendingCompletion.of(CompletableFuture.failedFuture(ex));
+        }
+        CompletableFuture<HttpResponse<String>> exchange = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        return new PendingCompletion(exchange.thenApply(response -> {
+            try {
+                return extractContent(response);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }), exchange);
+    }
+
+    private HttpRequest buildRequest(
+            String model,
+            double temperature,
+            int maxTokens,
+            String systemPrompt,
+            String userPrompt
+    ) throws IOException {
         Map<String, Object> body = Map.of(
                 "model", model,
                 "temperature", temperature,
@@ -51,7 +88,7 @@ public final class OpenRouterClient {
         );
 
         String requestBody = objectMapper.writeValueAsString(body);
-        HttpRequest request = HttpRequest.newBuilder()
+        return HttpRequest.newBuilder()
                 .uri(URI.create(baseUrl + "/chat/completions"))
                 .timeout(Duration.ofMillis(Math.max(500, timeoutMs)))
                 .header("Content-Type", "application/json")
@@ -60,8 +97,9 @@ public final class OpenRouterClient {
                 .header("X-Title", appTitle)
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                 .build();
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    private String extractContent(HttpResponse<String> response) throws IOException {
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
             throw new IllegalStateException("OpenRouter request failed with status " + response.statusCode());
         }
@@ -0,0 +1,25 @@
+package hu.zoltanterek.worldsim.refinery.planner.llm;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * An in-flight chat completion. {@code content} is the extracted assistant message; {@code exchange} is the raw
+ * {@code HttpClient.sendAsync} future. {@code CompletableFuture} does not pass cancellation from a derived stage back
+ * to its source, so {@link #cancel()} cancels the exchange itself, which aborts the HTTP request.
+ */
+public record PendingCompletion(CompletableFuture<String> content, Future<?> exchange) {
+    public static PendingCompletion of(CompletableFuture<String> content) {
+        return new PendingCompletion(content, content);
+    }
+
+    public PendingCompletion thenApply(Function<String, String> next) {
+        return new PendingCompletion(content.thenApply(next), exchange);
+    }
+
+    public void cancel() {
+        exchange.cancel(true);
+        content.cancel(true);
+    }
+}
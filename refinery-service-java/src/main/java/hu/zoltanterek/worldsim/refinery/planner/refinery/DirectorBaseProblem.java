@@ -0,0 +1,183 @@
+package hu.zoltanterek.worldsim.refinery.planner.refinery;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.refinery.generator.ProblemLoader;
+import tools.refinery.generator.standalone.StandaloneRefinery;
+import tools.refinery.language.model.problem.Problem;
+import tools.refinery.store.util.CancellationToken;
+
+/**
+ * Static director metamodel (canonical design/model/runtime/output layers) shared by every solve.
+ * The base is parsed once into a resource set as a module; each solve loads only a small overlay resource that
+ * imports it and adds the request's runtime and output assertion lines. Idle resource sets are pooled so concurrent
+ * solves never share one. A base that fails to parse is not remembered, so the next solve retries it.
+ * If an overlay fails to link while the equivalent single-text problem loads, the base switches to full-text loading
+ * for the rest of its life.
+ */
+public final class DirectorBaseProblem {
+    private static final Logger log = LoggerFactory.getLogger(DirectorBaseProblem.class);
+
+    static final String MODULE_NAME = "worldsim_director";
+    private static final URI BASE_URI = URI.createURI("file:///worldsim/director/" + MODULE_NAME + ".problem");
+    private static final URI OVERLAY_URI = URI.createURI("file:///worldsim/director/overlay.problem");
+
+    private static volatile DirectorBaseProblem shared;
+
+    private final RefineryArtifactStore artifactStore;
+    private final String canonicalBase;
+    private final String baseText;
+    private final ConcurrentLinkedDeque<ResourceSet> idleBases = new ConcurrentLinkedDeque<>();
+    private final AtomicLong baseParses = new AtomicLong();
+    private volatile boolean overlaysLink = true;
+
+    DirectorBaseProblem(RefineryArtifactStore artifactStore) {
+        this(artifactStore, artifactStore.directorCanonicalBase());
+    }
+
+    DirectorBaseProblem(RefineryArtifactStore artifactStore, String canonicalBase) {
+        this.artifactStore = artifactStore;
+        this.canonicalBase = canonicalBase;
+        this.baseText = RefineryArtifactStore.joinSections(List.of("module " + MODULE_NAME + ".", canonicalBase));
+    }
+
+    public static DirectorBaseProblem shared() {
+        RefineryArtifactStore store = RefineryArtifactStore.shared();
+        DirectorBaseProblem current = shared;
+        if (current != null && current.artifactStore == store) {
+            return current;
+        }
+        synchronized (DirectorBaseProblem.class) {
+            if (shared == null || shared.artifactStore != store) {
+                shared = new DirectorBaseProblem(store);
+            }
+            return shared;
+        }
+    }
+
+    public String baseText() {
+        return baseText;
+    }
+
+    public long baseParses() {
+        return baseParses.get();
+    }
+
+    public boolean overlaysLink() {
+        return overlaysLink;
+    }
+
+    /**
+     * Loads the base plus the given assertion lines as one linked problem, checking {@code cancellationToken} while
+     * parsing and linking. The caller must close the result once the generator built from it is closed; that hands
+     * the parsed base back to the pool.
+     */
+    public LoadedProblem load(
+            List<String> runtimeLines,
+            List<String> outputLines,
+            CancellationToken cancellationToken
+    ) throws IOException {
+        ProblemLoader loader = StandaloneRefinery.getProblemLoader().cancellationToken(cancellationToken);
+        if (!overlaysLink) {
+            return LoadedProblem.detached(loadFullText(loader, runtimeLines, outputLines));
+        }
+        ResourceSet resourceSet = null;
+        Resource overlay = null;
+        try {
+            resourceSet = borrowBase(loader);
+            overlay = resourceSet.createResource(OVERLAY_URI);
+            String overlayText = overlayText(runtimeLines, outputLines);
+            overlay.load(new ByteArrayInputStream(overlayText.getBytes(StandardCharsets.UTF_8)), Map.of());
+            Problem problem = loader.loadResource(overlay);
+            ResourceSet borrowed = resourceSet;
+            Resource loaded = overlay;
+            return new LoadedProblem(problem, () -> release(borrowed, loaded));
+        } catch (IOException | RuntimeException ex) {
+            if (resourceSet != null) {
+                release(resourceSet, overlay);
+            }
+            Problem fullText;
+            try {
+                fullText = loadFullText(loader, runtimeLines, outputLines);
+            } catch (IOException | RuntimeException fullTextFailure) {
+                ex.addSuppressed(fullTextFailure);
+                throw ex;
+            }
+            overlaysLink = false;
+            log.warn("Director overlay failed to link against the parsed base; falling back to full-text loads", ex);
+            return LoadedProblem.detached(fullText);
+        }
+    }
+
+    String overlayText(List<String> runtimeLines, List<String> outputLines) {
+        return DirectorProblemAssembler.join("import " + MODULE_NAME + ".", fragments(runtimeLines, outputLines));
+    }
+
+    private Problem loadFullText(
+            ProblemLoader loader,
+            List<String> runtimeLines,
+            List<String> outputLines
+    ) throws IOException {
+        String problemText = DirectorProblemAssembler.join(canonicalBase, fragments(runtimeLines, outputLines));
+        return loader.loadString(problemText);
+    }
+
+    private ResourceSet borrowBase(ProblemLoader loader) throws IOException {
+        ResourceSet idle = idleBases.pollFirst();
+        if (idle != null) {
+            return idle;
+        }
+        baseParses.incrementAndGet();
+        return loader.loadString(baseText, BASE_URI).eResource().getResourceSet();
+    }
+
+    private void release(ResourceSet resourceSet, Resource overlay) {
+        if (overlay != null) {
+            resourceSet.getResources().remove(overlay);
+            overlay.unload();
+        }
+        idleBases.offerFirst(resourceSet);
+    }
+
+    private static List<DirectorProblemFragment> fragments(List<String> runtimeLines, List<String> outputLines) {
+        return List.of(
+                new DirectorProblemFragment(runtimeLines),
+                new DirectorProblemFragment(outputLines)
+        );
+    }
+
+    public static final class LoadedProblem implements AutoCloseable {
+        private final Problem problem;
+        private final Runnable release;
+
+        private LoadedProblem(Problem problem, Runnable release) {
+            this.problem = problem;
+            this.release = release;
+        }
+
+        static LoadedProblem detached(Problem problem) {
+            return new LoadedProblem(problem, () -> {
+            });
+        }
+
+        public Problem problem() {
+            return problem;
+        }
+
+        @Override
+        public void close() {
+            release.run();
+        }
+    }
+}
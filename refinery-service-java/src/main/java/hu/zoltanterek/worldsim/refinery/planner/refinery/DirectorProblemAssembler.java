@@ -1,14 +1,21 @@
 package hu.zoltanterek.worldsim.refinery.planner.refinery;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeAssertions;
 
 public final class DirectorProblemAssembler {
+    private final RefineryArtifactStore artifactStore;
+
+    public DirectorProblemAssembler() {
+        this(null);
+    }
+
+    DirectorProblemAssembler(RefineryArtifactStore artifactStore) {
+        this.artifactStore = artifactStore;
+    }
+
     public String assemble(DirectorRuntimeAssertions runtimeAssertions) {
         return assemble(runtimeAssertions == null
                 ? List.of()
@@ -16,10 +23,12 @@ public final class DirectorProblemAssembler {
     }
 
     public String assemble(List<DirectorProblemFragment> fragments) {
+        return join(store().directorCanonicalBase(), fragments);
+    }
+
+    static String join(String head, List<DirectorProblemFragment> fragments) {
         List<String> sections = new ArrayList<>();
-        for (String resourcePath : RefineryArtifactCatalog.directorCanonicalProblemResourcePaths()) {
-            sections.add(readResource(resourcePath));
-        }
+        sections.add(head);
 
         for (DirectorProblemFragment item : fragments == null ? List.<DirectorProblemFragment>of() : fragments) {
             String fragment = item == null ? "" : item.problemFragment();
@@ -28,17 +37,10 @@ public final class DirectorProblemAssembler {
             }
         }
 
-        return String.join(System.lineSeparator() + System.lineSeparator(), sections);
+        return RefineryArtifactStore.joinSections(sections);
     }
 
-    private static String readResource(String resourcePath) {
-        try (InputStream stream = DirectorProblemAssembler.class.getResourceAsStream(resourcePath)) {
-            if (stream == null) {
-                throw new IllegalStateException("Missing classpath resource: " + resourcePath);
-            }
-            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
-        } catch (IOException ex) {
-            throw new IllegalStateException("Cannot read classpath resource: " + resourcePath, ex);
-        }
+    private RefineryArtifactStore store() {
+        return artifactStore != null ? artifactStore : RefineryArtifactStore.shared();
     }
 }
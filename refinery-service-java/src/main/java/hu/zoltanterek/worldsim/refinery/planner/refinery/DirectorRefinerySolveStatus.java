@@ -3,5 +3,6 @@ package hu.zoltanterek.worldsim.refinery.planner.refinery;
 public enum DirectorRefinerySolveStatus {
     SUCCESS,
     NON_SUCCESS,
-    LOAD_FAILURE
+    LOAD_FAILURE,
+    TIMEOUT
 }
@@ -1,7 +1,10 @@
 package hu.zoltanterek.worldsim.refinery.planner.refinery;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
 
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorOutputAssertions;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeAssertions;
@@ -9,11 +12,39 @@ import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeAssertio
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeFacts;
 import tools.refinery.generator.GeneratorResult;
 import tools.refinery.generator.standalone.StandaloneRefinery;
+import tools.refinery.store.util.CancellationToken;
 
 public final class DirectorRefinerySolver {
     private final DirectorRuntimeAssertionsMapper runtimeMapper = new DirectorRuntimeAssertionsMapper();
     private final DirectorOutputAssertionsProblemMapper outputMapper = new DirectorOutputAssertionsProblemMapper();
-    private final DirectorProblemAssembler assembler = new DirectorProblemAssembler();
+    private final DirectorBaseProblem baseProblem;
+    private final DirectorSolveCache cache;
+    private final DirectorSolveBudget budget;
+    private final LongSupplier nanoClock;
+
+    public DirectorRefinerySolver() {
+        this(DirectorSolveCache.disabled(), DirectorSolveBudget.unbounded());
+    }
+
+    public DirectorRefinerySolver(DirectorSolveCache cache, DirectorSolveBudget budget) {
+        this(null, cache, budget, System::nanoTime);
+    }
+
+    DirectorRefinerySolver(DirectorBaseProblem baseProblem) {
+        this(baseProblem, DirectorSolveCache.disabled(), DirectorSolveBudget.unbounded(), System::nanoTime);
+    }
+
+    DirectorRefinerySolver(
+            DirectorBaseProblem baseProblem,
+            DirectorSolveCache cache,
+            DirectorSolveBudget budget,
+            LongSupplier nanoClock
+    ) {
+        this.baseProblem = baseProblem;
+        this.cache = cache == null ? DirectorSolveCache.disabled() : cache;
+        this.budget = budget == null ? DirectorSolveBudget.unbounded() : budget;
+        this.nanoClock = nanoClock;
+    }
 
     public DirectorRefinerySolveResult solve(DirectorRuntimeFacts facts, DirectorOutputAssertions assertions) {
         return solve(facts, assertions, List.of());
@@ -28,12 +59,42 @@ public final class DirectorRefinerySolver {
         DirectorOutputAssertionsProblemMapper.OutputAreaMapping outputMapping = outputMapper.map(assertions);
         List<String> unsupportedFeatures = new ArrayList<>(outputMapping.unsupportedFeatures());
         unsupportedFeatures.addAll(additionalUnsupportedFeatures == null ? List.of() : additionalUnsupportedFeatures);
-        String problemText = assembler.assemble(List.of(
-                new DirectorProblemFragment(runtimeAssertions.lines()),
-                outputMapping.fragment()
-        ));
+        int overlayLines = runtimeAssertions.lines().size() + outputMapping.fragment().lines().size();
+        if (budget.exceedsModelSize(overlayLines)) {
+            List<String> diagnostics = new ArrayList<>(outputMapping.diagnostics());
+            diagnostics.add("solverResult:timeout:model_size");
+            diagnostics.add("overlayLines:" + overlayLines + ">" + budget.maxOverlayLines());
+            return timeout(diagnostics, unsupportedFeatures);
+        }
+        DirectorBaseProblem base = baseProblem != null ? baseProblem : DirectorBaseProblem.shared();
+        String cacheKey = cache.enabled()
+                ? DirectorSolveCache.key(
+                        runtimeAssertions.lines(),
+                        outputMapping.fragment().lines(),
+                        outputMapping.diagnostics(),
+                        unsupportedFeatures
+                )
+                : null;
+        if (cacheKey != null) {
+            DirectorRefinerySolveResult cached = cache.get(base, cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        DirectorRefinerySolveResult result = solveLoaded(
+                token -> base.load(runtimeAssertions.lines(), outputMapping.fragment().lines(), token),
+                outputMapping.diagnostics(),
+                unsupportedFeatures
+        );
+        if (cacheKey != null) {
+            cache.put(base, cacheKey, result);
+        }
+        return result;
+    }
 
-        return solveProblemText(problemText, outputMapping.diagnostics(), unsupportedFeatures);
+    public DirectorSolveCache.Stats cacheStats() {
+        return cache.stats();
     }
 
     DirectorRefinerySolveResult solveProblemText(String problemText, List<String> unsupportedFeatures) {
@@ -44,11 +105,35 @@ public final class DirectorRefinerySolver {
             String problemText,
             List<String> preExtractionDiagnostics,
             List<String> unsupportedFeatures
+    ) {
+        return solveLoaded(
+                token -> DirectorBaseProblem.LoadedProblem.detached(
+                        StandaloneRefinery.getProblemLoader().cancellationToken(token).loadString(problemText)
+                ),
+                preExtractionDiagnostics,
+                unsupportedFeatures
+        );
+    }
+
+    private DirectorRefinerySolveResult solveLoaded(
+            ProblemSource source,
+            List<String> preExtractionDiagnostics,
+            List<String> unsupportedFeatures
     ) {
         var diagnostics = new ArrayList<>(preExtractionDiagnostics == null ? List.<String>of() : preExtractionDiagnostics);
-        try {
-            var problem = StandaloneRefinery.getProblemLoader().loadString(problemText);
-            try (var generator = StandaloneRefinery.getGeneratorFactory().createGenerator(problem)) {
+        long startedAtNanos = nanoClock.getAsLong();
+        AtomicBoolean deadlineHit = new AtomicBoolean();
+        CancellationToken deadlineToken = () -> {
+            if (budget.expired(startedAtNanos, nanoClock.getAsLong())) {
+                deadlineHit.set(true);
+                throw new SolveDeadlineExceededException();
+            }
+        };
+        try (var loaded = source.open(deadlineToken)) {
+            deadlineToken.checkCancelled();
+            try (var generator = StandaloneRefinery.getGeneratorFactory()
+                    .cancellationToken(deadlineToken)
+                    .createGenerator(loaded.problem())) {
                 GeneratorResult result = generator.tryGenerate();
                 if (result == GeneratorResult.SUCCESS) {
                     diagnostics.add("solverResult:success");
@@ -96,6 +181,11 @@ public final class DirectorRefinerySolver {
                 );
             }
         } catch (Exception ex) {
+            if (deadlineHit.get()) {
+                diagnostics.add("solverResult:timeout:deadline");
+                diagnostics.add("timeoutMs:" + budget.timeoutMs());
+                return timeout(diagnostics, unsupportedFeatures);
+            }
             diagnostics.add("solverResult:load_failure");
             diagnostics.add(ex.getClass().getSimpleName() + ": " + ex.getMessage());
             return new DirectorRefinerySolveResult(
@@ -107,4 +197,25 @@ public final class DirectorRefinerySolver {
             );
         }
     }
+
+    private static DirectorRefinerySolveResult timeout(List<String> diagnostics, List<String> unsupportedFeatures) {
+        return new DirectorRefinerySolveResult(
+                DirectorRefinerySolveStatus.TIMEOUT,
+                "timeout",
+                null,
+                diagnostics,
+                unsupportedFeatures
+        );
+    }
+
+    @FunctionalInterface
+    private interface ProblemSource {
+        DirectorBaseProblem.LoadedProblem open(CancellationToken cancellationToken) throws IOException;
+    }
+
+    private static final class SolveDeadlineExceededException extends RuntimeException {
+        private SolveDeadlineExceededException() {
+            super("director solve deadline exceeded", null, false, false);
+        }
+    }
 }
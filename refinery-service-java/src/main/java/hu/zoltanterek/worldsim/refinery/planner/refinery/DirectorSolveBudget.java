@@ -0,0 +1,22 @@
+package hu.zoltanterek.worldsim.refinery.planner.refinery;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-solve ceiling for {@link DirectorRefinerySolver}: a wall-clock deadline covering parse, linking and generation,
+ * and a cap on the number of runtime/output assertion lines layered onto the base. Non-positive values disable a
+ * limit. The deadline compares elapsed nanos, so it neither overflows for huge timeouts nor for negative clocks.
+ */
+public record DirectorSolveBudget(long timeoutMs, int maxOverlayLines) {
+    public static DirectorSolveBudget unbounded() {
+        return new DirectorSolveBudget(0L, 0);
+    }
+
+    boolean exceedsModelSize(int overlayLines) {
+        return maxOverlayLines > 0 && overlayLines > maxOverlayLines;
+    }
+
+    boolean expired(long startedAtNanos, long nowNanos) {
+        return timeoutMs > 0L && nowNanos - startedAtNanos > TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+}
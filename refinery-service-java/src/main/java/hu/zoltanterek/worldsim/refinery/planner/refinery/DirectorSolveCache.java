@@ -0,0 +1,136 @@
+package hu.zoltanterek.worldsim.refinery.planner.refinery;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import hu.zoltanterek.worldsim.refinery.util.ContentDigests;
+
+/**
+ * Bounded LRU of solve results keyed by the digest of the runtime/output overlay lines.
+ * Entries expire after the TTL and the whole cache is dropped when the director base problem changes.
+ * Only {@code SUCCESS} and {@code NON_SUCCESS} results are stored; load failures are never cached.
+ */
+public final class DirectorSolveCache {
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private DirectorBaseProblem cachedBase;
+
+    public DirectorSolveCache(int maxEntries, long ttlMs) {
+        this(maxEntries, ttlMs, System::nanoTime);
+    }
+
+    DirectorSolveCache(int maxEntries, long ttlMs, LongSupplier nanoClock) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttlNanos = ttlMs > 0L ? ttlMs * 1_000_000L : Long.MAX_VALUE;
+        this.nanoClock = nanoClock;
+    }
+
+    public static DirectorSolveCache disabled() {
+        return new DirectorSolveCache(0, 0L);
+    }
+
+    public boolean enabled() {
+        return maxEntries > 0;
+    }
+
+    static String key(
+            List<String> runtimeLines,
+            List<String> outputLines,
+            List<String> preDiagnostics,
+            List<String> unsupportedFeatures
+    ) {
+        return ContentDigests.sha256HexOfLines(runtimeLines, outputLines, preDiagnostics, unsupportedFeatures);
+    }
+
+    DirectorRefinerySolveResult get(DirectorBaseProblem base, String key) {
+        if (!enabled()) {
+            return null;
+        }
+        lock.lock();
+        try {
+            resetIfBaseChanged(base);
+            Entry entry = entries.get(key);
+            if (entry != null && nanoClock.getAsLong() - entry.storedAtNanos() > ttlNanos) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.result();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(DirectorBaseProblem base, String key, DirectorRefinerySolveResult result) {
+        if (!enabled() || result == null || !isCacheable(result.status())) {
+            return;
+        }
+        lock.lock();
+        try {
+            resetIfBaseChanged(base);
+            entries.put(key, new Entry(result, nanoClock.getAsLong()));
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return new Stats(enabled(), size, maxEntries, hits.get(), misses.get(), evictions.get());
+    }
+
+    private void resetIfBaseChanged(DirectorBaseProblem base) {
+        if (cachedBase == base) {
+            return;
+        }
+        evictions.addAndGet(entries.size());
+        entries.clear();
+        cachedBase = base;
+    }
+
+    private static boolean isCacheable(DirectorRefinerySolveStatus status) {
+        return status == DirectorRefinerySolveStatus.SUCCESS || status == DirectorRefinerySolveStatus.NON_SUCCESS;
+    }
+
+    private record Entry(DirectorRefinerySolveResult result, long storedAtNanos) {
+    }
+
+    public record Stats(
+            boolean enabled,
+            int size,
+            int maxEntries,
+            long hits,
+            long misses,
+            long evictions
+    ) {
+    }
+}
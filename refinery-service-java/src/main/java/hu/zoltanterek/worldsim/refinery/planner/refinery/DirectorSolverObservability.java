@@ -19,6 +19,7 @@ public final class DirectorSolverObservability {
             case SUCCESS -> "success";
             case NON_SUCCESS -> "non_success";
             case LOAD_FAILURE -> "load_failure";
+            case TIMEOUT -> "timeout";
         };
         String generatorResult = normalizeToken(result.generatorResult(), "none");
         List<String> coverage = coverageMarkers(result);
@@ -113,6 +114,8 @@ public final class DirectorSolverObservability {
             codes.add("non_success");
         } else if (result.status() == DirectorRefinerySolveStatus.LOAD_FAILURE) {
             codes.add("load_failure");
+        } else if (result.status() == DirectorRefinerySolveStatus.TIMEOUT) {
+            codes.add("timeout");
         }
         return List.copyOf(codes);
     }
@@ -149,6 +152,9 @@ public final class DirectorSolverObservability {
         if (diagnostic.startsWith("solverResult:non_success")) {
             return "non_success";
         }
+        if (diagnostic.startsWith("solverResult:timeout:")) {
+            return stableCode("timeout_" + diagnostic.substring("solverResult:timeout:".length()));
+        }
         return null;
     }
 
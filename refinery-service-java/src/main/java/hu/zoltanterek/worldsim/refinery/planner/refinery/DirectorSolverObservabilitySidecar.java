@@ -0,0 +1,169 @@
+package hu.zoltanterek.worldsim.refinery.planner.refinery;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.util.MdcContext;
+
+/**
+ * Runs the solver observability sidecar either inline ({@code sync}) or on a single bounded background worker
+ * ({@code async}), records every report into telemetry and keeps the most recent reports by requestId. Inside an
+ * HTTP request an async job is only handed to the worker once the request completes, i.e. after the handler has
+ * written the response, so the sidecar never competes with the request it observes.
+ */
+@Component
+public class DirectorSolverObservabilitySidecar implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(DirectorSolverObservabilitySidecar.class);
+
+    public static final String MODE_SYNC = "sync";
+    public static final String MODE_ASYNC = "async";
+
+    private final DirectorPipelineTelemetry telemetry;
+    private final boolean async;
+    private final int retainedReports;
+    private final ThreadPoolExecutor executor;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong deferredJobs = new AtomicLong();
+
+    public DirectorSolverObservabilitySidecar(
+            DirectorPipelineTelemetry telemetry,
+            @Value("${planner.director.solverObservabilityMode:sync}") String mode,
+            @Value("${planner.director.solverObservabilityQueueCapacity:64}") int queueCapacity,
+            @Value("${planner.director.solverObservabilityRetainedReports:256}") int retainedReports
+    ) {
+        this.telemetry = telemetry;
+        this.async = MODE_ASYNC.equalsIgnoreCase(mode == null ? "" : mode.trim());
+        this.retainedReports = Math.max(1, retainedReports);
+        this.executor = async
+                ? new ThreadPoolExecutor(
+                        1,
+                        1,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "director-solver-sidecar");
+                            thread.setDaemon(true);
+                            return thread;
+                        },
+                        new ThreadPoolExecutor.AbortPolicy()
+                )
+                : null;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Runs the sidecar inline and returns its report, or schedules it and returns empty in async mode.
+     */
+    public Optional<DirectorSolverObservability.Report> run(String requestId, Supplier<DirectorSolverObservability.Report> task) {
+        if (!async) {
+            DirectorSolverObservability.Report report = task.get();
+            complete(requestId, report);
+            return Optional.of(report);
+        }
+
+        store(requestId, Entry.pending(requestId));
+        Runnable job = MdcContext.wrap(() -> {
+            try {
+                complete(requestId, task.get());
+            } catch (RuntimeException ex) {
+                logger.warn("director solver observability sidecar failed: {}", ex.toString());
+                complete(requestId, DirectorSolverObservability.unavailable("unexpected_exception"));
+            }
+        });
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.registerDestructionCallback(
+                    DirectorSolverObservabilitySidecar.class.getName() + "." + deferredJobs.incrementAndGet(),
+                    () -> dispatch(requestId, job),
+                    RequestAttributes.SCOPE_REQUEST
+            );
+        } else {
+            dispatch(requestId, job);
+        }
+        return Optional.empty();
+    }
+
+    private void dispatch(String requestId, Runnable job) {
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException ex) {
+            logger.warn("director solver observability sidecar queue full; dropping requestId={}", requestId);
+            telemetry.recordSolverSidecarDropped();
+            store(requestId, Entry.completed(requestId, DirectorSolverObservability.unavailable("sidecar_queue_full")));
+        }
+    }
+
+    public Optional<Entry> lookup(String requestId) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(entries.get(requestId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void complete(String requestId, DirectorSolverObservability.Report report) {
+        telemetry.recordSolverObservability(report);
+        store(requestId, Entry.completed(requestId, report));
+    }
+
+    private void store(String requestId, Entry entry) {
+        if (requestId == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.remove(requestId);
+            entries.put(requestId, entry);
+            while (entries.size() > retainedReports) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record Entry(
+            String requestId,
+            String state,
+            DirectorSolverObservability.Report report,
+            Instant updatedAtUtc
+    ) {
+        static Entry pending(String requestId) {
+            return new Entry(requestId, "pending", null, Instant.now());
+        }
+
+        static Entry completed(String requestId, DirectorSolverObservability.Report report) {
+            return new Entry(requestId, "completed", report, Instant.now());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package hu.zoltanterek.worldsim.refinery.planner.refinery;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, preloaded view of the canonical {@code .problem} artifacts of every {@link RefineryArtifactFamily}.
+ * The shared instance is loaded once and only replaced through {@link #reloadShared()}.
+ */
+public final class RefineryArtifactStore {
+    private static final String SECTION_SEPARATOR = System.lineSeparator() + System.lineSeparator();
+
+    private static volatile RefineryArtifactStore shared;
+
+    private final Map<String, String> contentsByPath;
+    private final String directorCanonicalBase;
+    private final LoadStats stats;
+
+    private RefineryArtifactStore(Map<String, String> contentsByPath, String directorCanonicalBase, LoadStats stats) {
+        this.contentsByPath = contentsByPath;
+        this.directorCanonicalBase = directorCanonicalBase;
+        this.stats = stats;
+    }
+
+    public static RefineryArtifactStore shared() {
+        RefineryArtifactStore current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (RefineryArtifactStore.class) {
+            if (shared == null) {
+                shared = load();
+            }
+            return shared;
+        }
+    }
+
+    public static RefineryArtifactStore reloadShared() {
+        RefineryArtifactStore reloaded = load();
+        synchronized (RefineryArtifactStore.class) {
+            shared = reloaded;
+        }
+        return reloaded;
+    }
+
+    public static RefineryArtifactStore load() {
+        long startedAt = System.nanoTime();
+        Map<String, String> contents = new LinkedHashMap<>();
+        long totalBytes = 0L;
+        for (RefineryArtifactFamily family : RefineryArtifactFamily.values()) {
+            for (String resourcePath : RefineryArtifactCatalog.canonicalProblemResourcePaths(family)) {
+                byte[] bytes = readResource(resourcePath);
+                String text = new String(bytes, StandardCharsets.UTF_8);
+                if (text.isBlank()) {
+                    throw new IllegalStateException("Blank refinery artifact: " + resourcePath);
+                }
+                contents.put(resourcePath, text);
+                totalBytes += bytes.length;
+            }
+        }
+
+        String directorCanonicalBase = joinSections(
+                RefineryArtifactCatalog.directorCanonicalProblemResourcePaths().stream().map(contents::get).toList()
+        );
+        LoadStats stats = new LoadStats(contents.size(), totalBytes, System.nanoTime() - startedAt, Instant.now());
+        return new RefineryArtifactStore(Collections.unmodifiableMap(contents), directorCanonicalBase, stats);
+    }
+
+    public String problemText(String resourcePath) {
+        String text = contentsByPath.get(resourcePath);
+        if (text == null) {
+            throw new IllegalArgumentException("Refinery artifact is not part of the canonical catalog: " + resourcePath);
+        }
+        return text;
+    }
+
+    public List<String> canonicalProblemTexts(RefineryArtifactFamily family) {
+        List<String> texts = new ArrayList<>();
+        for (String resourcePath : RefineryArtifactCatalog.canonicalProblemResourcePaths(family)) {
+            texts.add(problemText(resourcePath));
+        }
+        return List.copyOf(texts);
+    }
+
+    public String directorCanonicalBase() {
+        return directorCanonicalBase;
+    }
+
+    public LoadStats stats() {
+        return stats;
+    }
+
+    static String joinSections(List<String> sections) {
+        return String.join(SECTION_SEPARATOR, sections);
+    }
+
+    private static byte[] readResource(String resourcePath) {
+        try (InputStream stream = RefineryArtifactStore.class.getResourceAsStream(resourcePath)) {
+            if (stream == null) {
+                throw new IllegalStateException("Missing classpath resource: " + resourcePath);
+            }
+            return stream.readAllBytes();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read classpath resource: " + resourcePath, ex);
+        }
+    }
+
+    public record LoadStats(
+            int artifactCount,
+            long totalBytes,
+            long loadNanos,
+            Instant loadedAtUtc
+    ) {
+        public double loadMillis() {
+            return loadNanos / 1_000_000.0d;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.util.ContentDigests;
+
+/**
+ * Single-flight response cache for client retries, keyed by {@code requestId} plus a digest of the whole request.
+ * The first caller for a key plans; concurrent duplicates wait on the same future and later retries within the TTL
+ * get the stored response. Failed plans are dropped so the next retry computes again. A duplicate waits at most
+ * {@code followerWaitMs} for the leader; after that it is told to plan on its own.
+ */
+@Component
+public class IdempotencyCache {
+    private final ObjectMapper objectMapper;
+    private final DirectorPipelineTelemetry telemetry;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long followerWaitMs;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long misses;
+    private long replays;
+    private long coalesced;
+    private long evictions;
+
+    @Autowired
+    public IdempotencyCache(
+            ObjectMapper objectMapper,
+            DirectorPipelineTelemetry telemetry,
+            @Value("${planner.idempotency.maxEntries:0}") int maxEntries,
+            @Value("${planner.idempotency.ttlMs:300000}") long ttlMs,
+            @Value("${planner.idempotency.followerWaitMs:30000}") long followerWaitMs
+    ) {
+        this(objectMapper, telemetry, maxEntries, ttlMs, followerWaitMs, System::nanoTime);
+    }
+
+    IdempotencyCache(
+            ObjectMapper objectMapper,
+            DirectorPipelineTelemetry telemetry,
+            int maxEntries,
+            long ttlMs,
+            long followerWaitMs,
+            LongSupplier nanoClock
+    ) {
+        this.objectMapper = objectMapper;
+        this.telemetry = telemetry;
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttlNanos = ttlMs > 0L ? ttlMs * 1_000_000L : Long.MAX_VALUE;
+        this.followerWaitMs = Math.max(0L, followerWaitMs);
+        this.nanoClock = nanoClock;
+    }
+
+    static IdempotencyCache disabled() {
+        return new IdempotencyCache(new ObjectMapper(), new DirectorPipelineTelemetry(), 0, 0L, 0L, System::nanoTime);
+    }
+
+    public boolean enabled() {
+        return maxEntries > 0;
+    }
+
+    public Flight join(PatchRequest request) {
+        if (!enabled()) {
+            return new Flight(null, new CompletableFuture<>(), true);
+        }
+        String key = key(request);
+        Flight flight;
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && nanoClock.getAsLong() - entry.createdAtNanos() > ttlNanos) {
+                entries.remove(key);
+                evictions++;
+                entry = null;
+            }
+            if (entry != null) {
+                if (entry.response().isDone()) {
+                    replays++;
+                } else {
+                    coalesced++;
+                }
+                flight = new Flight(key, entry.response(), false);
+            } else {
+                misses++;
+                CompletableFuture<PatchResponse> response = new CompletableFuture<>();
+                entries.put(key, new Entry(response, nanoClock.getAsLong()));
+                trim();
+                flight = new Flight(key, response, true);
+            }
+        } finally {
+            lock.unlock();
+        }
+        telemetry.recordIdempotencyCache(stats());
+        return flight;
+    }
+
+    public DirectorPipelineTelemetry.IdempotencyCacheSnapshot stats() {
+        lock.lock();
+        try {
+            return new DirectorPipelineTelemetry.IdempotencyCacheSnapshot(
+                    enabled(),
+                    entries.size(),
+                    maxEntries,
+                    misses,
+                    replays,
+                    coalesced,
+                    evictions
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    String key(PatchRequest request) {
+        try {
+            return request.requestId() + ':' + ContentDigests.sha256Hex(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("PatchRequest could not be serialized for idempotency key", ex);
+        }
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private void forget(String key, CompletableFuture<PatchResponse> response) {
+        if (key == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.response() == response) {
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry(CompletableFuture<PatchResponse> response, long createdAtNanos) {
+    }
+
+    /**
+     * One caller's view of a key. The leader must call {@link #complete} or {@link #fail}; followers call
+     * {@link #await()} or {@link #awaitAsync()}, which come back empty if the leader is still planning after
+     * {@code followerWaitMs}.
+     */
+    public final class Flight {
+        private final String key;
+        private final CompletableFuture<PatchResponse> response;
+        private final boolean leader;
+
+        private Flight(String key, CompletableFuture<PatchResponse> response, boolean leader) {
+            this.key = key;
+            this.response = response;
+            this.leader = leader;
+        }
+
+        public boolean leader() {
+            return leader;
+        }
+
+        public CompletableFuture<PatchResponse> response() {
+            return response;
+        }
+
+        public Optional<PatchResponse> await() {
+            try {
+                return awaitAsync().join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (ex.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+
+        public CompletableFuture<Optional<PatchResponse>> awaitAsync() {
+            return response.thenApply(Optional::of)
+                    .completeOnTimeout(Optional.empty(), followerWaitMs, TimeUnit.MILLISECONDS);
+        }
+
+        public void complete(PatchResponse value) {
+            response.complete(value);
+        }
+
+        public void fail(Throwable failure) {
+            forget(key, response);
+            response.completeExceptionally(failure);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import hu.zoltanterek.worldsim.refinery.model.ErrorResponse;
+import hu.zoltanterek.worldsim.refinery.model.PatchBatchResponse;
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.util.MdcContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Plans a batch of independent requests through {@link PatchService#createPatch(PatchRequest)} on a bounded pool.
+ * Every item is validated and planned on its own, so one bad checkpoint yields an error entry instead of failing
+ * the whole batch. Results keep the input order.
+ */
+@Service
+public class PatchBatchService implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(PatchBatchService.class);
+
+    private final PatchService patchService;
+    private final Validator validator;
+    private final int maxItems;
+    private final ExecutorService executor;
+
+    public PatchBatchService(
+            PatchService patchService,
+            Validator validator,
+            @Value("${planner.batch.parallelism:8}") int parallelism,
+            @Value("${planner.batch.maxItems:500}") int maxItems
+    ) {
+        this.patchService = patchService;
+        this.validator = validator;
+        this.maxItems = Math.max(1, maxItems);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), threadFactory());
+    }
+
+    /**
+     * Plans every item on the batch pool and completes once the last one finishes, so the caller never parks a thread
+     * on the batch. The array itself is checked up front: a missing body or more than {@code maxItems} entries throws
+     * {@link IllegalArgumentException} before anything is submitted.
+     */
+    public CompletableFuture<PatchBatchResponse> createPatchesAsync(List<PatchRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Batch body must be a JSON array of patch requests.");
+        }
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException("Batch exceeds maxItems=" + maxItems + " (got " + requests.size() + ").");
+        }
+        logger.info("patch batch received items={}", requests.size());
+
+        List<CompletableFuture<PatchBatchResponse.Item>> pending = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            pending.add(submit(i, requests.get(i)));
+        }
+
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            List<PatchBatchResponse.Item> results = pending.stream().map(CompletableFuture::join).toList();
+            int failed = (int) results.stream().filter(item -> item.error() != null).count();
+            logger.info("patch batch completed items={} succeeded={} failed={}", results.size(), results.size() - failed, failed);
+            return new PatchBatchResponse(results.size() - failed, failed, results);
+        });
+    }
+
+    /**
+     * Plans one item on the batch pool. The future never completes exceptionally; failures become error items.
+     */
+    public CompletableFuture<PatchBatchResponse.Item> submit(int index, PatchRequest request) {
+        return CompletableFuture.supplyAsync(MdcContext.wrap(() -> planItem(index, request)), executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private PatchBatchResponse.Item planItem(int index, PatchRequest request) {
+        if (request == null) {
+            return PatchBatchResponse.Item.failure(
+                    index,
+                    null,
+                    new ErrorResponse("Validation failed", List.of("request: must not be null"))
+            );
+        }
+
+        Set<ConstraintViolation<PatchRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            List<String> details = violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .toList();
+            return PatchBatchResponse.Item.failure(index, request.requestId(), new ErrorResponse("Validation failed", details));
+        }
+
+        try {
+            return PatchBatchResponse.Item.success(index, patchService.createPatch(request));
+        } catch (IllegalArgumentException ex) {
+            return PatchBatchResponse.Item.failure(index, request.requestId(), new ErrorResponse("Bad request", List.of(ex.getMessage())));
+        } catch (RuntimeException ex) {
+            logger.error("patch batch item failed index={} requestId={}", index, request.requestId(), ex);
+            return PatchBatchResponse.Item.failure(
+                    index,
+                    request.requestId(),
+                    new ErrorResponse("Internal error", List.of(ex.getClass().getSimpleName() + ": " + ex.getMessage()))
+            );
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "patch-batch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
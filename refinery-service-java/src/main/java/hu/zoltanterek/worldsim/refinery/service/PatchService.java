@@ -1,8 +1,13 @@
 package hu.zoltanterek.worldsim.refinery.service;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import hu.zoltanterek.worldsim.refinery.model.Goal;
@@ -10,6 +15,7 @@ import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
 import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
 import hu.zoltanterek.worldsim.refinery.planner.PatchPlanner;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.util.MdcContext;
 import hu.zoltanterek.worldsim.refinery.util.RequestValidator;
 
 @Service
@@ -19,15 +25,22 @@ public class PatchService {
     private final PatchPlanner patchPlanner;
     private final RequestValidator requestValidator;
     private final DirectorPipelineTelemetry directorPipelineTelemetry;
+    private final IdempotencyCache idempotencyCache;
+    private final RequestMetrics requestMetrics;
 
+    @Autowired
     public PatchService(
             PatchPlanner patchPlanner,
             RequestValidator requestValidator,
-            DirectorPipelineTelemetry directorPipelineTelemetry
+            DirectorPipelineTelemetry directorPipelineTelemetry,
+            IdempotencyCache idempotencyCache,
+            RequestMetrics requestMetrics
     ) {
         this.patchPlanner = patchPlanner;
         this.requestValidator = requestValidator;
         this.directorPipelineTelemetry = directorPipelineTelemetry;
+        this.idempotencyCache = idempotencyCache;
+        this.requestMetrics = requestMetrics;
     }
 
     public PatchResponse createPatch(PatchRequest request) {
@@ -35,23 +48,121 @@ public class PatchService {
              var c2 = MDC.putCloseable("goal", request.goal().name());
              var c3 = MDC.putCloseable("seed", Long.toString(request.seed()));
              var c4 = MDC.putCloseable("tick", Long.toString(request.tick()))) {
-            logger.info("patch request received goal={}", request.goal());
+            long startedAt = System.nanoTime();
+            try {
+                PatchResponse response = planPatch(request);
+                requestMetrics.recordRequest(request.goal(), System.nanoTime() - startedAt, false);
+                return response;
+            } catch (Throwable ex) {
+                requestMetrics.recordRequest(request.goal(), System.nanoTime() - startedAt, true);
+                throw ex;
+            }
+        }
+    }
 
-            requestValidator.validateSchema(request);
-            if (request.goal() == Goal.SEASON_DIRECTOR_CHECKPOINT) {
-                directorPipelineTelemetry.recordDirectorRequest();
-                logger.info("director telemetry request counter incremented");
+    private PatchResponse planPatch(PatchRequest request) {
+        beginRequest(request);
+        IdempotencyCache.Flight flight = idempotencyCache.join(request);
+        if (!flight.leader()) {
+            logger.info("patch request served from idempotency cache inFlight={}", !flight.response().isDone());
+            Optional<PatchResponse> shared = flight.await();
+            if (shared.isPresent()) {
+                return completeRequest(shared.get());
             }
+            logger.warn("idempotency follower stopped waiting for the leader; planning independently");
+            recordDirectorRequest(request);
+            return completeRequest(patchPlanner.plan(request));
+        }
 
-            PatchResponse response = patchPlanner.plan(request);
+        recordDirectorRequest(request);
+        PatchResponse response;
+        try {
+            response = patchPlanner.plan(request);
+        } catch (Throwable ex) {
+            flight.fail(ex);
+            throw ex;
+        }
+        flight.complete(response);
+        return completeRequest(response);
+    }
 
-            logger.info(
-                    "patch request completed patchOps={} warnings={} explain={}",
-                    response.patch().size(),
-                    response.warnings().size(),
-                    response.explain().size()
-            );
-            return response;
+    /**
+     * Same contract as {@link #createPatch(PatchRequest)}, but the planner's LLM round-trips do not hold the calling
+     * thread. Completion logging runs with this request's MDC on whichever thread finishes the chain.
+     */
+    public CompletableFuture<PatchResponse> createPatchAsync(PatchRequest request) {
+        try (var c1 = MDC.putCloseable("requestId", request.requestId());
+             var c2 = MDC.putCloseable("goal", request.goal().name());
+             var c3 = MDC.putCloseable("seed", Long.toString(request.seed()));
+             var c4 = MDC.putCloseable("tick", Long.toString(request.tick()))) {
+            long startedAt = System.nanoTime();
+            CompletableFuture<PatchResponse> planned;
+            try {
+                planned = planPatchAsync(request);
+            } catch (RuntimeException ex) {
+                requestMetrics.recordRequest(request.goal(), System.nanoTime() - startedAt, true);
+                throw ex;
+            }
+            return planned.whenComplete((response, failure) ->
+                    requestMetrics.recordRequest(request.goal(), System.nanoTime() - startedAt, failure != null));
         }
     }
+
+    private CompletableFuture<PatchResponse> planPatchAsync(PatchRequest request) {
+        beginRequest(request);
+        IdempotencyCache.Flight flight = idempotencyCache.join(request);
+        if (!flight.leader()) {
+            logger.info("patch request served from idempotency cache inFlight={}", !flight.response().isDone());
+            return flight.awaitAsync().thenComposeAsync(shared -> {
+                if (shared.isPresent()) {
+                    return CompletableFuture.completedFuture(completeRequest(shared.get()));
+                }
+                logger.warn("idempotency follower stopped waiting for the leader; planning independently");
+                recordDirectorRequest(request);
+                return patchPlanner.planAsync(request).thenApplyAsync(this::completeRequest, MdcContext.inlineExecutor());
+            }, MdcContext.inlineExecutor());
+        }
+
+        recordDirectorRequest(request);
+        CompletableFuture<PatchResponse> planned;
+        try {
+            planned = patchPlanner.planAsync(request);
+        } catch (Throwable ex) {
+            planned = CompletableFuture.failedFuture(ex);
+        }
+        return planned
+                .whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        flight.fail(failure instanceof CompletionException && failure.getCause() != null
+                                ? failure.getCause()
+                                : failure);
+                    } else {
+                        flight.complete(response);
+                    }
+                })
+                .thenApplyAsync(this::completeRequest, MdcContext.inlineExecutor());
+    }
+
+    private void beginRequest(PatchRequest request) {
+        logger.info("patch request received goal={}", request.goal());
+
+        requestValidator.validateSchema(request);
+    }
+
+    private void recordDirectorRequest(PatchRequest request) {
+        if (request.goal() == Goal.SEASON_DIRECTOR_CHECKPOINT) {
+            directorPipelineTelemetry.recordDirectorRequest();
+            logger.info("director telemetry request counter incremented");
+        }
+    }
+
+    private PatchResponse completeRequest(PatchResponse response) {
+        logger.info(
+                "patch request completed patchOps={} warnings={} explain={}",
+                response.patch().size(),
+                response.warnings().size(),
+                response.explain().size()
+        );
+        return response;
+    }
 }
@@ -0,0 +1,191 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import hu.zoltanterek.worldsim.refinery.model.ErrorResponse;
+import hu.zoltanterek.worldsim.refinery.model.PatchBatchResponse;
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.util.MdcContext;
+
+/**
+ * NDJSON sweep endpoint backend: requests are read one value at a time with a streaming {@link JsonParser}, planned on
+ * the {@link PatchBatchService} pool and written back as {@link PatchBatchResponse.Item} lines in completion order.
+ * At most {@code window} requests are in flight; once the window is full the reader stops pulling from the request
+ * body, so a fast client is throttled by TCP instead of by heap. The body is parsed on a per-stream virtual thread
+ * while the request thread is the only writer: it writes and flushes each item the moment it is handed over, so a
+ * response never waits for the next request line, and a slow client never holds a pool thread.
+ */
+@Service
+public class PatchStreamService {
+    private static final Logger logger = LoggerFactory.getLogger(PatchStreamService.class);
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final PatchBatchService patchBatchService;
+    private final ObjectMapper objectMapper;
+    private final int window;
+
+    public PatchStreamService(
+            PatchBatchService patchBatchService,
+            ObjectMapper objectMapper,
+            @Value("${planner.stream.window:16}") int window
+    ) {
+        this.patchBatchService = patchBatchService;
+        this.objectMapper = objectMapper;
+        this.window = Math.max(1, window);
+    }
+
+    public Summary stream(InputStream requestBody, OutputStream responseBody) throws IOException {
+        BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        Semaphore slots = new Semaphore(window);
+        Thread reader = Thread.ofVirtual()
+                .name("patch-stream-reader")
+                .start(MdcContext.wrap(() -> read(requestBody, events, slots)));
+        Counts counts = new Counts();
+        try {
+            while (true) {
+                Event event = takeUninterruptibly(events);
+                if (event.item() == null) {
+                    if (event.failure() != null) {
+                        throw event.failure();
+                    }
+                    break;
+                }
+                write(responseBody, event.item(), counts);
+                slots.release();
+            }
+        } finally {
+            reader.interrupt();
+        }
+
+        logger.info("patch stream completed items={} failed={} window={}", counts.items, counts.failed, window);
+        return new Summary(counts.items, counts.failed);
+    }
+
+    /**
+     * Parses and submits lines, taking one window slot per item. Once input ends it takes back every slot, which
+     * means every item has been written, and only then signals the end of the stream.
+     */
+    private void read(InputStream requestBody, BlockingQueue<Event> events, Semaphore slots) {
+        IOException failure = null;
+        int next = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(requestBody)) {
+            while (true) {
+                JsonNode line;
+                try {
+                    if (parser.nextToken() == null) {
+                        break;
+                    }
+                    line = parser.readValueAsTree();
+                } catch (JsonProcessingException ex) {
+                    logger.warn("patch stream aborted on malformed line index={}: {}", next, ex.getOriginalMessage());
+                    slots.acquire();
+                    events.add(new Event(badRequest(next, null, ex), null));
+                    break;
+                }
+
+                int index = next++;
+                slots.acquire();
+                PatchRequest request;
+                try {
+                    request = line == null || line.isNull() ? null : objectMapper.treeToValue(line, PatchRequest.class);
+                } catch (JsonProcessingException ex) {
+                    events.add(new Event(badRequest(index, line.path("requestId").asText(null), ex), null));
+                    continue;
+                }
+
+                try {
+                    patchBatchService.submit(index, request).whenComplete((item, ex) -> events.add(new Event(
+                            ex == null ? item : internalError(index, request, ex),
+                            null
+                    )));
+                } catch (RuntimeException ex) {
+                    events.add(new Event(internalError(index, request, ex), null));
+                }
+            }
+        } catch (IOException ex) {
+            failure = ex;
+        } catch (RuntimeException ex) {
+            failure = new IOException("patch stream reader failed", ex);
+        } catch (InterruptedException ex) {
+            // The writer has stopped; nobody is left to read the end marker.
+            return;
+        }
+
+        try {
+            slots.acquire(window);
+        } catch (InterruptedException ex) {
+            return;
+        }
+        events.add(new Event(null, failure));
+    }
+
+    private void write(OutputStream responseBody, PatchBatchResponse.Item item, Counts counts) throws IOException {
+        counts.items++;
+        if (item.error() != null) {
+            counts.failed++;
+        }
+        responseBody.write(objectMapper.writeValueAsBytes(item));
+        responseBody.write(LINE_SEPARATOR);
+        responseBody.flush();
+    }
+
+    private static PatchBatchResponse.Item badRequest(int index, String requestId, JsonProcessingException ex) {
+        return PatchBatchResponse.Item.failure(index, requestId, new ErrorResponse("Bad request", List.of(ex.getOriginalMessage())));
+    }
+
+    private static PatchBatchResponse.Item internalError(int index, PatchRequest request, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        logger.error("patch stream item failed index={}", index, cause);
+        return PatchBatchResponse.Item.failure(
+                index,
+                request == null ? null : request.requestId(),
+                new ErrorResponse("Internal error", List.of(cause.getClass().getSimpleName() + ": " + cause.getMessage()))
+        );
+    }
+
+    private static Event takeUninterruptibly(BlockingQueue<Event> events) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return events.take();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** A finished item, or the end of the stream when {@code item} is null. */
+    private record Event(PatchBatchResponse.Item item, IOException failure) {
+    }
+
+    private static final class Counts {
+        private int items;
+        private int failed;
+    }
+
+    public record Summary(int items, int failed) {
+    }
+}
@@ -0,0 +1,188 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.reflect.RecordComponent;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import hu.zoltanterek.worldsim.refinery.model.Goal;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.planner.director.LatencyHistogram;
+import hu.zoltanterek.worldsim.refinery.util.PrometheusTextWriter;
+
+/**
+ * Renders the service's metrics in the Prometheus text format: every numeric field of the
+ * {@link DirectorPipelineTelemetry.Snapshot} (walked by record component, so new counters are exported without
+ * touching this class), per-goal request latency and failures, API errors by type, and JVM heap/GC/thread gauges.
+ */
+@Component
+public class PrometheusMetricsExporter {
+    private static final String TELEMETRY_PREFIX = "worldsim_telemetry_";
+    private static final Set<String> NESTED_COUNTERS = Set.of(
+            "hits", "misses", "evictions", "replays", "coalesced", "reloadCount", "bytesServed", "bytesStored"
+    );
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final DirectorPipelineTelemetry telemetry;
+    private final RequestMetrics requestMetrics;
+    private final Map<String, String> commonLabels;
+    private final String version;
+
+    public PrometheusMetricsExporter(
+            DirectorPipelineTelemetry telemetry,
+            RequestMetrics requestMetrics,
+            @Value("${planner.mode:mock}") String plannerMode,
+            @Value("${planner.director.outputMode:both}") String directorOutputMode,
+            @Value("${app.version:0.1.0}") String version
+    ) {
+        this.telemetry = telemetry;
+        this.requestMetrics = requestMetrics;
+        Map<String, String> common = new LinkedHashMap<>();
+        common.put("planner_mode", normalize(plannerMode));
+        common.put("director_output_mode", normalize(directorOutputMode));
+        this.commonLabels = Collections.unmodifiableMap(common);
+        this.version = version;
+    }
+
+    public String render() {
+        PrometheusTextWriter writer = new PrometheusTextWriter();
+        DirectorPipelineTelemetry.Snapshot snapshot = telemetry.snapshot();
+
+        writer.sample("worldsim_info", "gauge", "Service build and planner configuration.",
+                labels("version", version, "pipeline_version", String.valueOf(snapshot.pipelineVersion())), 1);
+        writeRequests(writer);
+        writeTelemetry(writer, TELEMETRY_PREFIX, snapshot, true);
+        writeJvm(writer);
+        return writer.toString();
+    }
+
+    private void writeRequests(PrometheusTextWriter writer) {
+        for (Map.Entry<Goal, RequestMetrics.GoalSnapshot> entry : requestMetrics.goals().entrySet()) {
+            Map<String, String> labels = labels("goal", entry.getKey().name());
+            RequestMetrics.GoalSnapshot goal = entry.getValue();
+            writer.sample("worldsim_patch_requests_total", "counter",
+                    "Patch requests planned, including idempotent replays.", labels, goal.requests());
+            writer.sample("worldsim_patch_failures_total", "counter",
+                    "Patch requests that failed validation or planning.", labels, goal.failures());
+            writeSummary(writer, "worldsim_patch_latency_seconds",
+                    "End-to-end planning latency per goal.", labels, goal.latency());
+        }
+        for (Map.Entry<String, Long> entry : requestMetrics.errors().entrySet()) {
+            writer.sample("worldsim_api_errors_total", "counter",
+                    "Error responses by ApiExceptionHandler type.", labels("type", entry.getKey()), entry.getValue());
+        }
+    }
+
+    private void writeTelemetry(PrometheusTextWriter writer, String prefix, Record record, boolean topLevel) {
+        for (RecordComponent component : record.getClass().getRecordComponents()) {
+            Object value = read(component, record);
+            String name = component.getName();
+            String family = prefix + PrometheusTextWriter.snakeCase(name);
+            if (value instanceof Long || value instanceof Integer) {
+                boolean counter = value instanceof Long
+                        && (name.endsWith("Count") || name.endsWith("Total") || (!topLevel && NESTED_COUNTERS.contains(name)));
+                if (counter) {
+                    String counterFamily = family.endsWith("_total") ? family : family + "_total";
+                    writer.sample(counterFamily, "counter", "DirectorPipelineTelemetry " + name + ".",
+                            commonLabels, ((Number) value).doubleValue());
+                } else {
+                    writer.sample(family, "gauge", "DirectorPipelineTelemetry " + name + ".",
+                            commonLabels, ((Number) value).doubleValue());
+                }
+            } else if (value instanceof Double number) {
+                writer.sample(family, "gauge", "DirectorPipelineTelemetry " + name + ".", commonLabels, number);
+            } else if (value instanceof Boolean flag) {
+                writer.sample(family, "gauge", "DirectorPipelineTelemetry " + name + ".", commonLabels, flag ? 1 : 0);
+            } else if (value instanceof Instant instant) {
+                writer.sample(family + "_timestamp_seconds", "gauge", "DirectorPipelineTelemetry " + name + ".",
+                        commonLabels, instant.toEpochMilli() / 1000.0);
+            } else if (value instanceof Map<?, ?> map) {
+                String label = name.endsWith("Latencies") ? name.substring(0, name.length() - "Latencies".length()) : "key";
+                String summaryFamily = prefix + PrometheusTextWriter.snakeCase(label) + "_latency_seconds";
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (entry.getValue() instanceof LatencyHistogram.Snapshot histogram) {
+                        Map<String, String> labels = labels(label, String.valueOf(entry.getKey()));
+                        writeSummary(writer, summaryFamily, "DirectorPipelineTelemetry " + name + ".", labels, histogram);
+                    }
+                }
+            } else if (value instanceof Record nested) {
+                writeTelemetry(writer, family + "_", nested, false);
+            }
+        }
+    }
+
+    private void writeSummary(
+            PrometheusTextWriter writer,
+            String family,
+            String help,
+            Map<String, String> labels,
+            LatencyHistogram.Snapshot histogram
+    ) {
+        double[] valuesMs = {histogram.p50Ms(), histogram.p90Ms(), histogram.p99Ms()};
+        for (int i = 0; i < QUANTILES.length; i++) {
+            Map<String, String> quantileLabels = new LinkedHashMap<>(labels);
+            quantileLabels.put("quantile", Double.toString(QUANTILES[i]));
+            writer.sample(family, "summary", help, quantileLabels, valuesMs[i] / 1000.0);
+        }
+        writer.sample(family, "_sum", "summary", help, labels, histogram.meanMs() * histogram.count() / 1000.0);
+        writer.sample(family, "_count", "summary", help, labels, histogram.count());
+    }
+
+    private void writeJvm(PrometheusTextWriter writer) {
+        var memory = ManagementFactory.getMemoryMXBean();
+        writeMemory(writer, "heap", memory.getHeapMemoryUsage());
+        writeMemory(writer, "nonheap", memory.getNonHeapMemoryUsage());
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            Map<String, String> labels = Map.of("gc", gc.getName());
+            writer.sample("jvm_gc_collection_seconds", "_count", "summary",
+                    "Time spent in a given JVM garbage collector.", labels, Math.max(0L, gc.getCollectionCount()));
+            writer.sample("jvm_gc_collection_seconds", "_sum", "summary",
+                    "Time spent in a given JVM garbage collector.", labels, Math.max(0L, gc.getCollectionTime()) / 1000.0);
+        }
+        var threads = ManagementFactory.getThreadMXBean();
+        writer.sample("jvm_threads_current", "gauge", "Current thread count.", Map.of(), threads.getThreadCount());
+        writer.sample("jvm_threads_peak", "gauge", "Peak thread count.", Map.of(), threads.getPeakThreadCount());
+        var runtime = ManagementFactory.getRuntimeMXBean();
+        writer.sample("process_start_time_seconds", "gauge", "Start time of the process since unix epoch.",
+                Map.of(), runtime.getStartTime() / 1000.0);
+        writer.sample("process_uptime_seconds", "gauge", "Process uptime.", Map.of(), runtime.getUptime() / 1000.0);
+    }
+
+    private static void writeMemory(PrometheusTextWriter writer, String area, MemoryUsage usage) {
+        Map<String, String> labels = Map.of("area", area);
+        writer.sample("jvm_memory_bytes_used", "gauge", "Used bytes of a given JVM memory area.", labels, usage.getUsed());
+        writer.sample("jvm_memory_bytes_committed", "gauge", "Committed bytes of a given JVM memory area.",
+                labels, usage.getCommitted());
+        writer.sample("jvm_memory_bytes_max", "gauge", "Max bytes of a given JVM memory area.", labels, usage.getMax());
+    }
+
+    private Map<String, String> labels(String... keyValues) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            labels.put(keyValues[i], keyValues[i + 1]);
+        }
+        labels.putAll(commonLabels);
+        return labels;
+    }
+
+    private static Object read(RecordComponent component, Record record) {
+        try {
+            return component.getAccessor().invoke(record);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot read telemetry field " + component.getName(), ex);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? "unset" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,63 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import hu.zoltanterek.worldsim.refinery.model.Goal;
+import hu.zoltanterek.worldsim.refinery.planner.director.LatencyHistogram;
+
+/**
+ * Request counts, failures and end-to-end planning latency per {@link Goal}, plus API errors by handler type.
+ * Feeds the Prometheus endpoint; the director telemetry snapshot is unaffected.
+ */
+@Component
+public class RequestMetrics {
+    private final Map<Goal, GoalMetrics> byGoal = new EnumMap<>(Goal.class);
+    private final Map<String, AtomicLong> errorsByType = new ConcurrentHashMap<>();
+
+    public RequestMetrics() {
+        for (Goal goal : Goal.values()) {
+            byGoal.put(goal, new GoalMetrics(new AtomicLong(), new AtomicLong(), new LatencyHistogram()));
+        }
+    }
+
+    public void recordRequest(Goal goal, long nanos, boolean failed) {
+        GoalMetrics metrics = byGoal.get(goal);
+        metrics.requests().incrementAndGet();
+        if (failed) {
+            metrics.failures().incrementAndGet();
+        }
+        metrics.latency().recordNanos(nanos);
+    }
+
+    public void recordError(String type) {
+        errorsByType.computeIfAbsent(type, ignored -> new AtomicLong()).incrementAndGet();
+    }
+
+    public Map<Goal, GoalSnapshot> goals() {
+        Map<Goal, GoalSnapshot> snapshot = new EnumMap<>(Goal.class);
+        byGoal.forEach((goal, metrics) -> snapshot.put(goal, new GoalSnapshot(
+                metrics.requests().get(),
+                metrics.failures().get(),
+                metrics.latency().snapshot()
+        )));
+        return snapshot;
+    }
+
+    public Map<String, Long> errors() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        errorsByType.forEach((type, count) -> snapshot.put(type, count.get()));
+        return snapshot;
+    }
+
+    private record GoalMetrics(AtomicLong requests, AtomicLong failures, LatencyHistogram latency) {
+    }
+
+    public record GoalSnapshot(long requests, long failures, LatencyHistogram.Snapshot latency) {
+    }
+}
@@ -0,0 +1,176 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import hu.zoltanterek.worldsim.refinery.model.Goal;
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
+import hu.zoltanterek.worldsim.refinery.planner.ComposedPatchPlanner;
+import hu.zoltanterek.worldsim.refinery.planner.LlmPlanner;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorCorePatchAssertionsMapper;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorSnapshotMapper;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorRefinerySolveResult;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorRefinerySolver;
+
+/**
+ * Opt-in startup warm-up: replays the bundled example requests through the composed planner, serializes the
+ * responses and runs one uncached director solve, so the first real checkpoint does not pay for class loading
+ * and JIT. {@code /health} answers 503 {@code warming_up} until this finishes. Replays run with director telemetry
+ * muted, so they never show up in {@code /v1/director/telemetry} or {@code /metrics}.
+ */
+@Component
+public class StartupWarmup {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+    private static final String BUNDLED_REQUESTS = "classpath*:warmup/requests/*.json";
+
+    private final ComposedPatchPlanner planner;
+    private final LlmPlanner llmPlanner;
+    private final ObjectMapper objectMapper;
+    private final DirectorPipelineTelemetry telemetry;
+    private final boolean enabled;
+    private final Path requestsDir;
+
+    private volatile Report report;
+
+    public StartupWarmup(
+            ComposedPatchPlanner planner,
+            LlmPlanner llmPlanner,
+            ObjectMapper objectMapper,
+            DirectorPipelineTelemetry telemetry,
+            @Value("${planner.warmup.enabled:false}") boolean enabled,
+            @Value("${planner.warmup.requestsDir:}") String requestsDir
+    ) {
+        this.planner = planner;
+        this.llmPlanner = llmPlanner;
+        this.objectMapper = objectMapper;
+        this.telemetry = telemetry;
+        this.enabled = enabled;
+        this.requestsDir = requestsDir == null || requestsDir.isBlank() ? null : Path.of(requestsDir).toAbsolutePath();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(this::run, "refinery-warmup");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Report report() {
+        return report;
+    }
+
+    Report run() {
+        long startedAt = System.nanoTime();
+        int replayed = 0;
+        int skipped = 0;
+        int failed = 0;
+        String solveStatus = "not_run";
+        try {
+            for (Fixture fixture : requestFixtures()) {
+                try {
+                    PatchRequest request = objectMapper.readValue(fixture.json(), PatchRequest.class);
+                    if (request.goal() == Goal.SEASON_DIRECTOR_CHECKPOINT && llmPlanner.isEnabled()) {
+                        // Replaying director checkpoints would spend real LLM completions.
+                        skipped++;
+                        continue;
+                    }
+                    PatchResponse response = telemetry.muted(() -> planner.plan(request));
+                    objectMapper.writeValueAsBytes(response);
+                    replayed++;
+                    if (request.goal() == Goal.SEASON_DIRECTOR_CHECKPOINT && "not_run".equals(solveStatus)) {
+                        solveStatus = cannedSolve(request, response);
+                    }
+                } catch (Exception ex) {
+                    failed++;
+                    logger.warn("warm-up request {} failed: {}", fixture.name(), ex.toString());
+                }
+            }
+        } catch (IOException ex) {
+            logger.warn("warm-up requests unavailable in {}: {}", requestsDir == null ? BUNDLED_REQUESTS : requestsDir, ex.toString());
+        }
+
+        Report completed = new Report(replayed, skipped, failed, solveStatus, (System.nanoTime() - startedAt) / 1_000_000L);
+        report = completed;
+        logger.info(
+                "startup warm-up completed replayed={} skipped={} failed={} solve={} durationMs={}",
+                completed.requestsReplayed(),
+                completed.requestsSkipped(),
+                completed.requestsFailed(),
+                completed.solveStatus(),
+                completed.durationMs()
+        );
+        return completed;
+    }
+
+    private List<Fixture> requestFixtures() throws IOException {
+        List<Fixture> fixtures = new ArrayList<>();
+        if (requestsDir == null) {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(BUNDLED_REQUESTS)) {
+                try (InputStream stream = resource.getInputStream()) {
+                    fixtures.add(new Fixture(resource.getFilename(), new String(stream.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+        } else if (Files.isDirectory(requestsDir)) {
+            try (Stream<Path> files = Files.list(requestsDir)) {
+                for (Path file : files.filter(file -> file.getFileName().toString().endsWith(".json")).toList()) {
+                    fixtures.add(new Fixture(file.getFileName().toString(), Files.readString(file)));
+                }
+            }
+        }
+        fixtures.sort(Comparator.comparing(Fixture::name));
+        return fixtures;
+    }
+
+    private static String cannedSolve(PatchRequest request, PatchResponse response) {
+        DirectorCorePatchAssertionsMapper.Result mapping = new DirectorCorePatchAssertionsMapper().map(response.patch());
+        if (!mapping.available()) {
+            return "unavailable";
+        }
+        DirectorRefinerySolveResult result = new DirectorRefinerySolver().solve(
+                new DirectorSnapshotMapper().map(request),
+                mapping.assertions(),
+                mapping.unsupportedFeatures()
+        );
+        return result.status().name().toLowerCase(Locale.ROOT);
+    }
+
+    private record Fixture(String name, String json) {
+    }
+
+    public record Report(
+            int requestsReplayed,
+            int requestsSkipped,
+            int requestsFailed,
+            String solveStatus,
+            long durationMs
+    ) {
+    }
+}
@@ -0,0 +1,21 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+/**
+ * A snapshot delta did not match the session it targets: the session is unknown (never started or evicted) or its
+ * version differs from {@code baseVersion}. Clients recover by resending a full snapshot.
+ */
+public class WorldSessionConflictException extends RuntimeException {
+    private final long currentVersion;
+
+    public WorldSessionConflictException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    /**
+     * Version the session is at, {@code 0} if there is no session.
+     */
+    public long currentVersion() {
+        return currentVersion;
+    }
+}
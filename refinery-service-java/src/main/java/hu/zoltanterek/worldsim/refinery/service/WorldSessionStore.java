@@ -0,0 +1,166 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import hu.zoltanterek.worldsim.refinery.model.SessionPatchRequest;
+import hu.zoltanterek.worldsim.refinery.util.SnapshotDeltas;
+
+/**
+ * Last snapshot per world session, keyed by {@code worldId} and seed, so long-running worlds can send deltas
+ * instead of the whole snapshot. A request is resolved first and only committed, bumping the session version, once
+ * it has been planned successfully. Sessions idle longer than the TTL, or the least recently used beyond
+ * {@code maxSessions}, are dropped. Off by default.
+ */
+@Component
+public class WorldSessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(WorldSessionStore.class);
+
+    private final int maxSessions;
+    private final long idleTtlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public WorldSessionStore(
+            @Value("${planner.sessions.maxSessions:0}") int maxSessions,
+            @Value("${planner.sessions.idleTtlMs:900000}") long idleTtlMs
+    ) {
+        this(maxSessions, idleTtlMs, System::nanoTime);
+    }
+
+    WorldSessionStore(int maxSessions, long idleTtlMs, LongSupplier nanoClock) {
+        this.maxSessions = Math.max(0, maxSessions);
+        this.idleTtlNanos = idleTtlMs > 0L ? idleTtlMs * 1_000_000L : Long.MAX_VALUE;
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean enabled() {
+        return maxSessions > 0;
+    }
+
+    /**
+     * Applies the request's full snapshot or delta and returns the snapshot to plan with. Nothing is stored until
+     * {@link #commit(Resolved)} is called, so a request whose plan fails leaves the session at its previous version.
+     *
+     * @throws WorldSessionConflictException if a delta targets an unknown session or a stale version
+     * @throws IllegalArgumentException if sessions are disabled, the request is malformed or a delta op is invalid
+     */
+    public Resolved resolve(String worldId, SessionPatchRequest request) {
+        if (!enabled()) {
+            throw new IllegalArgumentException("World sessions are disabled (planner.sessions.maxSessions=0).");
+        }
+        boolean hasSnapshot = request.snapshot() != null && !request.snapshot().isNull();
+        boolean hasDelta = request.snapshotDelta() != null;
+        if (hasSnapshot == hasDelta) {
+            throw new IllegalArgumentException("Send exactly one of snapshot or snapshotDelta.");
+        }
+
+        String key = worldId + ":" + request.seed();
+        if (hasSnapshot) {
+            return new Resolved(key, worldId, request.snapshot(), null);
+        }
+        Session session;
+        lock.lock();
+        try {
+            evictIdle(nanoClock.getAsLong());
+            session = sessions.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if (session == null) {
+            throw new WorldSessionConflictException("No session for world " + worldId + "; resend the full snapshot.", 0L);
+        }
+        if (request.baseVersion() == null || request.baseVersion() != session.version()) {
+            throw staleVersion(worldId, session.version(), request.baseVersion());
+        }
+        // Stored snapshots are never mutated, so the copy-and-apply can run without the lock.
+        return new Resolved(key, worldId, SnapshotDeltas.apply(session.snapshot(), request.snapshotDelta()), session.version());
+    }
+
+    /**
+     * Stores a resolved snapshot as the session's next version and returns that version. A delta is only committed
+     * if the session is still at the version it was resolved against.
+     *
+     * @throws WorldSessionConflictException if another request moved or dropped the session in the meantime
+     */
+    public long commit(Resolved resolved) {
+        long now = nanoClock.getAsLong();
+        lock.lock();
+        try {
+            evictIdle(now);
+            Session session = sessions.get(resolved.key());
+            long current = session == null ? 0L : session.version();
+            if (resolved.baseVersion() != null && resolved.baseVersion() != current) {
+                throw staleVersion(resolved.worldId(), current, resolved.baseVersion());
+            }
+            store(resolved.key(), new Session(resolved.snapshot(), current + 1L, now));
+            return current + 1L;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return sessions.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String key, Session session) {
+        sessions.put(key, session);
+        Iterator<Map.Entry<String, Session>> eldest = sessions.entrySet().iterator();
+        while (sessions.size() > maxSessions && eldest.hasNext()) {
+            logger.info("world session evicted session={} reason=capacity", eldest.next().getKey());
+            eldest.remove();
+        }
+    }
+
+    private static WorldSessionConflictException staleVersion(String worldId, long current, Long baseVersion) {
+        if (current == 0L) {
+            return new WorldSessionConflictException("No session for world " + worldId + "; resend the full snapshot.", 0L);
+        }
+        return new WorldSessionConflictException(
+                "Session " + worldId + " is at version " + current + ", delta targets " + baseVersion + ".",
+                current
+        );
+    }
+
+    private void evictIdle(long now) {
+        Iterator<Map.Entry<String, Session>> eldest = sessions.entrySet().iterator();
+        while (eldest.hasNext()) {
+            Map.Entry<String, Session> entry = eldest.next();
+            if (now - entry.getValue().lastUsedNanos() <= idleTtlNanos) {
+                // Access order: everything after this entry was used more recently.
+                return;
+            }
+            logger.info("world session evicted session={} reason=idle", entry.getKey());
+            eldest.remove();
+        }
+    }
+
+    private record Session(JsonNode snapshot, long version, long lastUsedNanos) {
+    }
+
+    /**
+     * A snapshot ready to plan with; {@code baseVersion} is the session version a delta was applied to, or
+     * {@code null} for a full snapshot.
+     */
+    public record Resolved(String key, String worldId, JsonNode snapshot, Long baseVersion) {
+    }
+}
@@ -0,0 +1,46 @@
+package hu.zoltanterek.worldsim.refinery.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+public final class ContentDigests {
+    private static final byte PART_SEPARATOR = 0x1E;
+    private static final byte LINE_SEPARATOR = 0x1F;
+
+    private ContentDigests() {
+    }
+
+    public static String sha256Hex(byte[] bytes) {
+        MessageDigest digest = sha256();
+        digest.update(bytes);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String sha256Hex(String text) {
+        return sha256Hex(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SafeVarargs
+    public static String sha256HexOfLines(List<String>... parts) {
+        MessageDigest digest = sha256();
+        for (List<String> lines : parts) {
+            for (String line : lines == null ? List.<String>of() : lines) {
+                digest.update(String.valueOf(line).getBytes(StandardCharsets.UTF_8));
+                digest.update(LINE_SEPARATOR);
+            }
+            digest.update(PART_SEPARATOR);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
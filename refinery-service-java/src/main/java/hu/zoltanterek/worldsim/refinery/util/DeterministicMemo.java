@@ -0,0 +1,67 @@
+package hu.zoltanterek.worldsim.refinery.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU for outputs that are pure functions of their key, such as the mock and deterministic fallback planners.
+ * Values are shared between callers and must be immutable; a size of {@code 0} always recomputes.
+ */
+public final class DeterministicMemo<K, V> {
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    private final int maxEntries;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public DeterministicMemo(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    public V get(K key, Supplier<V> compute) {
+        if (maxEntries == 0) {
+            return compute.get();
+        }
+        lock.lock();
+        try {
+            V cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.incrementAndGet();
+        V value = compute.get();
+        lock.lock();
+        try {
+            V raced = entries.putIfAbsent(key, value);
+            if (raced != null) {
+                return raced;
+            }
+            Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+}
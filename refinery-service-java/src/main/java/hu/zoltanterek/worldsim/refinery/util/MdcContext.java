@@ -0,0 +1,69 @@
+package hu.zoltanterek.worldsim.refinery.util;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.slf4j.MDC;
+
+/**
+ * Carries the caller's MDC (requestId/goal/seed/tick) onto work handed to another thread, platform or virtual.
+ */
+public final class MdcContext {
+    private MdcContext() {
+    }
+
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        return () -> runWith(captured, task);
+    }
+
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            apply(captured);
+            try {
+                return task.get();
+            } finally {
+                apply(previous);
+            }
+        };
+    }
+
+    /**
+     * Executor for {@code CompletableFuture} continuations: runs each stage inline on whichever thread completed
+     * the previous one, with the MDC captured when this executor was created.
+     */
+    public static Executor inlineExecutor() {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        return task -> runWith(captured, task);
+    }
+
+    /**
+     * Executor for {@code CompletableFuture} continuations that must leave the completing thread (for example an
+     * {@code HttpClient} selector thread): hands each stage to {@code delegate} with the MDC captured now.
+     */
+    public static Executor executor(Executor delegate) {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        return task -> delegate.execute(() -> runWith(captured, task));
+    }
+
+    private static void runWith(Map<String, String> context, Runnable task) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        apply(context);
+        try {
+            task.run();
+        } finally {
+            apply(previous);
+        }
+    }
+
+    private static void apply(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package hu.zoltanterek.worldsim.refinery.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal Prometheus text exposition (format 0.0.4) builder. Each family gets its {@code # HELP}/{@code # TYPE}
+ * header once, on the first sample written for it.
+ */
+public final class PrometheusTextWriter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final StringBuilder out = new StringBuilder(8192);
+    private final Map<String, Boolean> declared = new LinkedHashMap<>();
+
+    public PrometheusTextWriter sample(String family, String type, String help, Map<String, String> labels, double value) {
+        return sample(family, "", type, help, labels, value);
+    }
+
+    /**
+     * Writes {@code family + suffix} (for {@code _count}/{@code _sum} of a summary) under the family's header.
+     */
+    public PrometheusTextWriter sample(
+            String family,
+            String suffix,
+            String type,
+            String help,
+            Map<String, String> labels,
+            double value
+    ) {
+        if (declared.putIfAbsent(family, Boolean.TRUE) == null) {
+            out.append("# HELP ").append(family).append(' ').append(escapeHelp(help)).append('\n');
+            out.append("# TYPE ").append(family).append(' ').append(type).append('\n');
+        }
+        out.append(family).append(suffix);
+        if (!labels.isEmpty()) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, String> label : labels.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                out.append(label.getKey()).append("=\"").append(escapeLabel(label.getValue())).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(formatValue(value)).append('\n');
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    public static String snakeCase(String camelCase) {
+        StringBuilder snake = new StringBuilder(camelCase.length() + 8);
+        for (int i = 0; i < camelCase.length(); i++) {
+            char c = camelCase.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) {
+                    snake.append('_');
+                }
+                snake.append(Character.toLowerCase(c));
+            } else {
+                snake.append(c);
+            }
+        }
+        return snake.toString();
+    }
+
+    private static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
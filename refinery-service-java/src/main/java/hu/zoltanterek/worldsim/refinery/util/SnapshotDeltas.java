@@ -0,0 +1,99 @@
+package hu.zoltanterek.worldsim.refinery.util;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import hu.zoltanterek.worldsim.refinery.model.SnapshotDeltaOp;
+
+/**
+ * Applies {@code add}/{@code replace}/{@code remove} ops (the RFC 6902 subset sessions need) to a copy of a
+ * snapshot. Invalid ops throw {@link IllegalArgumentException} and leave the input untouched.
+ */
+public final class SnapshotDeltas {
+    private SnapshotDeltas() {
+    }
+
+    public static JsonNode apply(JsonNode snapshot, List<SnapshotDeltaOp> ops) {
+        JsonNode root = snapshot.deepCopy();
+        for (int i = 0; i < ops.size(); i++) {
+            SnapshotDeltaOp op = ops.get(i);
+            try {
+                root = applyOne(root, op);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("snapshotDelta[" + i + "] " + op.op() + " " + op.path() + ": " + ex.getMessage(), ex);
+            }
+        }
+        return root;
+    }
+
+    private static JsonNode applyOne(JsonNode root, SnapshotDeltaOp op) {
+        JsonPointer pointer = JsonPointer.compile(op.path());
+        JsonNode value = op.value() == null ? NullNode.getInstance() : op.value();
+        if (pointer.matches()) {
+            return switch (op.op()) {
+                case "add", "replace" -> value.deepCopy();
+                default -> throw new IllegalArgumentException("the snapshot root can only be added or replaced");
+            };
+        }
+
+        JsonNode parent = root.at(pointer.head());
+        String key = pointer.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object) {
+            switch (op.op()) {
+                case "add" -> object.set(key, value.deepCopy());
+                case "replace" -> {
+                    requirePresent(object.has(key));
+                    object.set(key, value.deepCopy());
+                }
+                case "remove" -> {
+                    requirePresent(object.has(key));
+                    object.remove(key);
+                }
+                default -> throw unsupported();
+            }
+        } else if (parent instanceof ArrayNode array) {
+            switch (op.op()) {
+                case "add" -> {
+                    if ("-".equals(key)) {
+                        array.add(value.deepCopy());
+                    } else {
+                        array.insert(index(key, array.size() + 1), value.deepCopy());
+                    }
+                }
+                case "replace" -> array.set(index(key, array.size()), value.deepCopy());
+                case "remove" -> array.remove(index(key, array.size()));
+                default -> throw unsupported();
+            }
+        } else {
+            throw new IllegalArgumentException("parent is not an object or array");
+        }
+        return root;
+    }
+
+    private static int index(String token, int bound) {
+        try {
+            int index = Integer.parseInt(token);
+            if (index >= 0 && index < bound) {
+                return index;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("array index out of range");
+    }
+
+    private static void requirePresent(boolean present) {
+        if (!present) {
+            throw new IllegalArgumentException("target does not exist");
+        }
+    }
+
+    private static IllegalArgumentException unsupported() {
+        return new IllegalArgumentException("unsupported op (expected add, replace or remove)");
+    }
+}
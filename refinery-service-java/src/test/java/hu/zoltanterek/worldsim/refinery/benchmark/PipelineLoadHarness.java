@@ -0,0 +1,303 @@
+package hu.zoltanterek.worldsim.refinery.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import hu.zoltanterek.worldsim.refinery.RefineryServiceApplication;
+import hu.zoltanterek.worldsim.refinery.planner.director.LatencyHistogram;
+
+/**
+ * Closed-loop load test of {@code POST /v1/patch} in pipeline mode with the LLM stage pointed at a
+ * {@link StubOpenRouterServer}, so no paid completions are spent. Starts the stub and the service in this JVM, runs
+ * {@code --warmup} unmeasured requests, then {@code --requests} measured ones from {@code --concurrency} workers, and
+ * prints throughput, latency percentiles, status codes, the {@code llmCompletionCount} distribution and the
+ * deterministic fallback rate. Run with {@code ./gradlew loadTest -PloadArgs="--concurrency=32 --requests=5000"}.
+ *
+ * <p>Options (defaults in brackets): {@code --concurrency} [16], {@code --requests} [2000], {@code --warmup} [200],
+ * {@code --mix} [director:70,world_event:10,tech_tree:10,npc_policy:10], {@code --stubLatency}
+ * [lognormal:120,0.5], {@code --stubFailureRate} [0.02], {@code --stubPayloads} [valid:80,invalid:15,malformed:5],
+ * {@code --maxRetries} [2], plus any {@code --planner.*} property, which is handed to the service unchanged.
+ */
+public final class PipelineLoadHarness {
+    private static final Map<String, String> MIX_FILES = Map.of(
+            "director", "patch-season-director-v1.json",
+            "world_event", "patch-world-event-v1.json",
+            "tech_tree", "patch-tech-tree-v1.json",
+            "npc_policy", "patch-npc-policy-v1.json"
+    );
+
+    private PipelineLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "concurrency", "16",
+                "requests", "2000",
+                "warmup", "200",
+                "mix", "director:70,world_event:10,tech_tree:10,npc_policy:10",
+                "stubLatency", "lognormal:120,0.5",
+                "stubFailureRate", "0.02",
+                "stubPayloads", "valid:80,invalid:15,malformed:5",
+                "maxRetries", "2"
+        ));
+        List<String> serviceArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            if (key.startsWith("planner.")) {
+                serviceArgs.add(arg);
+            } else if (options.containsKey(key)) {
+                options.put(key, arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + key);
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, ObjectNode> templates = new HashMap<>();
+        for (ScaledRequests.NamedRequest named : ScaledRequests.load(objectMapper, 0)) {
+            templates.put(named.name(), named.body());
+        }
+        List<String> mix = expandMix(options.get("mix"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+
+        try (StubOpenRouterServer stub = new StubOpenRouterServer(
+                StubOpenRouterServer.LatencyDistribution.parse(options.get("stubLatency")),
+                Double.parseDouble(options.get("stubFailureRate")),
+                StubOpenRouterServer.parseWeights(options.get("stubPayloads"))
+        )) {
+            List<String> springArgs = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--planner.mode=pipeline",
+                    "--planner.refinery.enabled=true",
+                    "--planner.llm.enabled=true",
+                    "--planner.llm.apiKey=stub",
+                    "--planner.llm.baseUrl=" + stub.baseUrl(),
+                    "--planner.director.maxRetries=" + options.get("maxRetries"),
+                    "--server.tomcat.threads.max=" + Math.max(200, concurrency * 2),
+                    "--logging.level.root=ERROR"
+            ));
+            springArgs.addAll(serviceArgs);
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RefineryServiceApplication.class)
+                    .bannerMode(Banner.Mode.OFF)
+                    .logStartupInfo(false)
+                    .run(springArgs.toArray(String[]::new))) {
+                URI patchUri = URI.create("http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port") + "/v1/patch");
+                HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+                Driver driver = new Driver(client, patchUri, objectMapper, templates, mix);
+
+                driver.run(concurrency, Integer.parseInt(options.get("warmup")), false);
+                long stubCallsBefore = stub.calls();
+                Result result = driver.run(concurrency, Integer.parseInt(options.get("requests")), true);
+                print(options, result, stub, stub.calls() - stubCallsBefore);
+                printStageLatencies(client, objectMapper, patchUri.resolve("/v1/director/telemetry"));
+            }
+        }
+    }
+
+    private static List<String> expandMix(String spec) {
+        List<String> files = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":", 2);
+            String file = MIX_FILES.get(pair[0].trim());
+            if (file == null) {
+                throw new IllegalArgumentException("Unknown mix entry " + pair[0] + "; expected one of " + MIX_FILES.keySet());
+            }
+            for (int i = 0; i < Integer.parseInt(pair[1].trim()); i++) {
+                files.add(file);
+            }
+        }
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("Request mix is empty.");
+        }
+        return files;
+    }
+
+    private static void print(Map<String, String> options, Result result, StubOpenRouterServer stub, long stubCalls) {
+        LatencyHistogram.Snapshot latency = result.latency().snapshot();
+        System.out.println("options: " + options);
+        System.out.printf(Locale.ROOT, "requests=%d wall=%.2fs throughput=%.1f req/s%n",
+                result.requests(), result.wallNanos() / 1e9, result.requests() / (result.wallNanos() / 1e9));
+        System.out.printf(Locale.ROOT, "latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f mean=%.1f%n",
+                latency.p50Ms(), latency.p90Ms(), latency.p99Ms(), latency.maxMs(), latency.meanMs());
+        System.out.println("status: " + new TreeMap<>(result.statuses()));
+        long director = result.directorResponses();
+        System.out.println("director responses: " + director);
+        System.out.println("llmCompletionCount distribution: " + new TreeMap<>(result.completionCounts()));
+        System.out.printf(Locale.ROOT, "fallback rate: %.2f%% (%d of %d)%n",
+                director == 0 ? 0.0 : 100.0 * result.fallbacks() / director, result.fallbacks(), director);
+        System.out.printf(Locale.ROOT, "stub: calls=%d (measured %d) injectedFailures=%d served=%s%n",
+                stub.calls(), stubCalls, stub.injectedFailures(), StubOpenRouterServer.describe(stub.served()));
+    }
+
+    private static void printStageLatencies(HttpClient client, ObjectMapper objectMapper, URI telemetryUri) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(telemetryUri).GET().build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode stages = objectMapper.readTree(response.body()).path("stageLatencies");
+        System.out.println("stage latencies incl. warm-up (ms):");
+        for (Map.Entry<String, JsonNode> stage : stages.properties()) {
+            JsonNode histogram = stage.getValue();
+            System.out.printf(Locale.ROOT, "  %-22s count=%-6d p50=%-8.2f p99=%-8.2f max=%.2f%n",
+                    stage.getKey(),
+                    histogram.path("count").asLong(),
+                    histogram.path("p50Ms").asDouble(),
+                    histogram.path("p99Ms").asDouble(),
+                    histogram.path("maxMs").asDouble());
+        }
+    }
+
+    private record Result(
+            int requests,
+            long wallNanos,
+            LatencyHistogram latency,
+            Map<Integer, Long> statuses,
+            Map<String, Long> completionCounts,
+            long directorResponses,
+            long fallbacks
+    ) {
+    }
+
+    private static final class Driver {
+        private final HttpClient client;
+        private final URI patchUri;
+        private final ObjectMapper objectMapper;
+        private final Map<String, ObjectNode> templates;
+        private final List<String> mix;
+        private final AtomicLong sequence = new AtomicLong();
+
+        private Driver(HttpClient client, URI patchUri, ObjectMapper objectMapper, Map<String, ObjectNode> templates, List<String> mix) {
+            this.client = client;
+            this.patchUri = patchUri;
+            this.objectMapper = objectMapper;
+            this.templates = templates;
+            this.mix = mix;
+        }
+
+        private Result run(int concurrency, int requests, boolean measured) throws Exception {
+            LatencyHistogram latency = new LatencyHistogram();
+            Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+            Map<String, AtomicLong> completionCounts = new ConcurrentHashMap<>();
+            AtomicLong directorResponses = new AtomicLong();
+            AtomicLong fallbacks = new AtomicLong();
+            AtomicLong remaining = new AtomicLong(requests);
+
+            ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, concurrency));
+            long startedAt = System.nanoTime();
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int worker = 0; worker < concurrency; worker++) {
+                    futures.add(workers.submit(() -> {
+                        while (remaining.getAndDecrement() > 0) {
+                            String body = nextBody();
+                            long sentAt = System.nanoTime();
+                            int status;
+                            String responseBody;
+                            try {
+                                HttpResponse<String> response = client.send(
+                                        HttpRequest.newBuilder(patchUri)
+                                                .timeout(Duration.ofSeconds(60))
+                                                .header("Content-Type", "application/json")
+                                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                                .build(),
+                                        HttpResponse.BodyHandlers.ofString()
+                                );
+                                status = response.statusCode();
+                                responseBody = response.body();
+                            } catch (Exception ex) {
+                                status = -1;
+                                responseBody = null;
+                            }
+                            latency.recordNanos(System.nanoTime() - sentAt);
+                            statuses.computeIfAbsent(status, ignored -> new AtomicLong()).incrementAndGet();
+                            if (status == 200) {
+                                tally(responseBody, completionCounts, directorResponses, fallbacks);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                workers.shutdownNow();
+            }
+            long wallNanos = System.nanoTime() - startedAt;
+            if (!measured) {
+                return null;
+            }
+            Map<Integer, Long> statusCounts = new HashMap<>();
+            statuses.forEach((status, count) -> statusCounts.put(status, count.get()));
+            Map<String, Long> completions = new HashMap<>();
+            completionCounts.forEach((count, total) -> completions.put(count, total.get()));
+            return new Result(requests, wallNanos, latency, statusCounts, completions, directorResponses.get(), fallbacks.get());
+        }
+
+        private String nextBody() throws Exception {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            ObjectNode request = templates.get(mix.get(random.nextInt(mix.size()))).deepCopy();
+            long n = sequence.incrementAndGet();
+            request.put("requestId", "load-" + n);
+            request.put("seed", random.nextLong(1, 1_000_000));
+            request.put("tick", n * 10);
+            return objectMapper.writeValueAsString(request);
+        }
+
+        private void tally(
+                String responseBody,
+                Map<String, AtomicLong> completionCounts,
+                AtomicLong directorResponses,
+                AtomicLong fallbacks
+        ) {
+            JsonNode explain;
+            try {
+                explain = objectMapper.readTree(responseBody).path("explain");
+            } catch (Exception ex) {
+                return;
+            }
+            String completionCount = null;
+            boolean fallback = false;
+            for (JsonNode item : explain) {
+                String marker = item.asText();
+                if (marker.startsWith("llmCompletionCount:")) {
+                    completionCount = marker.substring("llmCompletionCount:".length());
+                } else if (marker.equals("directorStage:fallback-deterministic")) {
+                    fallback = true;
+                }
+            }
+            if (completionCount == null) {
+                return;
+            }
+            directorResponses.incrementAndGet();
+            completionCounts.computeIfAbsent(completionCount, ignored -> new AtomicLong()).incrementAndGet();
+            if (fallback) {
+                fallbacks.incrementAndGet();
+            }
+        }
+    }
+}
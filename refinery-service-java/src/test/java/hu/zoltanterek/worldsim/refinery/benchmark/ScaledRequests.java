@@ -0,0 +1,87 @@
+package hu.zoltanterek.worldsim.refinery.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Example requests from {@code examples/requests} with a synthetic {@code snapshot.director} block whose
+ * {@code activeBeats} and {@code activeDirectives} arrays grow with the scale factor; scale {@code 0} keeps the
+ * examples unchanged. The directory can be overridden with {@code -Dworldsim.benchmark.requestsDir}, for forked JMH
+ * runs that do not start in the project directory.
+ */
+public final class ScaledRequests {
+    private static final Path REQUESTS_DIR = Path.of(System.getProperty("worldsim.benchmark.requestsDir", "examples/requests"));
+    private static final String[] SEVERITIES = {"minor", "major", "epic"};
+    private static final String[] DIRECTIVES = {"PrioritizeFood", "StabilizeMorale", "BoostIndustry"};
+
+    private ScaledRequests() {
+    }
+
+    public static List<NamedRequest> load(ObjectMapper objectMapper, int scale) throws IOException {
+        List<NamedRequest> requests = new ArrayList<>();
+        try (Stream<Path> files = Files.list(REQUESTS_DIR)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".json")).sorted().toList()) {
+                ObjectNode request = (ObjectNode) objectMapper.readTree(Files.readString(file, StandardCharsets.UTF_8));
+                scale((ObjectNode) request.get("snapshot"), scale);
+                requests.add(new NamedRequest(file.getFileName().toString(), request));
+            }
+        }
+        return requests;
+    }
+
+    public static void scale(ObjectNode snapshot, int scale) {
+        if (scale <= 0) {
+            return;
+        }
+        ObjectNode director = snapshot.has("director") ? (ObjectNode) snapshot.get("director") : snapshot.putObject("director");
+        director.put("colonyPopulation", 40 + scale);
+        director.put("beatCooldownRemainingTicks", 0);
+        ArrayNode activeBeats = director.putArray("activeBeats");
+        ArrayNode activeDirectives = director.putArray("activeDirectives");
+        for (int i = 0; i < scale; i++) {
+            activeBeats.addObject()
+                    .put("beatId", "BEAT_SCALED_" + i)
+                    .put("severity", SEVERITIES[i % SEVERITIES.length])
+                    .put("remainingTicks", 8 + i % 90);
+            activeDirectives.addObject()
+                    .put("colonyId", i % 16)
+                    .put("directive", DIRECTIVES[i % DIRECTIVES.length])
+                    .put("remainingTicks", 4 + i % 40);
+        }
+    }
+
+    /**
+     * Adds {@code snapshot.terrain.tiles} and {@code snapshot.colonies} arrays of {@code scale} entries; the director
+     * snapshot mapper reads neither.
+     */
+    public static void addUnreadBulk(ObjectNode snapshot, int scale) {
+        ArrayNode tiles = snapshot.putObject("terrain").putArray("tiles");
+        ArrayNode colonies = snapshot.putArray("colonies");
+        for (int i = 0; i < scale; i++) {
+            tiles.addObject()
+                    .put("x", i % 256)
+                    .put("y", i / 256)
+                    .put("biome", i % 3 == 0 ? "forest" : "plains")
+                    .put("fertility", (i % 10) / 10.0);
+            ObjectNode colony = colonies.addObject()
+                    .put("colonyId", i % 16)
+                    .put("name", "Colony " + i);
+            colony.putObject("stock")
+                    .put("food", 100 + i % 50)
+                    .put("wood", 40 + i % 30);
+            colony.putArray("tags").add("settled").add("tier" + i % 4);
+        }
+    }
+
+    public record NamedRequest(String name, ObjectNode body) {
+    }
+}
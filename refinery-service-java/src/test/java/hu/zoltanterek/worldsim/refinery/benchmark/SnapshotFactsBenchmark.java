@@ -0,0 +1,93 @@
+package hu.zoltanterek.worldsim.refinery.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDesign;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorSnapshotMapper;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorSnapshotStreamMapper;
+
+/**
+ * Allocation and time per request for director facts extraction: binding the full {@link PatchRequest} tree and
+ * running {@link DirectorSnapshotMapper}, vs the request {@link DirectorSnapshotStreamMapper} hands the planners on
+ * the JSON {@code /v1/patch} path.
+ * The synthetic snapshot carries scaled director arrays plus unread {@code terrain.tiles}/{@code colonies} bulk.
+ * Run with {@code ./gradlew snapshotFactsBenchmark}.
+ */
+public final class SnapshotFactsBenchmark {
+    private static final int[] SCALES = {16, 256, 4096, 16384};
+    private static final int DIRECTOR_ITEMS = 8;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 2_000;
+
+    private SnapshotFactsBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        DirectorSnapshotMapper treeMapper = new DirectorSnapshotMapper();
+        DirectorSnapshotStreamMapper streamMapper = new DirectorSnapshotStreamMapper(objectMapper);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        System.out.printf(Locale.ROOT, "%6s %10s %14s %14s %11s %11s%n",
+                "scale", "bytes", "treeAllocKB", "streamAllocKB", "treeUs", "streamUs");
+        for (int scale : SCALES) {
+            ObjectNode request = ScaledRequests.load(objectMapper, 0).stream()
+                    .filter(named -> named.name().equals("patch-season-director-v1.json"))
+                    .findFirst()
+                    .orElseThrow()
+                    .body();
+            ObjectNode snapshot = (ObjectNode) request.get("snapshot");
+            ScaledRequests.scale(snapshot, DIRECTOR_ITEMS);
+            ScaledRequests.addUnreadBulk(snapshot, scale);
+            byte[] payload = objectMapper.writeValueAsBytes(request);
+            int iterations = Math.max(20, MEASURED_ITERATIONS * 16 / scale);
+
+            Measurement tree = measure(threads, iterations, () -> {
+                PatchRequest bound = objectMapper.readValue(payload, PatchRequest.class);
+                return treeMapper.map(bound, DirectorDesign.DEFAULT_INFLUENCE_BUDGET).activeBeats().size();
+            });
+            Measurement stream = measure(threads, iterations, () ->
+                    treeMapper.map(streamMapper.read(payload).plannerRequest(), DirectorDesign.DEFAULT_INFLUENCE_BUDGET).activeBeats().size());
+
+            System.out.printf(Locale.ROOT, "%6d %10d %14.1f %14.1f %11.1f %11.1f%n",
+                    scale,
+                    payload.length,
+                    tree.allocatedBytes() / 1024.0,
+                    stream.allocatedBytes() / 1024.0,
+                    tree.micros(),
+                    stream.micros());
+        }
+    }
+
+    private static Measurement measure(com.sun.management.ThreadMXBean threads, int iterations, Extraction extraction) throws Exception {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            checksum += extraction.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += extraction.run();
+        }
+        double micros = (System.nanoTime() - startedAt) / 1_000.0 / iterations;
+        double allocated = (double) (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / iterations;
+        if (checksum == Long.MIN_VALUE) {
+            System.out.println(checksum);
+        }
+        return new Measurement(allocated, micros);
+    }
+
+    @FunctionalInterface
+    private interface Extraction {
+        int run() throws Exception;
+    }
+
+    private record Measurement(double allocatedBytes, double micros) {
+    }
+}
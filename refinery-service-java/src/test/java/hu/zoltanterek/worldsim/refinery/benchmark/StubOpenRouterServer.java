@@ -0,0 +1,227 @@
+package hu.zoltanterek.worldsim.refinery.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for the OpenRouter {@code POST /chat/completions} endpoint that {@code OpenRouterClient} calls.
+ * Each call sleeps for a sample of the configured {@link LatencyDistribution}, fails with HTTP 503 at
+ * {@code failureRate}, and otherwise answers with one of the canned {@link Payload}s picked by weight.
+ */
+public final class StubOpenRouterServer implements AutoCloseable {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LatencyDistribution latency;
+    private final double failureRate;
+    private final Map<Payload, Integer> payloadWeights;
+    private final int totalWeight;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong injectedFailures = new AtomicLong();
+    private final Map<Payload, AtomicLong> served = new ConcurrentHashMap<>();
+
+    public StubOpenRouterServer(LatencyDistribution latency, double failureRate, Map<Payload, Integer> payloadWeights)
+            throws IOException {
+        this.latency = latency;
+        this.failureRate = Math.max(0.0, Math.min(1.0, failureRate));
+        this.payloadWeights = new LinkedHashMap<>(payloadWeights);
+        this.totalWeight = payloadWeights.values().stream().mapToInt(weight -> Math.max(0, weight)).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("At least one payload needs a positive weight.");
+        }
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        server.createContext("/chat/completions", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+
+    public long injectedFailures() {
+        return injectedFailures.get();
+    }
+
+    public Map<Payload, Long> served() {
+        Map<Payload, Long> counts = new LinkedHashMap<>();
+        for (Payload payload : Payload.values()) {
+            counts.put(payload, served.getOrDefault(payload, new AtomicLong()).get());
+        }
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+            calls.incrementAndGet();
+            sleepMillis(latency.sampleMillis());
+
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"error\":\"method not allowed\"}");
+                return;
+            }
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                injectedFailures.incrementAndGet();
+                respond(exchange, 503, "{\"error\":{\"message\":\"stub injected failure\"}}");
+                return;
+            }
+
+            Payload payload = pickPayload();
+            served.computeIfAbsent(payload, ignored -> new AtomicLong()).incrementAndGet();
+            String completion = OBJECT_MAPPER.writeValueAsString(Map.of(
+                    "id", "stub-" + calls.get(),
+                    "object", "chat.completion",
+                    "choices", List.of(Map.of(
+                            "index", 0,
+                            "finish_reason", "stop",
+                            "message", Map.of("role", "assistant", "content", payload.content())
+                    ))
+            ));
+            respond(exchange, 200, completion);
+        }
+    }
+
+    private Payload pickPayload() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Payload, Integer> entry : payloadWeights.entrySet()) {
+            roll -= Math.max(0, entry.getValue());
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Payload.VALID;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleepMillis(double millis) {
+        if (millis <= 0.0) {
+            return;
+        }
+        try {
+            Thread.sleep((long) millis, (int) ((millis % 1.0) * 1_000_000));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Canned assistant contents. {@code INVALID} parses but names an unknown directive, so the director validator
+     * rejects it and the pipeline retries; {@code MALFORMED} is not JSON at all.
+     */
+    public enum Payload {
+        VALID("""
+                {"explanation":"Food stocks are thin, so farming gets a nudge.","designatedOutput":{\
+                "storyBeatSlot":{"beatId":"BEAT_STUB_HARVEST","text":"A lean harvest tests the granaries.",\
+                "durationTicks":24,"severity":"minor","effects":[{"kind":"domain_modifier","domain":"food",\
+                "modifier":-0.05,"durationTicks":24}]},\
+                "directiveSlot":{"colonyId":0,"directive":"PrioritizeFood","durationTicks":20,\
+                "biases":[{"kind":"goal_bias","goalCategory":"farming","weight":0.3,"durationTicks":20}]}}}"""),
+        INVALID("""
+                {"explanation":"Push an unknown directive.","designatedOutput":{"storyBeatSlot":null,\
+                "directiveSlot":{"colonyId":0,"directive":"UnknownDirective","durationTicks":20,"biases":[]}}}"""),
+        MALFORMED("Sorry, I can only answer in prose today.");
+
+        private final String content;
+
+        Payload(String content) {
+            this.content = content;
+        }
+
+        public String content() {
+            return content;
+        }
+    }
+
+    /**
+     * {@code fixed:<ms>}, {@code uniform:<minMs>-<maxMs>} or {@code lognormal:<medianMs>,<sigma>}.
+     */
+    public record LatencyDistribution(String kind, double a, double b) {
+        public static LatencyDistribution parse(String spec) {
+            String[] parts = spec.trim().split(":", 2);
+            String kind = parts[0].toLowerCase(Locale.ROOT);
+            String args = parts.length > 1 ? parts[1] : "0";
+            return switch (kind) {
+                case "fixed" -> new LatencyDistribution(kind, Double.parseDouble(args), 0.0);
+                case "uniform" -> {
+                    String[] range = args.split("-", 2);
+                    yield new LatencyDistribution(kind, Double.parseDouble(range[0]), Double.parseDouble(range[1]));
+                }
+                case "lognormal" -> {
+                    String[] shape = args.split(",", 2);
+                    yield new LatencyDistribution(kind, Double.parseDouble(shape[0]), Double.parseDouble(shape[1]));
+                }
+                default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            };
+        }
+
+        public double sampleMillis() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return switch (kind) {
+                case "uniform" -> a + random.nextDouble() * Math.max(0.0, b - a);
+                case "lognormal" -> a * Math.exp(b * random.nextGaussian());
+                default -> a;
+            };
+        }
+
+        @Override
+        public String toString() {
+            return switch (kind) {
+                case "uniform" -> String.format(Locale.ROOT, "uniform:%.0f-%.0f", a, b);
+                case "lognormal" -> String.format(Locale.ROOT, "lognormal:%.0f,%.2f", a, b);
+                default -> String.format(Locale.ROOT, "fixed:%.0f", a);
+            };
+        }
+    }
+
+    static Map<Payload, Integer> parseWeights(String spec) {
+        Map<Payload, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":", 2);
+            weights.put(Payload.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    static List<String> describe(Map<Payload, Long> counts) {
+        List<String> lines = new ArrayList<>();
+        counts.forEach((payload, count) -> lines.add(payload.name().toLowerCase(Locale.ROOT) + "=" + count));
+        return lines;
+    }
+}
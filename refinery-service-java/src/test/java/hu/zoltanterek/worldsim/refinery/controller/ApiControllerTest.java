@@ -20,6 +20,9 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import hu.zoltanterek.worldsim.refinery.benchmark.ScaledRequests;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -62,6 +65,16 @@ class ApiControllerTest {
         assertPatchFixture("patch-season-director-v1");
     }
 
+    @Test
+    void patchSeasonDirectorWithUnreadSnapshotBulkMatchesExpectedResponse() throws Exception {
+        ObjectNode request = (ObjectNode) readJson("examples/requests/patch-season-director-v1.json");
+        ScaledRequests.addUnreadBulk((ObjectNode) request.get("snapshot"), 64);
+
+        JsonNode actual = postJson(objectMapper.writeValueAsString(request), status().isOk());
+
+        assertJsonEquals(readJson("examples/responses/patch-season-director-v1.expected.json"), actual);
+    }
+
     @Test
     void patchBadSchemaReturns400WithErrorFields() throws Exception {
         JsonNode body = postFixture("examples/negative/requests/patch-bad-schema.json", status().isBadRequest());
@@ -96,7 +109,10 @@ class ApiControllerTest {
     }
 
     private JsonNode postFixture(String fixturePath, org.springframework.test.web.servlet.ResultMatcher status) throws Exception {
-        String requestBody = Files.readString(Path.of(fixturePath), StandardCharsets.UTF_8);
+        return postJson(Files.readString(Path.of(fixturePath), StandardCharsets.UTF_8), status);
+    }
+
+    private JsonNode postJson(String requestBody, org.springframework.test.web.servlet.ResultMatcher status) throws Exception {
         MvcResult result = mockMvc.perform(post("/v1/patch")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestBody))
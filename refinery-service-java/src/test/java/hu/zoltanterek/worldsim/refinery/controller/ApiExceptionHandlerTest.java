@@ -0,0 +1,60 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+
+import hu.zoltanterek.worldsim.refinery.model.ErrorResponse;
+import hu.zoltanterek.worldsim.refinery.service.RequestMetrics;
+import hu.zoltanterek.worldsim.refinery.service.WorldSessionConflictException;
+
+class ApiExceptionHandlerTest {
+    private final RequestMetrics requestMetrics = new RequestMetrics();
+    private final ApiExceptionHandler handler = new ApiExceptionHandler(requestMetrics);
+
+    @Test
+    void handleCompletion_UnwrapsIllegalArgumentToBadRequest() throws Throwable {
+        ResponseEntity<ErrorResponse> response = handler.handleCompletion(
+                new CompletionException(new CompletionException(new IllegalArgumentException("unknown goal")))
+        );
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals(List.of("unknown goal"), response.getBody().details());
+    }
+
+    @Test
+    void handleCompletion_UnwrapsSessionConflictTo409() throws Throwable {
+        ResponseEntity<ErrorResponse> response = handler.handleCompletion(
+                new CompletionException(new WorldSessionConflictException("stale", 3L))
+        );
+
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals("3", response.getHeaders().getFirst(PatchController.SESSION_VERSION_HEADER));
+    }
+
+    @Test
+    void handleCompletion_MapsOtherCausesToInternalError() throws Throwable {
+        ResponseEntity<ErrorResponse> response = handler.handleCompletion(
+                new CompletionException(new IllegalStateException("boom"))
+        );
+
+        assertEquals(500, response.getStatusCode().value());
+        assertEquals(Map.of("internal", 1L), requestMetrics.errors());
+    }
+
+    @Test
+    void handleUnexpected_LeavesSpringWebExceptionsToTheDefaultResolvers() {
+        AsyncRequestTimeoutException timeout = new AsyncRequestTimeoutException();
+
+        assertSame(timeout, assertThrows(AsyncRequestTimeoutException.class, () -> handler.handleUnexpected(timeout)));
+        assertEquals(Map.of(), requestMetrics.errors());
+    }
+}
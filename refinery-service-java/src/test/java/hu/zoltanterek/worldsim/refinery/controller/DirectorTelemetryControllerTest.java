@@ -6,6 +6,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -24,7 +26,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
         "planner.llm.enabled=false",
         "planner.refinery.enabled=true",
         "planner.director.maxRetries=0",
-        "planner.director.outputMode=both"
+        "planner.director.outputMode=both",
+        "planner.telemetry.stageTimingExplain=true"
 })
 @AutoConfigureMockMvc
 class DirectorTelemetryControllerTest {
@@ -48,6 +51,13 @@ class DirectorTelemetryControllerTest {
         assertTrue(body.has("averageLlmCompletionCount"));
         assertTrue(body.has("sanitizedProposalCount"));
         assertTrue(body.has("causalChainOpCountTotal"));
+        assertTrue(body.path("recentWindows").path("last5m").has("fallbackRate"));
+        assertTrue(body.has("artifactStore"));
+        assertTrue(body.path("solverCache").has("hits"));
+        assertTrue(body.path("solverCache").has("evictions"));
+        assertTrue(body.path("llmCompletionCache").has("hits"));
+        assertTrue(body.path("llmCompletionCache").has("bytesServed"));
+        assertTrue(body.path("idempotencyCache").has("coalesced"));
         assertTrue(body.has("lastUpdatedUtc"));
         assertTrue(body.has("pipelineVersion"));
     }
@@ -77,6 +87,25 @@ class DirectorTelemetryControllerTest {
         assertTrue(after.path("averageLlmCompletionCount").asDouble() >= 0.0);
     }
 
+    @Test
+    void stageLatenciesAndExplainMarkersCoverDirectorPipeline() throws Exception {
+        JsonNode response = postDirectorRequest(0, 2);
+
+        List<String> explain = new ArrayList<>();
+        response.path("explain").forEach(item -> explain.add(item.asText()));
+        for (String stage : List.of("mock", "llm", "validation", "total")) {
+            assertTrue(explain.stream().anyMatch(item -> item.startsWith("stageTimingMs:" + stage + "=")), stage + " in " + explain);
+        }
+
+        JsonNode latencies = getTelemetry().path("stageLatencies");
+        for (String stage : List.of("director.mock", "director.llm", "director.validation", "director.total", "http.bind")) {
+            JsonNode histogram = latencies.path(stage);
+            assertTrue(histogram.path("count").asLong() >= 1, stage + " in " + latencies);
+            assertTrue(histogram.path("p50Ms").asDouble() <= histogram.path("p99Ms").asDouble());
+            assertTrue(histogram.path("p99Ms").asDouble() <= histogram.path("maxMs").asDouble());
+        }
+    }
+
     private JsonNode getTelemetry() throws Exception {
         MvcResult result = mockMvc.perform(get("/v1/director/telemetry"))
                 .andExpect(status().isOk())
@@ -84,7 +113,13 @@ class DirectorTelemetryControllerTest {
         return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
     }
 
-    private void postDirectorRequest(long storyBeatCooldownTicks, int colonyCount) throws Exception {
+    @Test
+    void solverObservabilityLookupReturnsNotFoundForUnknownRequest() throws Exception {
+        mockMvc.perform(get("/v1/director/solver-observability/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode postDirectorRequest(long storyBeatCooldownTicks, int colonyCount) throws Exception {
         String request = """
                 {
                   "schemaVersion": "v1",
@@ -101,9 +136,11 @@ class DirectorTelemetryControllerTest {
                 }
                 """.formatted(UUID.randomUUID(), colonyCount, storyBeatCooldownTicks);
 
-        mockMvc.perform(post("/v1/patch")
+        MvcResult result = mockMvc.perform(post("/v1/patch")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(request))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
     }
 }
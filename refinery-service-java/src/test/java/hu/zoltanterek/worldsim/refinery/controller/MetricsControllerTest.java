@@ -0,0 +1,97 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = {
+        "planner.mode=pipeline",
+        "planner.llm.enabled=false",
+        "planner.refinery.enabled=true",
+        "planner.director.maxRetries=0",
+        "planner.director.outputMode=both"
+})
+@AutoConfigureMockMvc
+class MetricsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void metricsEndpointExportsTelemetryRequestsErrorsAndJvm() throws Exception {
+        postDirectorRequest();
+        mockMvc.perform(post("/v1/patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{not json"))
+                .andExpect(status().isBadRequest());
+
+        MvcResult result = mockMvc.perform(get("/metrics"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertTrue(result.getResponse().getContentType().startsWith("text/plain"));
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<String> lines = body.lines().toList();
+
+        String labels = "planner_mode=\"pipeline\",director_output_mode=\"both\"";
+        assertTrue(lines.contains("# TYPE worldsim_telemetry_director_requests_count_total counter"), body);
+        assertTrue(hasPositiveSample(lines, "worldsim_telemetry_director_requests_count_total{" + labels + "}"), body);
+        assertTrue(lines.contains("# TYPE worldsim_telemetry_retry_attempts_total counter"), body);
+        assertTrue(lines.contains("# TYPE worldsim_telemetry_solver_cache_hits_total counter"), body);
+        assertTrue(lines.contains("# TYPE worldsim_telemetry_idempotency_cache_enabled gauge"), body);
+        assertTrue(hasPositiveSample(lines,
+                "worldsim_telemetry_stage_latency_seconds_count{stage=\"director.total\"," + labels + "}"), body);
+
+        assertTrue(hasPositiveSample(lines,
+                "worldsim_patch_requests_total{goal=\"SEASON_DIRECTOR_CHECKPOINT\"," + labels + "}"), body);
+        assertTrue(lines.stream().anyMatch(line ->
+                line.startsWith("worldsim_patch_latency_seconds{goal=\"SEASON_DIRECTOR_CHECKPOINT\"," + labels + ",quantile=\"0.99\"} ")), body);
+        assertTrue(hasPositiveSample(lines, "worldsim_api_errors_total{type=\"bad_request\"," + labels + "}"), body);
+
+        assertTrue(hasPositiveSample(lines, "jvm_memory_bytes_used{area=\"heap\"}"), body);
+        assertTrue(lines.contains("# TYPE jvm_gc_collection_seconds summary"), body);
+        assertTrue(hasPositiveSample(lines, "jvm_threads_current"), body);
+        assertEquals(1, lines.stream().filter(line -> line.equals("# TYPE worldsim_patch_requests_total counter")).count());
+    }
+
+    private static boolean hasPositiveSample(List<String> lines, String series) {
+        return lines.stream()
+                .filter(line -> line.startsWith(series + " "))
+                .anyMatch(line -> Double.parseDouble(line.substring(series.length() + 1)) > 0.0);
+    }
+
+    private void postDirectorRequest() throws Exception {
+        String request = """
+                {
+                  "schemaVersion": "v1",
+                  "requestId": "%s",
+                  "seed": 321,
+                  "tick": 128,
+                  "goal": "SEASON_DIRECTOR_CHECKPOINT",
+                  "snapshot": {
+                    "world": {
+                      "colonyCount": 2,
+                      "storyBeatCooldownTicks": 0
+                    }
+                  }
+                }
+                """.formatted(UUID.randomUUID());
+
+        mockMvc.perform(post("/v1/patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isOk());
+    }
+}
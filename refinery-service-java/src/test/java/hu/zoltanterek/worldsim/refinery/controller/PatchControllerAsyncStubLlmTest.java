@@ -0,0 +1,107 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import hu.zoltanterek.worldsim.refinery.benchmark.StubOpenRouterServer;
+
+/**
+ * Same sync/async comparison as {@link PatchControllerAsyncTest}, but with an API key and a local OpenRouter stub,
+ * so the async path really goes through {@code HttpClient.sendAsync} and continues on the application executor.
+ */
+@SpringBootTest(properties = {
+        "planner.mode=pipeline",
+        "planner.refinery.enabled=true",
+        "planner.llm.enabled=true",
+        "planner.llm.apiKey=stub-key",
+        "planner.director.outputMode=both",
+        "planner.director.maxRetries=1"
+})
+@AutoConfigureMockMvc
+class PatchControllerAsyncStubLlmTest {
+    private static final StubOpenRouterServer stubLlm = startStubLlm();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void llmProperties(DynamicPropertyRegistry registry) {
+        registry.add("planner.llm.baseUrl", stubLlm::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStubLlm() {
+        stubLlm.close();
+    }
+
+    @Test
+    void asyncDirectorPatchSendsCompletionAndMatchesSyncResponse() throws Exception {
+        String requestBody = Files.readString(
+                Path.of("examples/requests/patch-season-director-v1.json"),
+                StandardCharsets.UTF_8
+        );
+
+        MvcResult syncResult = mockMvc.perform(post("/v1/patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn();
+        long callsAfterSync = stubLlm.calls();
+
+        MvcResult started = mockMvc.perform(post("/v1/patch:async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult asyncResult = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode expected = objectMapper.readTree(syncResult.getResponse().getContentAsString());
+        JsonNode actual = objectMapper.readTree(asyncResult.getResponse().getContentAsString());
+        assertEquals(1L, callsAfterSync);
+        assertEquals(2L, stubLlm.calls());
+        assertTrue(actual.path("explain").toString().contains("llmCompletionCount:1"), actual.path("explain").toString());
+        assertTrue(actual.path("explain").toString().contains("directorStage:refinery-validated"));
+        assertEquals(expected, actual);
+    }
+
+    private static StubOpenRouterServer startStubLlm() {
+        try {
+            return new StubOpenRouterServer(
+                    StubOpenRouterServer.LatencyDistribution.parse("fixed:0"),
+                    0.0,
+                    Map.of(StubOpenRouterServer.Payload.VALID, 1)
+            );
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
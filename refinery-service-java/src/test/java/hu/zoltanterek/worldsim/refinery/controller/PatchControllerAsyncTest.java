@@ -0,0 +1,81 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = {
+        "planner.mode=pipeline",
+        "planner.refinery.enabled=true",
+        "planner.llm.enabled=true",
+        "planner.llm.apiKey=",
+        "planner.director.outputMode=both"
+})
+@AutoConfigureMockMvc
+class PatchControllerAsyncTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void asyncDirectorPatchMatchesSyncResponse() throws Exception {
+        assertAsyncMatchesSync("examples/requests/patch-season-director-v1.json");
+    }
+
+    @Test
+    void asyncTechTreePatchMatchesSyncResponse() throws Exception {
+        assertAsyncMatchesSync("examples/requests/patch-tech-tree-v1.json");
+    }
+
+    @Test
+    void asyncBadSchemaReturns400() throws Exception {
+        mockMvc.perform(post("/v1/patch:async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Files.readString(
+                                Path.of("examples/negative/requests/patch-bad-schema.json"),
+                                StandardCharsets.UTF_8
+                        )))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertAsyncMatchesSync(String fixturePath) throws Exception {
+        String requestBody = Files.readString(Path.of(fixturePath), StandardCharsets.UTF_8);
+
+        MvcResult syncResult = mockMvc.perform(post("/v1/patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        MvcResult started = mockMvc.perform(post("/v1/patch:async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult asyncResult = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode expected = objectMapper.readTree(syncResult.getResponse().getContentAsString());
+        JsonNode actual = objectMapper.readTree(asyncResult.getResponse().getContentAsString());
+        assertEquals(expected, actual);
+    }
+}
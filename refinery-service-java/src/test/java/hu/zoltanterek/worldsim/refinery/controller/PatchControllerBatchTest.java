@@ -0,0 +1,144 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+@SpringBootTest(properties = "planner.batch.maxItems=8")
+@AutoConfigureMockMvc
+class PatchControllerBatchTest {
+    private static final List<String> FIXTURES = List.of(
+            "examples/requests/patch-tech-tree-v1.json",
+            "examples/negative/requests/patch-bad-schema.json",
+            "examples/requests/patch-season-director-v1.json",
+            "examples/negative/requests/patch-missing-required.json",
+            "examples/requests/patch-world-event-v1.json"
+    );
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void batchReturnsPerItemResultsInInputOrder() throws Exception {
+        ArrayNode batch = objectMapper.createArrayNode();
+        for (String fixture : FIXTURES) {
+            batch.add(readJson(fixture));
+        }
+        batch.addNull();
+
+        JsonNode body = postJson("/v1/patch:batch", batch.toString(), status().isOk());
+
+        assertEquals(3, body.path("succeeded").asInt());
+        assertEquals(3, body.path("failed").asInt());
+        JsonNode results = body.path("results");
+        assertEquals(6, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).path("index").asInt());
+        }
+
+        for (int i : new int[] {0, 2, 4}) {
+            JsonNode single = postJson("/v1/patch", readJson(FIXTURES.get(i)).toString(), status().isOk());
+            assertEquals(single, results.get(i).path("response"));
+            assertEquals(single.path("requestId"), results.get(i).path("requestId"));
+            assertFalse(results.get(i).has("error"));
+        }
+
+        assertEquals("Bad request", results.get(1).path("error").path("message").asText());
+        assertTrue(results.get(1).path("error").path("details").get(0).asText().contains("schemaVersion"));
+        assertFalse(results.get(1).has("response"));
+        assertEquals("Validation failed", results.get(3).path("error").path("message").asText());
+        assertTrue(results.get(3).path("error").path("details").get(0).asText().startsWith("goal:"));
+        assertEquals("Validation failed", results.get(5).path("error").path("message").asText());
+    }
+
+    @Test
+    void batchOverMaxItemsReturns400() throws Exception {
+        ArrayNode batch = objectMapper.createArrayNode();
+        for (int i = 0; i < 9; i++) {
+            batch.add(readJson(FIXTURES.get(0)));
+        }
+
+        JsonNode body = postJson("/v1/patch:batch", batch.toString(), status().isBadRequest());
+
+        assertEquals("Bad request", body.path("message").asText());
+        assertTrue(body.path("details").get(0).asText().contains("maxItems=8"));
+    }
+
+    @Test
+    void batchWithNullBodyReturns400() throws Exception {
+        JsonNode body = postJson("/v1/patch:batch", "null", status().isBadRequest());
+
+        assertEquals("Bad request", body.path("message").asText());
+        assertTrue(body.path("details").get(0).asText().contains("JSON array"));
+    }
+
+    @Test
+    void streamReturnsOneNdjsonLinePerRequest() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (String fixture : FIXTURES) {
+            ndjson.append(readJson(fixture).toString()).append('\n');
+        }
+
+        String response = mockMvc.perform(post("/v1/patch:stream")
+                        .contentType("application/x-ndjson")
+                        .accept("application/x-ndjson")
+                        .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(FIXTURES.size(), lines.length);
+        JsonNode[] byIndex = new JsonNode[FIXTURES.size()];
+        for (String line : lines) {
+            JsonNode item = objectMapper.readTree(line);
+            byIndex[item.path("index").asInt()] = item;
+        }
+        for (int i : new int[] {0, 2, 4}) {
+            JsonNode single = postJson("/v1/patch", readJson(FIXTURES.get(i)).toString(), status().isOk());
+            assertEquals(single, byIndex[i].path("response"));
+        }
+        assertEquals("Bad request", byIndex[1].path("error").path("message").asText());
+        assertEquals("Validation failed", byIndex[3].path("error").path("message").asText());
+    }
+
+    private JsonNode postJson(String path, String content, ResultMatcher expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        expectedStatus.match(result);
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private JsonNode readJson(String path) throws Exception {
+        return objectMapper.readTree(Files.readString(Path.of(path), StandardCharsets.UTF_8));
+    }
+}
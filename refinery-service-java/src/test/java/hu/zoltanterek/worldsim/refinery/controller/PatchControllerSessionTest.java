@@ -0,0 +1,103 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+@SpringBootTest(properties = "planner.sessions.maxSessions=16")
+@AutoConfigureMockMvc
+class PatchControllerSessionTest {
+    private static final String FIXTURE = "examples/requests/patch-season-director-v1.json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deltaRequestPlansLikeTheEquivalentFullSnapshot() throws Exception {
+        ObjectNode full = readFixture();
+        postJson("/v1/sessions/world-a/patch", full.toString())
+                .andExpect(status().isOk())
+                .andExpect(header().string(PatchController.SESSION_VERSION_HEADER, "1"));
+
+        ObjectNode delta = readFixture();
+        delta.remove("snapshot");
+        delta.put("tick", 256).put("baseVersion", 1);
+        delta.putArray("snapshotDelta").addObject()
+                .put("op", "replace")
+                .put("path", "/world/storyBeatCooldownTicks")
+                .put("value", 30);
+        JsonNode viaSession = objectMapper.readTree(postJson("/v1/sessions/world-a/patch", delta.toString())
+                .andExpect(status().isOk())
+                .andExpect(header().string(PatchController.SESSION_VERSION_HEADER, "2"))
+                .andReturn().getResponse().getContentAsString());
+
+        ObjectNode equivalent = readFixture();
+        equivalent.put("tick", 256);
+        ((ObjectNode) equivalent.path("snapshot").path("world")).put("storyBeatCooldownTicks", 30);
+        JsonNode viaFull = objectMapper.readTree(postJson("/v1/patch", equivalent.toString())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(viaFull, viaSession);
+
+        JsonNode conflict = objectMapper.readTree(postJson("/v1/sessions/world-a/patch", delta.toString())
+                .andExpect(status().isConflict())
+                .andExpect(header().string(PatchController.SESSION_VERSION_HEADER, "2"))
+                .andReturn().getResponse().getContentAsString());
+        assertEquals("Session conflict", conflict.path("message").asText());
+
+        postJson("/v1/sessions/world-b/patch", delta.toString()).andExpect(status().isConflict());
+        delta.put("baseVersion", 2).putArray("snapshotDelta").addObject().put("op", "move").put("path", "/world");
+        postJson("/v1/sessions/world-a/patch", delta.toString()).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void failedPlanDoesNotAdvanceTheSession() throws Exception {
+        postJson("/v1/sessions/world-c/patch", readFixture().toString())
+                .andExpect(status().isOk())
+                .andExpect(header().string(PatchController.SESSION_VERSION_HEADER, "1"));
+
+        ObjectNode delta = readFixture();
+        delta.remove("snapshot");
+        delta.put("baseVersion", 1);
+        delta.putArray("snapshotDelta").addObject()
+                .put("op", "replace")
+                .put("path", "/world/storyBeatCooldownTicks")
+                .put("value", 30);
+        delta.put("schemaVersion", "v0");
+        postJson("/v1/sessions/world-c/patch", delta.toString()).andExpect(status().isBadRequest());
+
+        delta.put("schemaVersion", "v1");
+        postJson("/v1/sessions/world-c/patch", delta.toString())
+                .andExpect(status().isOk())
+                .andExpect(header().string(PatchController.SESSION_VERSION_HEADER, "2"));
+    }
+
+    private ResultActions postJson(String path, String content) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content));
+    }
+
+    private ObjectNode readFixture() throws Exception {
+        return (ObjectNode) objectMapper.readTree(Files.readString(Path.of(FIXTURE), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,151 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.threads.virtual.enabled=true",
+                "server.tomcat.threads.max=16",
+                "planner.mode=pipeline",
+                "planner.refinery.enabled=false",
+                "planner.llm.enabled=true",
+                "planner.llm.apiKey=stub-key",
+                "planner.llm.timeoutMs=20000",
+                "planner.director.maxRetries=0"
+        }
+)
+class PatchControllerVirtualThreadLoadTest {
+    private static final int CONCURRENT_CHECKPOINTS = 200;
+    private static final int REQUIRED_IN_FLIGHT = 101;
+    // The stub holds every completion until REQUIRED_IN_FLIGHT calls are open at once, so the peak no longer depends
+    // on how fast callers ramp up. Capped at 16 platform threads the barrier could only release by timing out, and
+    // every wave of 16 would wait out the full timeout.
+    private static final long STUB_BARRIER_TIMEOUT_MS = 8_000L;
+    private static final int PLATFORM_THREAD_CAP = 16;
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+    private static final AtomicInteger completions = new AtomicInteger();
+    private static final CountDownLatch barrier = new CountDownLatch(REQUIRED_IN_FLIGHT);
+    private static final ExecutorService stubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private static final HttpServer stubLlm = startStubLlm();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void llmProperties(DynamicPropertyRegistry registry) {
+        registry.add("planner.llm.baseUrl", () -> "http://127.0.0.1:" + stubLlm.getAddress().getPort());
+    }
+
+    @AfterEach
+    void stopStubLlm() {
+        stubLlm.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void virtualThreadsKeepHundredsOfBlockingLlmCheckpointsInFlight() throws Exception {
+        ObjectNode template = (ObjectNode) objectMapper.readTree(Files.readString(
+                Path.of("examples/requests/patch-season-director-v1.json"),
+                StandardCharsets.UTF_8
+        ));
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        long startedAt = System.nanoTime();
+        List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_CHECKPOINTS; i++) {
+                String body = objectMapper.writeValueAsString(template.deepCopy().put("requestId", "load-" + i));
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create("http://127.0.0.1:" + port + "/v1/patch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                responses.add(callers.submit(() -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+            for (Future<HttpResponse<String>> response : responses) {
+                HttpResponse<String> completed = response.get();
+                assertEquals(200, completed.statusCode(), completed.body());
+                JsonNode json = objectMapper.readTree(completed.body());
+                assertTrue(json.path("explain").toString().contains("llmCompletionCount:1"));
+            }
+        }
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000L;
+
+        assertEquals(CONCURRENT_CHECKPOINTS, completions.get());
+        // With 16 platform workers the stub could never see more than 16 concurrent completions.
+        assertTrue(peakInFlight.get() > 100, "peak in-flight LLM calls: " + peakInFlight.get());
+        assertTrue(
+                elapsedMs < CONCURRENT_CHECKPOINTS / PLATFORM_THREAD_CAP * STUB_BARRIER_TIMEOUT_MS / 2,
+                "elapsedMs=" + elapsedMs + " throughput=" + (CONCURRENT_CHECKPOINTS * 1000L / Math.max(1L, elapsedMs)) + "/s"
+        );
+    }
+
+    private static HttpServer startStubLlm() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+            server.setExecutor(stubExecutor);
+            server.createContext("/chat/completions", exchange -> {
+                int current = inFlight.incrementAndGet();
+                peakInFlight.accumulateAndGet(current, Math::max);
+                try {
+                    exchange.getRequestBody().readAllBytes();
+                    barrier.countDown();
+                    barrier.await(STUB_BARRIER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    byte[] body = "{\"choices\":[{\"message\":{\"content\":\"{}\"}}]}".getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                    completions.incrementAndGet();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    exchange.sendResponseHeaders(500, -1);
+                } finally {
+                    inFlight.decrementAndGet();
+                    exchange.close();
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
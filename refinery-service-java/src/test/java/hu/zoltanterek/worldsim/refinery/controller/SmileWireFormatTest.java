@@ -0,0 +1,114 @@
+package hu.zoltanterek.worldsim.refinery.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.ValidationMessage;
+
+import hu.zoltanterek.worldsim.refinery.benchmark.ScaledRequests;
+
+@SpringBootTest(properties = {
+        "planner.mode=pipeline",
+        "planner.refinery.enabled=true",
+        "planner.director.outputMode=both"
+})
+@AutoConfigureMockMvc
+class SmileWireFormatTest {
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper smile = new SmileMapper();
+
+    @Test
+    void smileRequestAndResponseMatchJsonForEveryExample() throws Exception {
+        for (ScaledRequests.NamedRequest request : ScaledRequests.load(json, 0)) {
+            assertSmileMatchesJson(request.body());
+        }
+    }
+
+    @Test
+    void smileHandlesScaledDirectorSnapshotAndStaysSchemaCompatible() throws Exception {
+        ObjectNode request = (ObjectNode) readJson("examples/requests/patch-season-director-v1.json");
+        ScaledRequests.scale((ObjectNode) request.get("snapshot"), 64);
+        byte[] encoded = smile.writeValueAsBytes(request);
+
+        assertTrue(encoded.length < json.writeValueAsBytes(request).length);
+        assertSchemaValid("examples/schema/patch-request-v1.schema.json", smile.readTree(encoded));
+        JsonNode response = assertSmileMatchesJson(request);
+        assertSchemaValid("examples/schema/patch-response-v1.schema.json", response);
+    }
+
+    @Test
+    void smileErrorResponseUsesSmile() throws Exception {
+        byte[] body = mockMvc.perform(post("/v1/patch")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smile.writeValueAsBytes(readJson("examples/negative/requests/patch-bad-schema.json"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertEquals("Bad request", smile.readTree(body).path("message").asText());
+    }
+
+    private JsonNode assertSmileMatchesJson(JsonNode request) throws Exception {
+        String jsonResponse = mockMvc.perform(post("/v1/patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        byte[] smileResponse = mockMvc.perform(post("/v1/patch")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smile.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        JsonNode decoded = smile.readTree(smileResponse);
+        assertEquals(json.readTree(jsonResponse), decoded);
+        return decoded;
+    }
+
+    private void assertSchemaValid(String schemaPath, JsonNode document) throws Exception {
+        JsonSchema schema = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V202012).getSchema(readJson(schemaPath));
+        Set<ValidationMessage> errors = schema.validate(document);
+        assertTrue(errors.isEmpty(), errors.toString());
+    }
+
+    private JsonNode readJson(String path) throws Exception {
+        return json.readTree(Files.readString(Path.of(path), StandardCharsets.UTF_8));
+    }
+}
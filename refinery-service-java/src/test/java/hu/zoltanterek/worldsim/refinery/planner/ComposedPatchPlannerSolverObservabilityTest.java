@@ -15,6 +15,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
 import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.planner.refinery.DirectorSolverObservabilitySidecar;
 
 class ComposedPatchPlannerSolverObservabilityTest {
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -45,10 +46,17 @@ class ComposedPatchPlannerSolverObservabilityTest {
                 null,
                 new DirectorRefineryPlanner(true, 0, telemetry),
                 telemetry,
+                new DirectorSolverObservabilitySidecar(telemetry, "sync", 64, 256),
+                Runnable::run,
                 "pipeline",
                 "both",
                 5.0,
-                solverObservabilityEnabled
+                solverObservabilityEnabled,
+                256,
+                600_000L,
+                5_000L,
+                512,
+                false
         );
     }
 
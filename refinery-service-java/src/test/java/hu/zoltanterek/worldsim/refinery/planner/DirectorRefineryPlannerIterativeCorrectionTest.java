@@ -4,7 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import hu.zoltanterek.worldsim.refinery.model.Goal;
 import hu.zoltanterek.worldsim.refinery.model.PatchOp;
 import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDesign;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDiagnostic;
 import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
 
 class DirectorRefineryPlannerIterativeCorrectionTest {
@@ -31,11 +35,14 @@ class DirectorRefineryPlannerIterativeCorrectionTest {
         List<PatchOp> recovered = List.of(new PatchOp.SetColonyDirective("op_ok", 0, "PrioritizeFood", 10));
 
         AtomicInteger feedbackCalls = new AtomicInteger();
+        List<DirectorDiagnostic> firstFeedback = new ArrayList<>();
         DirectorRefineryPlanner.DirectorValidationResult result = planner.validateAndRepair(
                 request,
                 invalidCandidate,
                 feedback -> {
-                    feedbackCalls.incrementAndGet();
+                    if (feedbackCalls.incrementAndGet() == 1) {
+                        firstFeedback.addAll(feedback);
+                    }
                     return feedbackCalls.get() == 1 ? java.util.Optional.of(recovered) : java.util.Optional.empty();
                 }
         );
@@ -46,6 +53,11 @@ class DirectorRefineryPlannerIterativeCorrectionTest {
         assertEquals(1, feedbackCalls.get());
         assertEquals(1, result.patch().size());
         assertTrue(result.patch().get(0) instanceof PatchOp.SetColonyDirective);
+        DirectorDiagnostic rejection = firstFeedback.get(0);
+        assertEquals(DirectorDesign.INV_07, rejection.invariantCode());
+        assertEquals(0, rejection.opIndex());
+        assertEquals("directive", rejection.fieldPath());
+        assertEquals("UnknownDirective", rejection.observed());
     }
 
     @Test
@@ -77,6 +89,31 @@ class DirectorRefineryPlannerIterativeCorrectionTest {
         assertTrue(result.warnings().stream().anyMatch(item -> item.contains("directorFallback")));
     }
 
+    @Test
+    void validateAndRepairAsync_RecoversWhenRetryCompletesOnAnotherThread() {
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry();
+        DirectorRefineryPlanner planner = new DirectorRefineryPlanner(true, 1, telemetry);
+
+        PatchRequest request = baseDirectorRequest();
+        List<PatchOp> invalidCandidate = List.of(new PatchOp.SetColonyDirective("op_bad", 0, "UnknownDirective", 10));
+        List<PatchOp> recovered = List.of(new PatchOp.SetColonyDirective("op_ok", 0, "PrioritizeFood", 10));
+
+        AtomicInteger feedbackCalls = new AtomicInteger();
+        DirectorRefineryPlanner.DirectorValidationResult result = planner.validateAndRepairAsync(
+                request,
+                invalidCandidate,
+                feedback -> CompletableFuture.supplyAsync(() -> feedbackCalls.incrementAndGet() == 1
+                        ? java.util.Optional.of(recovered)
+                        : java.util.Optional.empty())
+        ).join();
+
+        assertTrue(result.validated());
+        assertFalse(result.fallbackUsed());
+        assertEquals(1, result.retriesUsed());
+        assertEquals(1, feedbackCalls.get());
+        assertEquals(recovered, result.patch());
+    }
+
     private PatchRequest baseDirectorRequest() {
         ObjectNode snapshot = objectMapper.createObjectNode();
         snapshot.putObject("director")
@@ -2,22 +2,47 @@ package hu.zoltanterek.worldsim.refinery.planner;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import hu.zoltanterek.worldsim.refinery.model.Goal;
 import hu.zoltanterek.worldsim.refinery.model.PatchOp;
 import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDesign;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorDiagnostic;
+import hu.zoltanterek.worldsim.refinery.planner.llm.CompletionCache;
 import hu.zoltanterek.worldsim.refinery.planner.llm.DirectorCandidateParser;
 import hu.zoltanterek.worldsim.refinery.planner.llm.DirectorPromptFactory;
+import hu.zoltanterek.worldsim.refinery.planner.llm.OpenRouterClient;
+import hu.zoltanterek.worldsim.refinery.planner.llm.PendingCompletion;
 
 class LlmDirectorPlannerTest {
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -80,7 +105,7 @@ class LlmDirectorPlannerTest {
                 (m, t, tok, s, u) -> "not-json"
         );
 
-        LlmDirectorPlanner.ProposalResult result = planner.proposeDetailed(directorRequest(), List.of("INV-02 bad"));
+        LlmDirectorPlanner.ProposalResult result = planner.proposeDetailed(directorRequest(), List.of(DirectorDiagnostic.of(DirectorDesign.INV_02, 0, "bad")));
         assertTrue(result.patch().isEmpty());
         assertEquals(1, result.completionCount());
         assertEquals(LlmDirectorPlanner.ProposalStatus.PARSE_FAILED, result.status());
@@ -500,7 +525,14 @@ class LlmDirectorPlannerTest {
                 }
         );
 
-        planner.propose(directorRequest(), List.of("INV-17 Chain total cost 9.5 exceeds limit 5.0"));
+        planner.propose(directorRequest(), List.of(new DirectorDiagnostic(
+                DirectorDesign.INV_17,
+                0,
+                "causalChain",
+                "9.5",
+                "<=5.0",
+                "Chain total cost 9.5 exceeds limit 5.0"
+        )));
 
         String prompt = capturedUserPrompt.get();
         assertTrue(prompt.contains("Budget repair hint: previous candidate exceeded influence budget."));
@@ -561,6 +593,312 @@ class LlmDirectorPlannerTest {
         assertEquals(LlmDirectorPlanner.ProposalStatus.REQUEST_FAILED, result.status());
     }
 
+    @Test
+    void proposeAsync_WhenAsyncCompletionFails_ReturnsRequestFailedStatus() {
+        LlmDirectorPlanner planner = new LlmDirectorPlanner(
+                true,
+                "key",
+                "model",
+                0.4,
+                500,
+                "both",
+                5.0,
+                false,
+                new DirectorPromptFactory(),
+                new DirectorCandidateParser(objectMapper),
+                new LlmDirectorPlanner.CompletionGateway() {
+                    @Override
+                    public String complete(String model, double temperature, int maxTokens, String systemPrompt, String userPrompt) {
+                        throw new AssertionError("async path must not block on complete()");
+                    }
+
+                    @Override
+                    public PendingCompletion completeAsync(
+                            String model,
+                            double temperature,
+                            int maxTokens,
+                            String systemPrompt,
+                            String userPrompt
+                    ) {
+                        return PendingCompletion.of(CompletableFuture.supplyAsync(() -> {
+                            throw new IllegalStateException("gateway offline");
+                        }));
+                    }
+                }
+        );
+
+        LlmDirectorPlanner.ProposalResult result = planner.proposeDetailedAsync(directorRequest(), List.of()).join();
+        assertTrue(result.patch().isEmpty());
+        assertEquals(0, result.completionCount());
+        assertEquals(LlmDirectorPlanner.ProposalStatus.REQUEST_FAILED, result.status());
+    }
+
+    @Test
+    void proposeAsync_MatchesSyncProposal() {
+        String response = """
+                {
+                  "designatedOutput": {
+                    "directiveSlot": {
+                      "colonyId": 0,
+                      "directive": "PrioritizeFood",
+                      "durationTicks": 12,
+                      "biases": []
+                    }
+                  }
+                }
+                """;
+        LlmDirectorPlanner planner = new LlmDirectorPlanner(
+                true,
+                "key",
+                "model",
+                0.4,
+                500,
+                "both",
+                5.0,
+                false,
+                new DirectorPromptFactory(),
+                new DirectorCandidateParser(objectMapper),
+                (m, t, tok, s, u) -> response
+        );
+
+        LlmDirectorPlanner.ProposalResult sync = planner.proposeDetailed(directorRequest(), List.of());
+        LlmDirectorPlanner.ProposalResult async = planner.proposeDetailedAsync(directorRequest(), List.of()).join();
+
+        assertEquals(sync, async);
+        assertEquals(LlmDirectorPlanner.ProposalStatus.CANDIDATE, async.status());
+    }
+
+    @Test
+    void proposeSpeculative_FirstAcceptedCandidateWinsAndCancelsTheRest() {
+        List<CompletableFuture<String>> completions = new ArrayList<>();
+        List<Double> temperatures = new ArrayList<>();
+        LlmDirectorPlanner planner = speculativePlanner(3, new LlmDirectorPlanner.CompletionGateway() {
+            @Override
+            public String complete(String model, double temperature, int maxTokens, String systemPrompt, String userPrompt) {
+                throw new AssertionError("speculative path must use completeAsync()");
+            }
+
+            @Override
+            public PendingCompletion completeAsync(
+                    String model,
+                    double temperature,
+                    int maxTokens,
+                    String systemPrompt,
+                    String userPrompt
+            ) {
+                CompletableFuture<String> completion = new CompletableFuture<>();
+                completions.add(completion);
+                temperatures.add(temperature);
+                return PendingCompletion.of(completion);
+            }
+        });
+
+        CompletableFuture<LlmDirectorPlanner.ProposalResult> pending = planner.proposeSpeculativeAsync(
+                directorRequest(),
+                List.of(),
+                patch -> ((PatchOp.SetColonyDirective) patch.get(0)).directive().equals("PrioritizeFood")
+        );
+        assertEquals(3, completions.size());
+        assertEquals(0.4, temperatures.get(0), 1e-9);
+        assertEquals(0.6, temperatures.get(1), 1e-9);
+        assertEquals(0.8, temperatures.get(2), 1e-9);
+
+        completions.get(1).complete(directiveResponse("StabilizeMorale"));
+        assertFalse(pending.isDone());
+        completions.get(2).complete(directiveResponse("PrioritizeFood"));
+
+        LlmDirectorPlanner.ProposalResult result = pending.join();
+        assertEquals(LlmDirectorPlanner.ProposalStatus.CANDIDATE, result.status());
+        assertEquals("PrioritizeFood", ((PatchOp.SetColonyDirective) result.patch().orElseThrow().get(0)).directive());
+        assertEquals(3, result.completionCount());
+        assertTrue(completions.get(0).isCancelled());
+    }
+
+    @Test
+    void proposeSpeculative_WhenAcceptCheckThrows_TreatsCandidateAsRejected() {
+        LlmDirectorPlanner planner = speculativePlanner(2, (m, t, tok, s, u) -> directiveResponse(
+                t < 0.5 ? "StabilizeMorale" : "PrioritizeFood"
+        ));
+
+        LlmDirectorPlanner.ProposalResult result = planner.proposeSpeculativeAsync(
+                directorRequest(),
+                List.of(),
+                patch -> {
+                    throw new IllegalStateException("validator blew up");
+                }
+        ).orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertEquals(LlmDirectorPlanner.ProposalStatus.CANDIDATE, result.status());
+        assertEquals("StabilizeMorale", ((PatchOp.SetColonyDirective) result.patch().orElseThrow().get(0)).directive());
+        assertEquals(2, result.completionCount());
+    }
+
+    @Test
+    void proposeSpeculative_WhenAcceptCheckFailsWithError_CompletesExceptionally() {
+        LlmDirectorPlanner planner = speculativePlanner(2, (m, t, tok, s, u) -> directiveResponse("PrioritizeFood"));
+
+        CompletableFuture<LlmDirectorPlanner.ProposalResult> pending = planner.proposeSpeculativeAsync(
+                directorRequest(),
+                List.of(),
+                patch -> {
+                    throw new StackOverflowError();
+                }
+        ).orTimeout(5, TimeUnit.SECONDS);
+
+        CompletionException failure = assertThrows(CompletionException.class, pending::join);
+        assertInstanceOf(StackOverflowError.class, failure.getCause());
+    }
+
+    @Test
+    void proposeSpeculative_WhenNoCandidateAccepted_ReturnsFirstCandidateAndCountsAllCompletions() {
+        LlmDirectorPlanner planner = speculativePlanner(3, (m, t, tok, s, u) -> t < 0.5
+                ? "not-json"
+                : directiveResponse(t < 0.7 ? "StabilizeMorale" : "PrioritizeFood"));
+
+        LlmDirectorPlanner.ProposalResult result = planner.proposeSpeculativeAsync(
+                directorRequest(),
+                List.of(),
+                patch -> false
+        ).join();
+
+        assertEquals(LlmDirectorPlanner.ProposalStatus.CANDIDATE, result.status());
+        assertEquals("StabilizeMorale", ((PatchOp.SetColonyDirective) result.patch().orElseThrow().get(0)).directive());
+        assertEquals(3, result.completionCount());
+    }
+
+    @Test
+    void proposeSpeculative_WithBlockingGateway_StopsLaunchingOnceAccepted() {
+        AtomicInteger calls = new AtomicInteger();
+        LlmDirectorPlanner planner = speculativePlanner(4, (m, t, tok, s, u) -> {
+            calls.incrementAndGet();
+            return directiveResponse("PrioritizeFood");
+        });
+
+        LlmDirectorPlanner.ProposalResult result = planner.proposeSpeculativeAsync(
+                directorRequest(),
+                List.of(),
+                patch -> true
+        ).join();
+
+        assertEquals(1, calls.get());
+        assertEquals(1, result.completionCount());
+        assertTrue(result.patch().isPresent());
+    }
+
+    @Test
+    void proposeSpeculative_AbortsTheLosingHttpRequestAtTheServer() throws Exception {
+        CountDownLatch loserDropped = new CountDownLatch(1);
+        try (ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+             ServerSocket server = new ServerSocket(0, 16, InetAddress.getLoopbackAddress())) {
+            connections.submit(() -> {
+                while (!server.isClosed()) {
+                    Socket socket = server.accept();
+                    connections.submit(() -> serveCompletion(socket, loserDropped));
+                }
+                return null;
+            });
+            OpenRouterClient client = new OpenRouterClient(
+                    objectMapper,
+                    "http://127.0.0.1:" + server.getLocalPort(),
+                    "key",
+                    "https://worldsim.local",
+                    "WorldSim",
+                    30_000
+            );
+            LlmDirectorPlanner planner = speculativePlanner(
+                    2,
+                    LlmDirectorPlanner.openRouterGateway(client, CompletionCache.disabled())
+            );
+
+            LlmDirectorPlanner.ProposalResult result = planner.proposeSpeculativeAsync(
+                    directorRequest(),
+                    List.of(),
+                    patch -> true
+            ).orTimeout(10, TimeUnit.SECONDS).join();
+
+            assertEquals("PrioritizeFood", ((PatchOp.SetColonyDirective) result.patch().orElseThrow().get(0)).directive());
+            assertTrue(loserDropped.await(5, TimeUnit.SECONDS), "losing completion was never aborted");
+        }
+    }
+
+    /**
+     * Answers the base-temperature completion at once and never answers the speculative one; that connection only
+     * ends when the client aborts the exchange.
+     */
+    private Void serveCompletion(Socket socket, CountDownLatch loserDropped) throws IOException {
+        try (socket) {
+            InputStream in = socket.getInputStream();
+            int contentLength = 0;
+            for (String header = readLine(in); !header.isEmpty(); header = readLine(in)) {
+                if (header.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+                    contentLength = Integer.parseInt(header.substring("content-length:".length()).trim());
+                }
+            }
+            JsonNode body = objectMapper.readTree(in.readNBytes(contentLength));
+            if (body.path("temperature").asDouble() > 0.5) {
+                try {
+                    in.read();
+                } catch (IOException ex) {
+                    // A reset is as good as an orderly close here.
+                }
+                loserDropped.countDown();
+                return null;
+            }
+            byte[] completion = objectMapper.writeValueAsBytes(Map.of("choices", List.of(Map.of(
+                    "message", Map.of("role", "assistant", "content", directiveResponse("PrioritizeFood"))
+            ))));
+            OutputStream out = socket.getOutputStream();
+            out.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + completion.length
+                    + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(completion);
+            out.flush();
+            return null;
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int b = in.read(); b != -1 && b != '\n'; b = in.read()) {
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    private LlmDirectorPlanner speculativePlanner(int completions, LlmDirectorPlanner.CompletionGateway gateway) {
+        return new LlmDirectorPlanner(
+                true,
+                "key",
+                "model",
+                0.4,
+                500,
+                "both",
+                5.0,
+                false,
+                new DirectorPromptFactory(),
+                new DirectorCandidateParser(objectMapper),
+                gateway,
+                completions,
+                0.2
+        );
+    }
+
+    private static String directiveResponse(String directive) {
+        return """
+                {
+                  "designatedOutput": {
+                    "directiveSlot": {
+                      "colonyId": 0,
+                      "directive": "%s",
+                      "durationTicks": 12,
+                      "biases": []
+                    }
+                  }
+                }
+                """.formatted(directive);
+    }
+
     private PatchRequest directorRequest() {
         ObjectNode snapshot = objectMapper.createObjectNode();
         snapshot.putObject("world").put("colonyCount", 2);
@@ -1,6 +1,8 @@
 package hu.zoltanterek.worldsim.refinery.planner;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -98,6 +100,39 @@ class MockPlannerTest {
                 op instanceof PatchOp.SetColonyDirective || op instanceof PatchOp.DeclareWar || op instanceof PatchOp.ProposeTreaty));
     }
 
+    @Test
+    void memoizedPlanning_SharesPatchAcrossRequestIdsAndMatchesUnmemoizedOutput() {
+        MockPlanner memoized = new MockPlanner(objectMapper, "both", false, 16);
+        MockPlanner unmemoized = new MockPlanner(objectMapper, "both", false, 0);
+        PatchRequest request = directorRequest();
+        PatchRequest retry = new PatchRequest("v1", "director-req-2", 321L, 128L, Goal.SEASON_DIRECTOR_CHECKPOINT, request.snapshot(), null);
+
+        PatchResponse first = memoized.plan(request);
+        PatchResponse second = memoized.plan(retry);
+
+        assertSame(first.patch(), second.patch());
+        assertSame(first.explain(), second.explain());
+        assertEquals("director-req-2", second.requestId());
+        assertEquals(1, memoized.memoHits());
+        assertEquals(unmemoized.plan(request), first);
+        assertNotSame(unmemoized.plan(request).patch(), unmemoized.plan(request).patch());
+        assertNotSame(first.patch(), memoized.plan(new PatchRequest("v1", "director-req", 321L, 129L, Goal.SEASON_DIRECTOR_CHECKPOINT, request.snapshot(), null)).patch());
+    }
+
+    @Test
+    void memoizedPlanning_DoesNotShareMutableJsonPayloads() {
+        MockPlanner memoized = new MockPlanner(objectMapper, "both", false, 16);
+        PatchRequest request = new PatchRequest("v1", "tech-req", 11L, 3L, Goal.TECH_TREE_PATCH, objectMapper.createObjectNode(), null);
+
+        PatchOp.AddTech first = (PatchOp.AddTech) memoized.plan(request).patch().get(0);
+        ((ObjectNode) first.cost()).put("research", 1);
+        PatchOp.AddTech second = (PatchOp.AddTech) memoized.plan(request).patch().get(0);
+
+        assertEquals(1, memoized.memoHits());
+        assertEquals(80, second.cost().path("research").asInt());
+        assertNotSame(first.effects(), second.effects());
+    }
+
     private PatchRequest directorRequest() {
         ObjectNode snapshot = objectMapper.createObjectNode();
         snapshot.putObject("world").put("colonyCount", 4);
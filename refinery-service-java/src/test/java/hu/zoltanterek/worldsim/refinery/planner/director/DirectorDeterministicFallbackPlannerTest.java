@@ -2,7 +2,10 @@ package hu.zoltanterek.worldsim.refinery.planner.director;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -84,6 +87,21 @@ class DirectorDeterministicFallbackPlannerTest {
         assertTrue(isCampaignOp(gateOn.get(2)));
     }
 
+    @Test
+    void build_MemoizesByDeterministicInputsAndReturnsImmutableList() {
+        PatchRequest request = directorRequest(128L, 2, 0);
+        DirectorRuntimeFacts facts = snapshotMapper.map(request, DirectorDesign.DEFAULT_INFLUENCE_BUDGET);
+        DirectorRuntimeFacts cooldownFacts = snapshotMapper.map(directorRequest(128L, 2, 12), DirectorDesign.DEFAULT_INFLUENCE_BUDGET);
+
+        List<PatchOp> first = planner.build(request, facts, false);
+
+        assertSame(first, planner.build(directorRequest(128L, 3, 0), facts, false));
+        assertNotSame(first, planner.build(request, cooldownFacts, false));
+        assertNotSame(first, planner.build(request, facts, true));
+        assertEquals(first, new DirectorDeterministicFallbackPlanner(0).build(request, facts, false));
+        assertThrows(UnsupportedOperationException.class, () -> first.add(first.get(0)));
+    }
+
     private static boolean isCampaignOp(PatchOp op) {
         return op instanceof PatchOp.DeclareWar || op instanceof PatchOp.ProposeTreaty;
     }
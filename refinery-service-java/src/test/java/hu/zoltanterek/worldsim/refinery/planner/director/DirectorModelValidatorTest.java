@@ -1,6 +1,8 @@
 package hu.zoltanterek.worldsim.refinery.planner.director;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -504,6 +506,86 @@ class DirectorModelValidatorTest {
         assertTrue(ex.getMessage().contains("Unsupported proposeTreaty.treatyKind"));
     }
 
+    @Test
+    void validate_ReturnsRejectionWithInvariantAndOpIndex() {
+        DirectorRuntimeFacts facts = facts(128L, 2, 0L, List.of());
+        List<PatchOp> candidate = List.of(
+                new PatchOp.AddStoryBeat("op_story", "BEAT_1", "Valid beat text", 20),
+                new PatchOp.SetColonyDirective("op_bad_dir", 0, "UnknownDirective", 10)
+        );
+
+        DirectorValidationVerdict verdict = validator.validate(candidate, facts);
+
+        assertFalse(verdict.isAccepted());
+        assertNull(verdict.outcome());
+        assertEquals(DirectorDesign.INV_07, verdict.rejection().invariantCode());
+        assertEquals(1, verdict.rejection().opIndex());
+        assertEquals("INV-07 Unknown directive: UnknownDirective", verdict.rejection().text());
+
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> validator.validateAndRepair(candidate, facts)
+        );
+        assertEquals(verdict.rejection().text(), ex.getMessage());
+    }
+
+    @Test
+    void validate_ReportsNestedAndPatchLevelRejections() {
+        DirectorRuntimeFacts facts = facts(128L, 2, 0L, 0.5, List.of());
+        List<PatchOp> overBudget = List.of(
+                new PatchOp.AddStoryBeat(
+                        "op_budget_over",
+                        "BEAT_BUDGET_OVER",
+                        "Heavy pressure event",
+                        30,
+                        "major",
+                        List.of(new PatchOp.EffectEntry("domain_modifier", "food", 0.20, 30))
+                )
+        );
+        List<PatchOp> badEffect = List.of(
+                new PatchOp.SetColonyDirective("op_dir", 0, "PrioritizeFood", 10),
+                new PatchOp.AddStoryBeat(
+                        "op_story",
+                        "BEAT_1",
+                        "Unknown domain",
+                        20,
+                        "major",
+                        List.of(new PatchOp.EffectEntry("domain_modifier", "weather", 0.10, 20))
+                )
+        );
+
+        DirectorDiagnostic budget = validator.validate(overBudget, facts).rejection();
+        DirectorDiagnostic effect = validator.validate(badEffect, facts(128L, 2, 0L, List.of())).rejection();
+
+        assertEquals(DirectorDesign.INV_15, budget.invariantCode());
+        assertEquals(DirectorDiagnostic.PATCH_LEVEL, budget.opIndex());
+        assertEquals(DirectorRetryHint.BUDGET, budget.retryHint());
+        assertEquals(DirectorDesign.INV_02, effect.invariantCode());
+        assertEquals(DirectorRetryHint.NONE, effect.retryHint());
+        assertEquals(1, effect.opIndex());
+        assertEquals("effects[0].domain", effect.fieldPath());
+        assertEquals("weather", effect.observed());
+    }
+
+    @Test
+    void validate_RepairFeedbackCarriesFieldPathAndAllowedRange() {
+        DirectorRuntimeFacts facts = facts(128L, 2, 0L, List.of());
+        List<PatchOp> candidate = List.of(
+                new PatchOp.AddStoryBeat("op_story_long", "BEAT_LONG", "Overlong beat", 500)
+        );
+
+        DirectorValidationVerdict verdict = validator.validate(candidate, facts);
+
+        assertTrue(verdict.isAccepted());
+        DirectorDiagnostic clamp = verdict.outcome().feedback().get(0);
+        assertEquals(DirectorDesign.INV_06, clamp.invariantCode());
+        assertEquals(0, clamp.opIndex());
+        assertEquals("durationTicks", clamp.fieldPath());
+        assertEquals("500", clamp.observed());
+        assertEquals("[1,96]", clamp.allowed());
+        assertEquals(DirectorRetryHint.NONE, clamp.retryHint());
+    }
+
     private static DirectorRuntimeFacts facts(
             long tick,
             int colonyCount,
@@ -31,10 +31,32 @@ class DirectorPipelineTelemetrySolverObservabilityTest {
         assertEquals(1, snapshot.solverSuccessCount());
         assertEquals(0, snapshot.solverNonSuccessCount());
         assertEquals(0, snapshot.solverLoadFailureCount());
+        assertEquals(0, snapshot.solverTimeoutCount());
         assertEquals(1, snapshot.solverValidatedStoryCount());
         assertEquals(1, snapshot.solverValidatedDirectiveCount());
         assertEquals(1, snapshot.solverUnsupportedFeatureCount());
         assertEquals("validated_core", snapshot.latestSolverObservability().path());
         assertEquals("success", snapshot.latestSolverObservability().status());
     }
+
+    @Test
+    void recordSolverObservability_CountsTimeouts() {
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry();
+        telemetry.recordSolverObservability(new DirectorSolverObservability.Report(
+                "sidecar",
+                "timeout",
+                "timeout",
+                "not_run",
+                List.of("none"),
+                List.of("none"),
+                List.of("timeout_deadline", "timeout"),
+                List.of()
+        ));
+
+        DirectorPipelineTelemetry.Snapshot snapshot = telemetry.snapshot();
+
+        assertEquals(1, snapshot.solverTimeoutCount());
+        assertEquals(0, snapshot.solverNonSuccessCount());
+        assertEquals("timeout", snapshot.latestSolverObservability().status());
+    }
 }
@@ -0,0 +1,147 @@
+package hu.zoltanterek.worldsim.refinery.planner.director;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import hu.zoltanterek.worldsim.refinery.benchmark.ScaledRequests;
+import hu.zoltanterek.worldsim.refinery.model.Goal;
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+
+class DirectorSnapshotStreamMapperTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DirectorSnapshotMapper treeMapper = new DirectorSnapshotMapper();
+    private final DirectorSnapshotStreamMapper streamMapper = new DirectorSnapshotStreamMapper(objectMapper);
+
+    @Test
+    void read_MatchesTreeMapperForScaledExamplesWithUnreadBulk() throws Exception {
+        for (int scale : new int[] {0, 1, 64}) {
+            for (ScaledRequests.NamedRequest named : ScaledRequests.load(objectMapper, scale)) {
+                ScaledRequests.addUnreadBulk((ObjectNode) named.body().get("snapshot"), scale);
+                byte[] payload = objectMapper.writeValueAsBytes(named.body());
+                PatchRequest bound = objectMapper.readValue(payload, PatchRequest.class);
+
+                DirectorSnapshotStreamMapper.Checkpoint checkpoint = streamMapper.read(payload);
+
+                assertEquals(bound.goal(), checkpoint.goal(), named.name());
+                assertEquals(bound.tick(), checkpoint.tick(), named.name());
+                if (bound.goal() == Goal.SEASON_DIRECTOR_CHECKPOINT) {
+                    assertEquals(treeMapper.map(bound, 5.0), checkpoint.facts(5.0), named.name() + " x" + scale);
+                } else {
+                    assertNull(checkpoint.facts(5.0), named.name());
+                }
+            }
+        }
+    }
+
+    @Test
+    void read_KeepsTreeSemanticsForFallbacksDuplicatesAndOddItems() throws Exception {
+        String json = """
+                {
+                  "snapshot": {
+                    "director": {"beatCooldownRemainingTicks": null, "remainingInfluenceBudget": 9, "unused": {"deep": [1, 2, 3]}},
+                    "world": {
+                      "colonyCount": 1,
+                      "storyBeatCooldownTicks": "7",
+                      "activeBeats": [
+                        {"beatId": "B1", "severity": "EPIC", "remainingTicks": 3, "text": "skip me"},
+                        42,
+                        {"beatId": "B2", "beatId": "B3"}
+                      ],
+                      "activeDirectives": [{"colonyId": 2, "directive": "PrioritizeFood", "extra": [{}]}, {"colonyId": -1}]
+                    },
+                    "world": {"colonyCount": 4, "storyBeatCooldownTicks": 6, "activeBeats": [{"beatId": "B4"}]}
+                  },
+                  "goal": "SEASON_DIRECTOR_CHECKPOINT",
+                  "tick": 128,
+                  "constraints": {"director": {"maxBudget": 2.5}},
+                  "requestId": "req-stream",
+                  "schemaVersion": "v1",
+                  "seed": 3
+                }
+                """;
+        String firstWorldOnly = json.replace(
+                ",\n    \"world\": {\"colonyCount\": 4, \"storyBeatCooldownTicks\": 6, \"activeBeats\": [{\"beatId\": \"B4\"}]}",
+                "");
+        for (String payload : new String[] {json, firstWorldOnly}) {
+            PatchRequest bound = objectMapper.readValue(payload, PatchRequest.class);
+
+            DirectorRuntimeFacts facts = streamMapper.read(payload.getBytes()).facts(5.0);
+
+            assertEquals(treeMapper.map(bound, 5.0), facts);
+        }
+        assertEquals(3, streamMapper.read(firstWorldOnly.getBytes()).facts(5.0).activeBeats().size());
+    }
+
+    @Test
+    void checkpoint_BindsFullRequestOnlyOnDemand() throws Exception {
+        ObjectNode body = directorBody();
+        byte[] payload = objectMapper.writeValueAsBytes(body);
+
+        DirectorSnapshotStreamMapper.Checkpoint checkpoint = streamMapper.read(payload);
+
+        assertFalse(checkpoint.requestBound());
+        assertEquals(objectMapper.readValue(payload, PatchRequest.class), checkpoint.request());
+        assertTrue(checkpoint.requestBound());
+        assertEquals(body.get("snapshot"), checkpoint.request().snapshot());
+    }
+
+    @Test
+    void plannerRequest_KeepsHeaderAndProjectedSnapshotWithoutBinding() throws Exception {
+        ObjectNode body = directorBody();
+        ScaledRequests.addUnreadBulk((ObjectNode) body.get("snapshot"), 16);
+        byte[] payload = objectMapper.writeValueAsBytes(body);
+        PatchRequest bound = objectMapper.readValue(payload, PatchRequest.class);
+
+        DirectorSnapshotStreamMapper.Checkpoint checkpoint = streamMapper.read(payload);
+        PatchRequest planned = checkpoint.plannerRequest();
+
+        assertFalse(checkpoint.requestBound());
+        assertEquals(bound.schemaVersion(), planned.schemaVersion());
+        assertEquals(bound.requestId(), planned.requestId());
+        assertEquals(bound.seed(), planned.seed());
+        assertEquals(bound.tick(), planned.tick());
+        assertEquals(bound.goal(), planned.goal());
+        assertEquals(bound.constraints(), planned.constraints());
+        assertFalse(planned.snapshot().has("terrain"));
+        assertEquals(treeMapper.map(bound, 5.0), treeMapper.map(planned, 5.0));
+    }
+
+    @Test
+    void plannerRequest_BindsFullRequestForOtherGoalsAndCoercedHeaders() throws Exception {
+        ObjectNode quotedSeed = directorBody();
+        quotedSeed.put("seed", "42");
+        ObjectNode missingRequestId = directorBody();
+        missingRequestId.remove("requestId");
+        ObjectNode techTree = ScaledRequests.load(objectMapper, 0).stream()
+                .filter(named -> named.name().equals("patch-tech-tree-v1.json"))
+                .findFirst()
+                .orElseThrow()
+                .body();
+
+        for (ObjectNode body : List.of(quotedSeed, missingRequestId, techTree)) {
+            byte[] payload = objectMapper.writeValueAsBytes(body);
+
+            DirectorSnapshotStreamMapper.Checkpoint checkpoint = streamMapper.read(payload);
+
+            assertEquals(objectMapper.readValue(payload, PatchRequest.class), checkpoint.plannerRequest());
+            assertTrue(checkpoint.requestBound());
+        }
+    }
+
+    private ObjectNode directorBody() throws Exception {
+        return ScaledRequests.load(objectMapper, 4).stream()
+                .filter(named -> named.name().equals("patch-season-director-v1.json"))
+                .findFirst()
+                .orElseThrow()
+                .body();
+    }
+}
@@ -0,0 +1,65 @@
+package hu.zoltanterek.worldsim.refinery.planner.director;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+    @Test
+    void snapshot_ReportsPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.recordNanos(millis * 1_000_000L);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.count());
+        assertEquals(50.0, snapshot.p50Ms(), 50.0 * 0.07);
+        assertEquals(90.0, snapshot.p90Ms(), 90.0 * 0.07);
+        assertEquals(99.0, snapshot.p99Ms(), 99.0 * 0.07);
+        assertEquals(100.0, snapshot.maxMs(), 1e-9);
+        assertEquals(50.5, snapshot.meanMs(), 1e-9);
+        assertEquals(LatencyHistogram.Snapshot.empty(), new LatencyHistogram().snapshot());
+    }
+
+    @Test
+    void bucketIndex_IsMonotonicAndCoversItsHighestEquivalentValue() {
+        int previous = -1;
+        for (long micros = 0; micros < 1L << 22; micros = micros < 64 ? micros + 1 : micros + micros / 7) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            assertTrue(index >= previous, "index regressed at " + micros);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= micros, "bucket too small at " + micros);
+            assertEquals(index, LatencyHistogram.bucketIndex(LatencyHistogram.highestEquivalentValue(index)));
+            previous = index;
+        }
+        LatencyHistogram.bucketIndex(Long.MAX_VALUE);
+    }
+
+    @Test
+    void recordNanos_KeepsEveryCountUnderConcurrency() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Future<?>> writers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        histogram.recordNanos((i % 500) * 10_000L);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        }
+
+        assertEquals(80_000, histogram.snapshot().count());
+    }
+}
@@ -0,0 +1,104 @@
+package hu.zoltanterek.worldsim.refinery.planner.director;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowCounterTest {
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void sum_DropsBucketsOlderThanTheWindow() {
+        AtomicLong clock = new AtomicLong(MINUTE_NANOS * 1_000);
+        SlidingWindowCounter counter = new SlidingWindowCounter(clock::get);
+
+        counter.add(3);
+        clock.addAndGet(2 * MINUTE_NANOS);
+        counter.increment();
+
+        assertEquals(1, counter.sum(1));
+        assertEquals(4, counter.sum(5));
+        assertEquals(4, counter.sum(15));
+
+        clock.addAndGet(4 * MINUTE_NANOS);
+        assertEquals(0, counter.sum(1));
+        assertEquals(1, counter.sum(5));
+        assertEquals(4, counter.sum(15));
+
+        clock.addAndGet(20 * MINUTE_NANOS);
+        assertEquals(0, counter.sum(15));
+    }
+
+    @Test
+    void add_ResetsSlotWhenRingWrapsAround() {
+        AtomicLong clock = new AtomicLong(0L);
+        SlidingWindowCounter counter = new SlidingWindowCounter(clock::get);
+
+        counter.add(7);
+        clock.addAndGet(15 * MINUTE_NANOS);
+        counter.add(2);
+
+        assertEquals(2, counter.sum(1));
+        assertEquals(2, counter.sum(15));
+    }
+
+    @Test
+    void add_DoesNotLoseConcurrentIncrements() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(() -> 42L);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        counter.increment();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(80_000, counter.sum(1));
+    }
+
+    @Test
+    void telemetrySnapshot_ShowsRecentSpikeNextToLifetimeTotals() {
+        AtomicLong clock = new AtomicLong(0L);
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry(clock::get);
+        for (int i = 0; i < 10; i++) {
+            telemetry.recordDirectorRequest();
+            telemetry.recordValidatedOutput(0);
+        }
+        clock.addAndGet(30 * MINUTE_NANOS);
+        telemetry.recordDirectorRequest();
+        telemetry.recordFallback(1);
+        telemetry.recordRejectedCommands(2);
+        telemetry.recordLlmProposalObservability(3, false);
+
+        DirectorPipelineTelemetry.Snapshot snapshot = telemetry.snapshot();
+        DirectorPipelineTelemetry.RecentWindowSnapshot lastMinute = snapshot.recentWindows().last1m();
+
+        assertEquals(11, snapshot.directorRequestsCount());
+        assertEquals(10, snapshot.validatedOutputsCount());
+        assertEquals(1, lastMinute.directorRequests());
+        assertEquals(0, lastMinute.validatedOutputs());
+        assertEquals(1, lastMinute.fallbacks());
+        assertEquals(1.0, lastMinute.fallbackRate(), 1e-9);
+        assertEquals(0.0, lastMinute.validatedRate(), 1e-9);
+        assertEquals(3, lastMinute.llmCompletions());
+        assertEquals(2, lastMinute.rejectedCommands());
+        assertEquals(1, snapshot.recentWindows().last15m().directorRequests());
+    }
+}
@@ -0,0 +1,142 @@
+package hu.zoltanterek.worldsim.refinery.planner.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+
+class CompletionCacheTest {
+    private static final String KEY_A = CompletionCache.key("model", 0.4, 500, "system", "user-a");
+    private static final String KEY_B = CompletionCache.key("model", 0.4, 500, "system", "user-b");
+    private static final String KEY_C = CompletionCache.key("model", 0.4, 500, "system", "user-c");
+
+    @Test
+    void key_DependsOnEveryCompletionParameter() {
+        assertEquals(KEY_A, CompletionCache.key("model", 0.4, 500, "system", "user-a"));
+        assertNotEquals(KEY_A, CompletionCache.key("other", 0.4, 500, "system", "user-a"));
+        assertNotEquals(KEY_A, CompletionCache.key("model", 0.6, 500, "system", "user-a"));
+        assertNotEquals(KEY_A, CompletionCache.key("model", 0.4, 400, "system", "user-a"));
+        assertNotEquals(KEY_A, CompletionCache.key("model", 0.4, 500, "other", "user-a"));
+    }
+
+    @Test
+    void get_CountsHitsMissesAndBytesInMemory() {
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry();
+        CompletionCache cache = new CompletionCache(telemetry, 4, (Path) null);
+
+        assertTrue(cache.get(KEY_A).isEmpty());
+        cache.put(KEY_A, "{\"ok\":true}");
+        assertEquals(Optional.of("{\"ok\":true}"), cache.get(KEY_A));
+
+        CompletionCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(11, stats.bytesServed());
+        assertEquals(11, stats.bytesStored());
+        assertEquals(1, telemetry.snapshot().llmCompletionCache().hits());
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsedEntry() {
+        CompletionCache cache = new CompletionCache(new DirectorPipelineTelemetry(), 2, (Path) null);
+        cache.put(KEY_A, "a");
+        cache.put(KEY_B, "b");
+        cache.get(KEY_A);
+        cache.put(KEY_C, "c");
+
+        assertTrue(cache.get(KEY_A).isPresent());
+        assertTrue(cache.get(KEY_B).isEmpty());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void diskStore_SurvivesReopen(@TempDir Path directory) throws Exception {
+        CompletionCache first = new CompletionCache(new DirectorPipelineTelemetry(), 0, directory);
+        first.put(KEY_A, "persisted é");
+        first.put(KEY_A, "persisted é");
+        assertEquals(1, first.stats().diskEntries());
+        assertEquals(12, first.stats().bytesStored());
+        first.destroy();
+
+        CompletionCache second = new CompletionCache(new DirectorPipelineTelemetry(), 2, directory);
+        assertEquals(Optional.of("persisted é"), second.get(KEY_A));
+        assertEquals(1, second.stats().size());
+        assertEquals(1, second.stats().hits());
+        second.destroy();
+    }
+
+    @Test
+    void diskStore_IgnoresTornIndexTail(@TempDir Path directory) throws Exception {
+        CompletionCache first = new CompletionCache(new DirectorPipelineTelemetry(), 0, directory);
+        first.put(KEY_A, "a");
+        first.destroy();
+        Files.write(directory.resolve(CompletionLog.INDEX_FILE), new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        CompletionCache second = new CompletionCache(new DirectorPipelineTelemetry(), 0, directory);
+        assertEquals(Optional.of("a"), second.get(KEY_A));
+        second.put(KEY_B, "b");
+        second.destroy();
+
+        CompletionCache third = new CompletionCache(new DirectorPipelineTelemetry(), 0, directory);
+        assertEquals(2, third.stats().diskEntries());
+        assertEquals(Optional.of("b"), third.get(KEY_B));
+        third.destroy();
+    }
+
+    @Test
+    void diskStore_IgnoresZeroedIndexSlot(@TempDir Path directory) throws Exception {
+        CompletionCache first = new CompletionCache(new DirectorPipelineTelemetry(), 0, directory);
+        first.put(KEY_A, "a");
+        first.destroy();
+        Files.write(directory.resolve(CompletionLog.INDEX_FILE), new byte[32 + Long.BYTES + Integer.BYTES], StandardOpenOption.APPEND);
+
+        CompletionCache second = new CompletionCache(new DirectorPipelineTelemetry(), 0, directory);
+        assertEquals(1, second.stats().diskEntries());
+        second.put(KEY_B, "b");
+        second.destroy();
+
+        CompletionCache third = new CompletionCache(new DirectorPipelineTelemetry(), 0, directory);
+        assertEquals(Optional.of("a"), third.get(KEY_A));
+        assertEquals(Optional.of("b"), third.get(KEY_B));
+        third.destroy();
+    }
+
+    @Test
+    void diskStore_ConcurrentAppendsAllSurviveReopen(@TempDir Path directory) throws Exception {
+        CompletionCache first = new CompletionCache(new DirectorPipelineTelemetry(), 0, directory);
+        List<String> keys = IntStream.range(0, 64)
+                .mapToObj(i -> CompletionCache.key("model", 0.4, 500, "system", "user-" + i))
+                .toList();
+        keys.parallelStream().forEach(key -> first.put(key, "completion-" + key));
+        assertEquals(keys.size(), first.stats().diskEntries());
+        first.destroy();
+
+        CompletionCache second = new CompletionCache(new DirectorPipelineTelemetry(), 0, directory);
+        for (String key : keys) {
+            assertEquals(Optional.of("completion-" + key), second.get(key));
+        }
+        second.destroy();
+    }
+
+    @Test
+    void disabled_NeverStores() {
+        CompletionCache cache = CompletionCache.disabled();
+        cache.put(KEY_A, "a");
+
+        assertFalse(cache.enabled());
+        assertTrue(cache.get(KEY_A).isEmpty());
+        assertEquals(0, cache.stats().misses());
+    }
+}
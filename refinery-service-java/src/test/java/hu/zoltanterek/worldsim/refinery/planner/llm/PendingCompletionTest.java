@@ -0,0 +1,21 @@
+package hu.zoltanterek.worldsim.refinery.planner.llm;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class PendingCompletionTest {
+    @Test
+    void cancel_OnDerivedCompletion_CancelsTheExchange() {
+        CompletableFuture<String> exchange = new CompletableFuture<>();
+        PendingCompletion completion = new PendingCompletion(exchange.thenApply(String::trim), exchange)
+                .thenApply(String::strip);
+
+        completion.cancel();
+
+        assertTrue(exchange.isCancelled());
+        assertTrue(completion.content().isCompletedExceptionally());
+    }
+}
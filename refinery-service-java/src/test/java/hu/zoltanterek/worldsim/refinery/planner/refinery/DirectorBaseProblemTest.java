@@ -0,0 +1,102 @@
+package hu.zoltanterek.worldsim.refinery.planner.refinery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tools.refinery.store.util.CancellationToken;
+
+class DirectorBaseProblemTest {
+    private static final List<String> RUNTIME_LINES = List.of(
+            "RuntimeCheckpointContext(runtimeCheckpoint).",
+            "tickCurrent(runtimeCheckpoint): 42."
+    );
+    private static final List<String> OUTPUT_LINES = List.of("DirectorOutputBeat(beat_alpha).");
+
+    @Test
+    void baseText_DeclaresImportableModule() {
+        RefineryArtifactStore store = RefineryArtifactStore.load();
+        DirectorBaseProblem baseProblem = new DirectorBaseProblem(store);
+
+        assertEquals(
+                RefineryArtifactStore.joinSections(List.of(
+                        "module " + DirectorBaseProblem.MODULE_NAME + ".",
+                        store.directorCanonicalBase()
+                )),
+                baseProblem.baseText()
+        );
+    }
+
+    @Test
+    void overlayText_ImportsBaseAndCarriesOnlyRequestLines() {
+        DirectorBaseProblem baseProblem = new DirectorBaseProblem(RefineryArtifactStore.load());
+
+        String overlay = baseProblem.overlayText(RUNTIME_LINES, OUTPUT_LINES);
+
+        assertEquals(
+                DirectorProblemAssembler.join("import " + DirectorBaseProblem.MODULE_NAME + ".", List.of(
+                        new DirectorProblemFragment(RUNTIME_LINES),
+                        new DirectorProblemFragment(OUTPUT_LINES)
+                )),
+                overlay
+        );
+        assertFalse(overlay.contains("class DirectorCheckpoint"));
+    }
+
+    @Test
+    void overlayText_SkipsBlankSections() {
+        DirectorBaseProblem baseProblem = new DirectorBaseProblem(RefineryArtifactStore.load());
+        String header = "import " + DirectorBaseProblem.MODULE_NAME + ".";
+
+        assertEquals(
+                RefineryArtifactStore.joinSections(List.of(header, String.join(System.lineSeparator(), OUTPUT_LINES))),
+                baseProblem.overlayText(List.of(" "), OUTPUT_LINES)
+        );
+        assertEquals(header, baseProblem.overlayText(List.of(), null));
+    }
+
+    @Test
+    void shared_FollowsArtifactStoreReload() {
+        DirectorBaseProblem before = DirectorBaseProblem.shared();
+        assertSame(before, DirectorBaseProblem.shared());
+
+        RefineryArtifactStore.reloadShared();
+        DirectorBaseProblem after = DirectorBaseProblem.shared();
+
+        assertNotSame(before, after);
+        assertEquals(before.baseText(), after.baseText());
+    }
+
+    @Test
+    void load_ParsesBaseOnceAcrossSolves() throws Exception {
+        DirectorBaseProblem baseProblem = new DirectorBaseProblem(RefineryArtifactStore.load());
+
+        try (DirectorBaseProblem.LoadedProblem first = baseProblem.load(RUNTIME_LINES, OUTPUT_LINES, CancellationToken.NONE)) {
+            assertNotNull(first.problem());
+        }
+        try (DirectorBaseProblem.LoadedProblem second = baseProblem.load(RUNTIME_LINES, List.of(), CancellationToken.NONE)) {
+            assertNotNull(second.problem());
+        }
+
+        assertTrue(baseProblem.overlaysLink());
+        assertEquals(1L, baseProblem.baseParses());
+    }
+
+    @Test
+    void load_BrokenBaseIsRetriedOnNextSolve() {
+        DirectorBaseProblem baseProblem = new DirectorBaseProblem(RefineryArtifactStore.load(), "class Broken {");
+
+        assertThrows(Exception.class, () -> baseProblem.load(RUNTIME_LINES, OUTPUT_LINES, CancellationToken.NONE));
+        assertThrows(Exception.class, () -> baseProblem.load(RUNTIME_LINES, OUTPUT_LINES, CancellationToken.NONE));
+
+        assertEquals(2L, baseProblem.baseParses());
+    }
+}
@@ -283,6 +283,40 @@ class DirectorRefinerySolverTest {
         assertTrue(result.diagnostics().stream().anyMatch(item -> item.contains("load_failure")));
     }
 
+    @Test
+    void solve_OverlayAboveModelSizeCapReturnsTimeoutWithoutLoading() {
+        DirectorRefinerySolver capped = new DirectorRefinerySolver(
+                DirectorSolveCache.disabled(),
+                new DirectorSolveBudget(0L, 1)
+        );
+
+        DirectorRefinerySolveResult result = capped.solve(facts(0), null, List.of("campaign"));
+
+        assertEquals(DirectorRefinerySolveStatus.TIMEOUT, result.status());
+        assertFalse(result.success());
+        assertEquals(List.of("campaign"), result.unsupportedFeaturesIgnored());
+        assertTrue(result.diagnostics().contains("solverResult:timeout:model_size"));
+    }
+
+    @Test
+    void solveProblemText_ExpiredDeadlineReturnsTimeout() {
+        long[] now = new long[] { 0L };
+        DirectorRefinerySolver deadlined = new DirectorRefinerySolver(
+                null,
+                DirectorSolveCache.disabled(),
+                new DirectorSolveBudget(1L, 0),
+                () -> now[0] += 10_000_000L
+        );
+
+        DirectorRefinerySolveResult result = deadlined.solveProblemText(
+                assembler.assemble(new DirectorRuntimeAssertions(List.of())),
+                List.of()
+        );
+
+        assertEquals(DirectorRefinerySolveStatus.TIMEOUT, result.status(), result.diagnostics().toString());
+        assertTrue(result.diagnostics().contains("solverResult:timeout:deadline"));
+    }
+
     private PatchRequest request() {
         return new PatchRequest(
                 "v1",
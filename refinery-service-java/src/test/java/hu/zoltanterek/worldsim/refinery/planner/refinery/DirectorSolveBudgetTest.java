@@ -0,0 +1,33 @@
+package hu.zoltanterek.worldsim.refinery.planner.refinery;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class DirectorSolveBudgetTest {
+    @Test
+    void expired_UnboundedNeverExpiresEvenWithNegativeClock() {
+        DirectorSolveBudget budget = DirectorSolveBudget.unbounded();
+
+        assertFalse(budget.expired(Long.MIN_VALUE + 1L, Long.MAX_VALUE));
+        assertFalse(budget.expired(-5_000_000_000L, -1L));
+    }
+
+    @Test
+    void expired_HugeTimeoutDoesNotOverflow() {
+        DirectorSolveBudget budget = new DirectorSolveBudget(Long.MAX_VALUE, 0);
+
+        assertFalse(budget.expired(1_000L, 2_000L));
+        assertFalse(budget.expired(-1_000L, Long.MAX_VALUE - 2_000L));
+    }
+
+    @Test
+    void expired_ComparesElapsedAcrossClockWrap() {
+        DirectorSolveBudget budget = new DirectorSolveBudget(5L, 0);
+        long startedAt = Long.MAX_VALUE - 1_000_000L;
+
+        assertFalse(budget.expired(startedAt, startedAt + 4_000_000L));
+        assertTrue(budget.expired(startedAt, startedAt + 6_000_000L));
+    }
+}
@@ -0,0 +1,98 @@
+package hu.zoltanterek.worldsim.refinery.planner.refinery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+
+class DirectorSolveCacheTest {
+    private static final DirectorBaseProblem BASE = new DirectorBaseProblem(RefineryArtifactStore.load());
+
+    @Test
+    void key_IsStableAndSeparatesSections() {
+        String key = DirectorSolveCache.key(List.of("a.", "b."), List.of("c."), List.of(), List.of());
+
+        assertEquals(key, DirectorSolveCache.key(List.of("a.", "b."), List.of("c."), List.of(), List.of()));
+        assertNotEquals(key, DirectorSolveCache.key(List.of("a."), List.of("b.", "c."), List.of(), List.of()));
+        assertNotEquals(key, DirectorSolveCache.key(List.of("a.", "b."), List.of("c."), List.of(), List.of("x")));
+    }
+
+    @Test
+    void get_CountsHitsAndMisses() {
+        DirectorSolveCache cache = new DirectorSolveCache(4, 60_000L);
+        DirectorRefinerySolveResult result = result(DirectorRefinerySolveStatus.SUCCESS);
+
+        assertNull(cache.get(BASE, "k1"));
+        cache.put(BASE, "k1", result);
+        assertSame(result, cache.get(BASE, "k1"));
+
+        DirectorSolveCache.Stats stats = cache.stats();
+        assertEquals(1L, stats.hits());
+        assertEquals(1L, stats.misses());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsedBeyondCapacity() {
+        DirectorSolveCache cache = new DirectorSolveCache(2, 60_000L);
+        cache.put(BASE, "k1", result(DirectorRefinerySolveStatus.SUCCESS));
+        cache.put(BASE, "k2", result(DirectorRefinerySolveStatus.SUCCESS));
+        cache.get(BASE, "k1");
+        cache.put(BASE, "k3", result(DirectorRefinerySolveStatus.NON_SUCCESS));
+
+        assertNull(cache.get(BASE, "k2"));
+        assertEquals(1L, cache.stats().evictions());
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    void get_ExpiresEntriesAfterTtl() {
+        AtomicLong now = new AtomicLong();
+        DirectorSolveCache cache = new DirectorSolveCache(4, 10L, now::get);
+        cache.put(BASE, "k1", result(DirectorRefinerySolveStatus.SUCCESS));
+
+        now.addAndGet(11_000_000L);
+
+        assertNull(cache.get(BASE, "k1"));
+        assertEquals(1L, cache.stats().evictions());
+    }
+
+    @Test
+    void put_SkipsLoadFailuresAndDropsEntriesOnBaseChange() {
+        DirectorSolveCache cache = new DirectorSolveCache(4, 60_000L);
+        cache.put(BASE, "k1", result(DirectorRefinerySolveStatus.LOAD_FAILURE));
+        assertEquals(0, cache.stats().size());
+
+        cache.put(BASE, "k2", result(DirectorRefinerySolveStatus.SUCCESS));
+        assertNull(cache.get(new DirectorBaseProblem(RefineryArtifactStore.load()), "k2"));
+        assertEquals(1L, cache.stats().evictions());
+    }
+
+    @Test
+    void disabled_NeverStoresAndTelemetryReportsStats() {
+        DirectorSolveCache cache = DirectorSolveCache.disabled();
+        cache.put(BASE, "k1", result(DirectorRefinerySolveStatus.SUCCESS));
+        assertNull(cache.get(BASE, "k1"));
+        assertFalse(cache.stats().enabled());
+
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry();
+        DirectorSolveCache enabled = new DirectorSolveCache(8, 60_000L);
+        enabled.get(BASE, "missing");
+        telemetry.recordSolverCache(enabled.stats());
+
+        assertEquals(8, telemetry.snapshot().solverCache().maxEntries());
+        assertEquals(1L, telemetry.snapshot().solverCache().misses());
+    }
+
+    private static DirectorRefinerySolveResult result(DirectorRefinerySolveStatus status) {
+        return new DirectorRefinerySolveResult(status, status.name(), null, List.of(), List.of());
+    }
+}
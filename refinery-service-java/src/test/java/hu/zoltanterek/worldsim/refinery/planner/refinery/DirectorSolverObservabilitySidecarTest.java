@@ -0,0 +1,142 @@
+package hu.zoltanterek.worldsim.refinery.planner.refinery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+
+class DirectorSolverObservabilitySidecarTest {
+    @Test
+    void run_SyncModeReturnsReportAndRecordsIt() {
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry();
+        DirectorSolverObservabilitySidecar sidecar = new DirectorSolverObservabilitySidecar(telemetry, "sync", 4, 8);
+
+        var report = sidecar.run("req-sync", DirectorSolverObservabilitySidecarTest::successReport);
+
+        assertTrue(report.isPresent());
+        assertEquals(1L, telemetry.snapshot().solverSuccessCount());
+        assertEquals("completed", sidecar.lookup("req-sync").orElseThrow().state());
+    }
+
+    @Test
+    void run_AsyncModeCompletesOffThePlanningThread() throws Exception {
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry();
+        DirectorSolverObservabilitySidecar sidecar = new DirectorSolverObservabilitySidecar(telemetry, "async", 4, 8);
+        CountDownLatch release = new CountDownLatch(1);
+        String callerThread = Thread.currentThread().getName();
+        AtomicReference<String> workerThread = new AtomicReference<>();
+
+        var report = sidecar.run("req-async", () -> {
+            workerThread.set(Thread.currentThread().getName());
+            await(release);
+            return successReport();
+        });
+
+        assertFalse(report.isPresent());
+        assertEquals("pending", sidecar.lookup("req-async").orElseThrow().state());
+        release.countDown();
+        waitForCompletion(sidecar, "req-async");
+
+        assertEquals("success", sidecar.lookup("req-async").orElseThrow().report().status());
+        assertEquals(1L, telemetry.snapshot().solverSuccessCount());
+        assertNotEquals(callerThread, workerThread.get());
+        sidecar.destroy();
+    }
+
+    @Test
+    void run_AsyncModeInsideRequestWaitsForRequestCompletion() throws Exception {
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry();
+        DirectorSolverObservabilitySidecar sidecar = new DirectorSolverObservabilitySidecar(telemetry, "async", 4, 8);
+        ServletRequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        CountDownLatch started = new CountDownLatch(1);
+        RequestContextHolder.setRequestAttributes(request);
+        try {
+            sidecar.run("req-deferred", () -> {
+                started.countDown();
+                return successReport();
+            });
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertFalse(started.await(200, TimeUnit.MILLISECONDS));
+        assertEquals("pending", sidecar.lookup("req-deferred").orElseThrow().state());
+
+        request.requestCompleted();
+        waitForCompletion(sidecar, "req-deferred");
+
+        assertEquals("success", sidecar.lookup("req-deferred").orElseThrow().report().status());
+        sidecar.destroy();
+    }
+
+    @Test
+    void run_AsyncModeDropsWhenQueueIsFull() throws Exception {
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry();
+        DirectorSolverObservabilitySidecar sidecar = new DirectorSolverObservabilitySidecar(telemetry, "async", 1, 8);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        sidecar.run("req-1", () -> {
+            started.countDown();
+            await(release);
+            return successReport();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        sidecar.run("req-2", DirectorSolverObservabilitySidecarTest::successReport);
+        sidecar.run("req-3", DirectorSolverObservabilitySidecarTest::successReport);
+
+        assertEquals(1L, telemetry.snapshot().solverSidecarDroppedCount());
+        assertTrue(sidecar.lookup("req-3").orElseThrow().report().diagnostics().contains("sidecar_queue_full"));
+        release.countDown();
+        sidecar.destroy();
+    }
+
+    @Test
+    void lookup_RetainsOnlyMostRecentReports() {
+        DirectorSolverObservabilitySidecar sidecar = new DirectorSolverObservabilitySidecar(new DirectorPipelineTelemetry(), "sync", 4, 2);
+
+        sidecar.run("req-1", DirectorSolverObservabilitySidecarTest::successReport);
+        sidecar.run("req-2", DirectorSolverObservabilitySidecarTest::successReport);
+        sidecar.run("req-3", DirectorSolverObservabilitySidecarTest::successReport);
+
+        assertTrue(sidecar.lookup("req-1").isEmpty());
+        assertTrue(sidecar.lookup("req-3").isPresent());
+    }
+
+    private static DirectorSolverObservability.Report successReport() {
+        return DirectorSolverObservability.fromSolveResult(new DirectorRefinerySolveResult(
+                DirectorRefinerySolveStatus.SUCCESS,
+                "SUCCESS",
+                null,
+                List.of("solverResult:success"),
+                List.of()
+        ));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitForCompletion(DirectorSolverObservabilitySidecar sidecar, String requestId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (!"completed".equals(sidecar.lookup(requestId).orElseThrow().state()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+}
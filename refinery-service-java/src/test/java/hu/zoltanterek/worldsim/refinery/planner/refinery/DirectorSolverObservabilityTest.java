@@ -83,4 +83,23 @@ class DirectorSolverObservabilityTest {
         assertTrue(report.markers().contains("directorSolverUnsupported:none"));
         assertTrue(report.markers().contains("directorSolverDiagnostic:story_core_unavailable"));
     }
+
+    @Test
+    void fromSolveResult_TimeoutUsesTimeoutStatusAndReasonCode() {
+        DirectorRefinerySolveResult result = new DirectorRefinerySolveResult(
+                DirectorRefinerySolveStatus.TIMEOUT,
+                "timeout",
+                null,
+                List.of("solverResult:timeout:deadline", "timeoutMs:1000"),
+                List.of()
+        );
+
+        DirectorSolverObservability.Report report = DirectorSolverObservability.fromSolveResult(result);
+
+        assertTrue(report.markers().contains("directorSolverPath:sidecar"));
+        assertTrue(report.markers().contains("directorSolverStatus:timeout"));
+        assertTrue(report.markers().contains("directorSolverExtraction:not_run"));
+        assertTrue(report.markers().contains("directorSolverDiagnostic:timeout_deadline"));
+        assertTrue(report.markers().contains("directorSolverDiagnostic:timeout"));
+    }
 }
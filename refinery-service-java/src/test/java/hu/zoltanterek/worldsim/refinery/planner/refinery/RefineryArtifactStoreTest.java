@@ -0,0 +1,94 @@
+package hu.zoltanterek.worldsim.refinery.planner.refinery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorRuntimeAssertions;
+
+class RefineryArtifactStoreTest {
+    @Test
+    void load_ContainsEveryCanonicalFamilyArtifact() {
+        RefineryArtifactStore store = RefineryArtifactStore.load();
+
+        int expectedCount = 0;
+        long expectedBytes = 0L;
+        for (RefineryArtifactFamily family : RefineryArtifactFamily.values()) {
+            List<String> paths = RefineryArtifactCatalog.canonicalProblemResourcePaths(family);
+            List<String> texts = store.canonicalProblemTexts(family);
+            assertEquals(paths.size(), texts.size());
+            for (String text : texts) {
+                assertTrue(!text.isBlank());
+                expectedBytes += text.getBytes(StandardCharsets.UTF_8).length;
+            }
+            expectedCount += paths.size();
+        }
+
+        assertEquals(expectedCount, store.stats().artifactCount());
+        assertEquals(expectedBytes, store.stats().totalBytes());
+        assertTrue(store.stats().loadNanos() > 0L);
+    }
+
+    @Test
+    void directorCanonicalBase_KeepsCatalogOrder() {
+        String base = RefineryArtifactStore.load().directorCanonicalBase();
+
+        assertTrue(base.indexOf("DirectorDesignLayerAnchor") < base.indexOf("DirectorModelLayerAnchor"));
+        assertTrue(base.indexOf("DirectorModelLayerAnchor") < base.indexOf("DirectorRuntimeLayerAnchor"));
+        assertTrue(base.indexOf("DirectorRuntimeLayerAnchor") < base.indexOf("DirectorOutputLayerAnchor"));
+    }
+
+    @Test
+    void problemText_RejectsNonCatalogPath() {
+        RefineryArtifactStore store = RefineryArtifactStore.load();
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> store.problemText(RefineryArtifactCatalog.directorSpikeProblemResourcePath())
+        );
+    }
+
+    @Test
+    void reloadShared_SwapsInstanceWithIdenticalContent() {
+        RefineryArtifactStore before = RefineryArtifactStore.shared();
+        assertSame(before, RefineryArtifactStore.shared());
+
+        RefineryArtifactStore reloaded = RefineryArtifactStore.reloadShared();
+
+        assertNotSame(before, reloaded);
+        assertSame(reloaded, RefineryArtifactStore.shared());
+        assertEquals(before.directorCanonicalBase(), reloaded.directorCanonicalBase());
+    }
+
+    @Test
+    void assembler_UsesInjectedStoreBase() {
+        RefineryArtifactStore store = RefineryArtifactStore.load();
+        String assembled = new DirectorProblemAssembler(store)
+                .assemble(new DirectorRuntimeAssertions(List.of("RuntimeCheckpointContext(runtimeCheckpoint).")));
+
+        assertTrue(assembled.startsWith(store.directorCanonicalBase()));
+        assertTrue(assembled.endsWith("RuntimeCheckpointContext(runtimeCheckpoint)."));
+    }
+
+    @Test
+    void telemetry_ReportsLoadAndReloadCounts() {
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry();
+        RefineryArtifactStore store = RefineryArtifactStore.load();
+
+        telemetry.recordArtifactStoreLoad(store.stats(), false);
+        assertEquals(store.stats().totalBytes(), telemetry.snapshot().artifactStore().totalBytes());
+        assertEquals(0L, telemetry.snapshot().artifactStore().reloadCount());
+
+        telemetry.recordArtifactStoreLoad(store.stats(), true);
+        assertEquals(store.stats().artifactCount(), telemetry.snapshot().artifactStore().artifactCount());
+        assertEquals(1L, telemetry.snapshot().artifactStore().reloadCount());
+    }
+}
@@ -0,0 +1,193 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import hu.zoltanterek.worldsim.refinery.model.Goal;
+import hu.zoltanterek.worldsim.refinery.model.PatchRequest;
+import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.util.RequestValidator;
+
+class IdempotencyCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void key_CoversRequestIdAndBody() {
+        IdempotencyCache cache = cache(4, 0L, new AtomicLong());
+
+        assertEquals(cache.key(request("req-1", 1L)), cache.key(request("req-1", 1L)));
+        assertNotEquals(cache.key(request("req-1", 1L)), cache.key(request("req-2", 1L)));
+        assertNotEquals(cache.key(request("req-1", 1L)), cache.key(request("req-1", 2L)));
+    }
+
+    @Test
+    void join_ReplaysCompletedResponseUntilTtlExpires() {
+        AtomicLong clock = new AtomicLong();
+        IdempotencyCache cache = cache(4, 1_000L, clock);
+        PatchResponse response = response("req-1");
+
+        IdempotencyCache.Flight first = cache.join(request("req-1", 1L));
+        assertTrue(first.leader());
+        first.complete(response);
+
+        IdempotencyCache.Flight retry = cache.join(request("req-1", 1L));
+        assertFalse(retry.leader());
+        assertSame(response, retry.await().orElseThrow());
+
+        clock.addAndGet(1_001L * 1_000_000L);
+        assertTrue(cache.join(request("req-1", 1L)).leader());
+        assertEquals(1, cache.stats().replays());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void join_EvictsLeastRecentlyUsedBeyondMaxEntries() {
+        IdempotencyCache cache = cache(2, 0L, new AtomicLong());
+        cache.join(request("req-1", 1L)).complete(response("req-1"));
+        cache.join(request("req-2", 1L)).complete(response("req-2"));
+        cache.join(request("req-3", 1L)).complete(response("req-3"));
+
+        assertEquals(2, cache.stats().size());
+        assertTrue(cache.join(request("req-1", 1L)).leader());
+    }
+
+    @Test
+    void fail_DropsEntrySoNextRetryRecomputes() {
+        IdempotencyCache cache = cache(4, 0L, new AtomicLong());
+        IdempotencyCache.Flight first = cache.join(request("req-1", 1L));
+        IdempotencyCache.Flight waiter = cache.join(request("req-1", 1L));
+
+        first.fail(new IllegalStateException("llm down"));
+
+        assertThrows(IllegalStateException.class, waiter::await);
+        assertTrue(cache.join(request("req-1", 1L)).leader());
+        assertEquals(1, cache.stats().coalesced());
+    }
+
+    @Test
+    void await_GivesUpAfterFollowerWait() {
+        IdempotencyCache cache = new IdempotencyCache(objectMapper, new DirectorPipelineTelemetry(), 4, 0L, 20L, System::nanoTime);
+        IdempotencyCache.Flight leader = cache.join(request("req-1", 1L));
+        IdempotencyCache.Flight waiter = cache.join(request("req-1", 1L));
+
+        assertTrue(waiter.await().isEmpty());
+        assertFalse(leader.response().isDone());
+    }
+
+    @Test
+    void createPatch_ErrorInPlannerReleasesWaitingDuplicates() throws Exception {
+        CountDownLatch planning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger plans = new AtomicInteger();
+        PatchService patchService = new PatchService(
+                request -> {
+                    if (plans.incrementAndGet() > 1) {
+                        return response(request.requestId());
+                    }
+                    planning.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new AssertionError("planner crashed");
+                },
+                new RequestValidator(),
+                new DirectorPipelineTelemetry(),
+                cache(4, 0L, new AtomicLong()),
+                new RequestMetrics()
+        );
+
+        try (ExecutorService callers = Executors.newFixedThreadPool(2)) {
+            Future<PatchResponse> leader = callers.submit(() -> patchService.createPatch(request("req-err", 1L)));
+            assertTrue(planning.await(10, TimeUnit.SECONDS));
+            Future<PatchResponse> follower = callers.submit(() -> patchService.createPatch(request("req-err", 1L)));
+            Thread.sleep(50L);
+            release.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(AssertionError.class, leaderFailure.getCause());
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(AssertionError.class, followerFailure.getCause());
+        }
+        assertEquals("req-err", patchService.createPatch(request("req-err", 1L)).requestId());
+    }
+
+    @Test
+    void createPatch_CoalescesConcurrentDuplicatesIntoOnePlan() throws Exception {
+        AtomicInteger plans = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        DirectorPipelineTelemetry telemetry = new DirectorPipelineTelemetry();
+        PatchService patchService = new PatchService(
+                request -> {
+                    plans.incrementAndGet();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return response(request.requestId());
+                },
+                new RequestValidator(),
+                telemetry,
+                new IdempotencyCache(objectMapper, telemetry, 16, 60_000L, 30_000L),
+                new RequestMetrics()
+        );
+
+        List<Future<PatchResponse>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> patchService.createPatch(request("req-dup", 7L))));
+            }
+            long deadline = System.currentTimeMillis() + 10_000L;
+            while (telemetry.snapshot().idempotencyCache().coalesced() < 7 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5L);
+            }
+            release.countDown();
+            PatchResponse first = results.get(0).get();
+            for (Future<PatchResponse> result : results) {
+                assertSame(first, result.get());
+            }
+        }
+
+        assertEquals(1, plans.get());
+        assertEquals(1, telemetry.snapshot().directorRequestsCount());
+        assertEquals(7, telemetry.snapshot().idempotencyCache().coalesced());
+    }
+
+    private IdempotencyCache cache(int maxEntries, long ttlMs, AtomicLong clock) {
+        return new IdempotencyCache(objectMapper, new DirectorPipelineTelemetry(), maxEntries, ttlMs, 30_000L, clock::get);
+    }
+
+    private PatchRequest request(String requestId, long seed) {
+        ObjectNode snapshot = objectMapper.createObjectNode();
+        snapshot.putObject("world").put("colonyCount", 2);
+        return new PatchRequest("v1", requestId, seed, 10L, Goal.SEASON_DIRECTOR_CHECKPOINT, snapshot, null);
+    }
+
+    private static PatchResponse response(String requestId) {
+        return new PatchResponse("v1", requestId, 7L, List.of(), List.of("planned"), List.of());
+    }
+}
@@ -0,0 +1,223 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import hu.zoltanterek.worldsim.refinery.model.PatchResponse;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+import hu.zoltanterek.worldsim.refinery.util.RequestValidator;
+import jakarta.validation.Validation;
+
+class PatchStreamServiceTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void stream_KeepsInFlightRequestsWithinWindow() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        PatchService patchService = new PatchService(
+                request -> {
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20L);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    inFlight.decrementAndGet();
+                    return new PatchResponse("v1", request.requestId(), request.seed(), List.of(), List.of(), List.of());
+                },
+                new RequestValidator(),
+                new DirectorPipelineTelemetry(),
+                IdempotencyCache.disabled(),
+                new RequestMetrics()
+        );
+        PatchBatchService batchService = new PatchBatchService(
+                patchService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                8,
+                500
+        );
+        PatchStreamService streamService = new PatchStreamService(batchService, objectMapper, 2);
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            body.append("{\"schemaVersion\":\"v1\",\"requestId\":\"req-").append(i)
+                    .append("\",\"seed\":").append(i)
+                    .append(",\"tick\":1,\"goal\":\"TECH_TREE_PATCH\",\"snapshot\":{}}\n");
+        }
+        body.append("{\"schemaVersion\":\"v1\",\"requestId\":\"req-bad-goal\",\"seed\":1,\"tick\":1,\"goal\":\"NOPE\",\"snapshot\":{}}\n");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PatchStreamService.Summary summary = streamService.stream(
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)),
+                out
+        );
+        batchService.destroy();
+
+        assertEquals(13, summary.items());
+        assertEquals(1, summary.failed());
+        assertTrue(peakInFlight.get() <= 2, "peak in-flight " + peakInFlight.get());
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertEquals(13, lines.size());
+        Set<Integer> indexes = new TreeSet<>();
+        for (JsonNode line : lines) {
+            indexes.add(line.path("index").asInt());
+            if (line.has("error")) {
+                assertEquals("req-bad-goal", line.path("requestId").asText());
+                assertEquals("Bad request", line.path("error").path("message").asText());
+            } else {
+                assertEquals(line.path("requestId").asText(), line.path("response").path("requestId").asText());
+            }
+        }
+        assertEquals(13, indexes.size());
+    }
+
+    @Test
+    void stream_StopsAtMalformedJsonAfterFlushingEarlierItems() throws Exception {
+        PatchService patchService = new PatchService(
+                request -> new PatchResponse("v1", request.requestId(), request.seed(), List.of(), List.of(), List.of()),
+                new RequestValidator(),
+                new DirectorPipelineTelemetry(),
+                IdempotencyCache.disabled(),
+                new RequestMetrics()
+        );
+        PatchBatchService batchService = new PatchBatchService(
+                patchService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                2,
+                500
+        );
+        PatchStreamService streamService = new PatchStreamService(batchService, objectMapper, 4);
+        String body = """
+                {"schemaVersion":"v1","requestId":"req-ok","seed":1,"tick":1,"goal":"WORLD_EVENT","snapshot":{}}
+                {"schemaVersion":"v1","requestId":
+                """;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PatchStreamService.Summary summary = streamService.stream(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                out
+        );
+        batchService.destroy();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, summary.items());
+        assertEquals(1, summary.failed());
+        assertEquals(2, lines.length);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"requestId\":\"req-ok\""));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"index\":1"));
+    }
+
+    @Test
+    void stream_WhenPoolRejectsWork_ReportsErrorItemsInsteadOfHanging() throws Exception {
+        PatchService patchService = new PatchService(
+                request -> new PatchResponse("v1", request.requestId(), request.seed(), List.of(), List.of(), List.of()),
+                new RequestValidator(),
+                new DirectorPipelineTelemetry(),
+                IdempotencyCache.disabled(),
+                new RequestMetrics()
+        );
+        PatchBatchService batchService = new PatchBatchService(
+                patchService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                2,
+                500
+        );
+        batchService.destroy();
+        PatchStreamService streamService = new PatchStreamService(batchService, objectMapper, 1);
+        String body = """
+                {"schemaVersion":"v1","requestId":"req-a","seed":1,"tick":1,"goal":"WORLD_EVENT","snapshot":{}}
+                {"schemaVersion":"v1","requestId":"req-b","seed":2,"tick":1,"goal":"WORLD_EVENT","snapshot":{}}
+                """;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PatchStreamService.Summary summary = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> streamService.stream(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                out
+        ));
+
+        assertEquals(2, summary.items());
+        assertEquals(2, summary.failed());
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            assertEquals("Internal error", objectMapper.readTree(line).path("error").path("message").asText());
+        }
+    }
+
+    @Test
+    void stream_WritesEachItemWithoutWaitingForTheNextLine() throws Exception {
+        PatchService patchService = new PatchService(
+                request -> new PatchResponse("v1", request.requestId(), request.seed(), List.of(), List.of(), List.of()),
+                new RequestValidator(),
+                new DirectorPipelineTelemetry(),
+                IdempotencyCache.disabled(),
+                new RequestMetrics()
+        );
+        PatchBatchService batchService = new PatchBatchService(
+                patchService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                2,
+                500
+        );
+        PatchStreamService streamService = new PatchStreamService(batchService, objectMapper, 4);
+        PipedOutputStream client = new PipedOutputStream();
+        PipedInputStream requestBody = new PipedInputStream(client);
+        CountDownLatch firstLineFlushed = new CountDownLatch(1);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        OutputStream responseBody = new OutputStream() {
+            @Override
+            public synchronized void write(int b) {
+                written.write(b);
+            }
+
+            @Override
+            public synchronized void flush() {
+                firstLineFlushed.countDown();
+            }
+        };
+
+        try (ExecutorService server = Executors.newSingleThreadExecutor()) {
+            Future<PatchStreamService.Summary> summary = server.submit(() -> streamService.stream(requestBody, responseBody));
+            client.write("""
+                    {"schemaVersion":"v1","requestId":"req-first","seed":1,"tick":1,"goal":"WORLD_EVENT","snapshot":{}}
+                    """.getBytes(StandardCharsets.UTF_8));
+            client.flush();
+
+            assertTrue(firstLineFlushed.await(5, TimeUnit.SECONDS), "first item waited for the next request line");
+            client.write("""
+                    {"schemaVersion":"v1","requestId":"req-second","seed":2,"tick":1,"goal":"WORLD_EVENT","snapshot":{}}
+                    """.getBytes(StandardCharsets.UTF_8));
+            client.close();
+
+            assertEquals(2, summary.get(5, TimeUnit.SECONDS).items());
+        }
+        batchService.destroy();
+    }
+}
@@ -0,0 +1,110 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import hu.zoltanterek.worldsim.refinery.planner.LlmPlanner;
+import hu.zoltanterek.worldsim.refinery.planner.director.DirectorPipelineTelemetry;
+
+@SpringBootTest(properties = {
+        "planner.mode=pipeline",
+        "planner.llm.enabled=false",
+        "planner.refinery.enabled=false",
+        "planner.warmup.enabled=true"
+})
+@AutoConfigureMockMvc
+class StartupWarmupTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StartupWarmup startupWarmup;
+
+    @Autowired
+    private DirectorPipelineTelemetry telemetry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void healthTurnsReadyAfterWarmupReplaysExamples() throws Exception {
+        MockHttpServletResponse response = health();
+        long deadline = System.currentTimeMillis() + 60_000L;
+        while (!"ready".equals(status(response)) && System.currentTimeMillis() < deadline) {
+            assertEquals("warming_up", status(response));
+            assertEquals(503, response.getStatus());
+            Thread.sleep(50L);
+            response = health();
+        }
+
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertEquals(200, response.getStatus());
+        assertEquals("ready", body.path("status").asText());
+        assertEquals(5, body.path("warmup").path("requestsReplayed").asInt());
+        assertEquals(0, body.path("warmup").path("requestsFailed").asInt());
+        assertTrue(body.path("warmup").path("durationMs").asLong() >= 0L);
+    }
+
+    @Test
+    void run_SolvesCannedDirectorCheckpoint() {
+        StartupWarmup.Report report = startupWarmup.run();
+
+        assertEquals(0, report.requestsSkipped());
+        assertNotEquals("not_run", report.solveStatus());
+    }
+
+    @Test
+    void run_LeavesDirectorTelemetryUntouched() {
+        startupWarmup.run();
+
+        DirectorPipelineTelemetry.Snapshot snapshot = telemetry.snapshot();
+        assertEquals(0L, snapshot.directorRequestsCount());
+        assertEquals(0L, snapshot.validatedOutputsCount() + snapshot.fallbackCount());
+        assertTrue(snapshot.stageLatencies().isEmpty(), snapshot.stageLatencies().keySet().toString());
+    }
+
+    @Test
+    void run_SkipsDirectorExamplesWhenLlmIsEnabled(@TempDir Path requestsDir) throws Exception {
+        Files.copy(
+                Path.of("examples/requests/patch-season-director-v1.json"),
+                requestsDir.resolve("patch-season-director-v1.json")
+        );
+        StartupWarmup warmup = new StartupWarmup(
+                null,
+                new LlmPlanner(true, null),
+                objectMapper,
+                new DirectorPipelineTelemetry(),
+                true,
+                requestsDir.toString()
+        );
+
+        StartupWarmup.Report report = warmup.run();
+
+        assertEquals(0, report.requestsReplayed());
+        assertEquals(1, report.requestsSkipped());
+        assertEquals("not_run", report.solveStatus());
+    }
+
+    private MockHttpServletResponse health() throws Exception {
+        return mockMvc.perform(get("/health")).andReturn().getResponse();
+    }
+
+    private String status(MockHttpServletResponse response) throws Exception {
+        return objectMapper.readTree(response.getContentAsString()).path("status").asText();
+    }
+}
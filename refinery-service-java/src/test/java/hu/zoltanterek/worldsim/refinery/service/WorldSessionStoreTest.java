@@ -0,0 +1,118 @@
+package hu.zoltanterek.worldsim.refinery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import hu.zoltanterek.worldsim.refinery.model.Goal;
+import hu.zoltanterek.worldsim.refinery.model.SessionPatchRequest;
+import hu.zoltanterek.worldsim.refinery.model.SnapshotDeltaOp;
+
+class WorldSessionStoreTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void resolve_AppliesDeltasAgainstLatestVersion() throws Exception {
+        WorldSessionStore store = new WorldSessionStore(4, 0L, new AtomicLong()::get);
+        JsonNode snapshot = objectMapper.readTree("""
+                {"world": {"colonyCount": 2}, "director": {"activeBeats": [{"beatId": "B1"}], "remainingInfluenceBudget": 5}}
+                """);
+
+        long started = commit(store, "w1", full(snapshot));
+        WorldSessionStore.Resolved next = store.resolve("w1", delta(1L, List.of(
+                new SnapshotDeltaOp("replace", "/world/colonyCount", IntNode.valueOf(3)),
+                new SnapshotDeltaOp("add", "/director/activeBeats/-", objectMapper.readTree("{\"beatId\": \"B2\"}")),
+                new SnapshotDeltaOp("remove", "/director/activeBeats/0", null),
+                new SnapshotDeltaOp("add", "/director/beatCooldownRemainingTicks", IntNode.valueOf(6))
+        )));
+
+        assertEquals(1L, started);
+        assertEquals(2L, store.commit(next));
+        assertEquals(objectMapper.readTree("""
+                {"world": {"colonyCount": 3},
+                 "director": {"activeBeats": [{"beatId": "B2"}], "remainingInfluenceBudget": 5, "beatCooldownRemainingTicks": 6}}
+                """), next.snapshot());
+        assertEquals(2, snapshot.path("world").path("colonyCount").asInt());
+    }
+
+    @Test
+    void resolve_RejectsStaleUnknownAndMalformedDeltas() throws Exception {
+        WorldSessionStore store = new WorldSessionStore(4, 0L, new AtomicLong()::get);
+        List<SnapshotDeltaOp> bump = List.of(new SnapshotDeltaOp("replace", "/tick", IntNode.valueOf(2)));
+
+        WorldSessionConflictException unknown = assertThrows(WorldSessionConflictException.class, () -> store.resolve("w1", delta(1L, bump)));
+        assertEquals(0L, unknown.currentVersion());
+
+        commit(store, "w1", full(objectMapper.readTree("{\"tick\": 1}")));
+        commit(store, "w1", delta(1L, bump));
+        WorldSessionConflictException stale = assertThrows(WorldSessionConflictException.class, () -> store.resolve("w1", delta(1L, bump)));
+        assertEquals(2L, stale.currentVersion());
+
+        IllegalArgumentException badPath = assertThrows(IllegalArgumentException.class, () -> store.resolve("w1", delta(2L, List.of(
+                new SnapshotDeltaOp("replace", "/tick", IntNode.valueOf(3)),
+                new SnapshotDeltaOp("replace", "/missing/field", TextNode.valueOf("x"))
+        ))));
+        assertTrue(badPath.getMessage().startsWith("snapshotDelta[1]"), badPath.getMessage());
+        assertEquals(3L, commit(store, "w1", delta(2L, bump)));
+
+        assertThrows(IllegalArgumentException.class, () -> store.resolve("w1", new SessionPatchRequest(
+                "v1", "req", 7L, 1L, Goal.SEASON_DIRECTOR_CHECKPOINT, 3L, objectMapper.createObjectNode(), bump, null)));
+        assertThrows(IllegalArgumentException.class, () -> new WorldSessionStore(0, 0L).resolve("w1", full(objectMapper.createObjectNode())));
+    }
+
+    @Test
+    void resolve_EvictsIdleAndLeastRecentlyUsedSessions() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        WorldSessionStore store = new WorldSessionStore(2, 1_000L, clock::get);
+        JsonNode snapshot = objectMapper.readTree("{\"tick\": 1}");
+
+        commit(store, "w1", full(snapshot));
+        commit(store, "w2", full(snapshot));
+        commit(store, "w3", full(snapshot));
+        assertEquals(2, store.size());
+        assertThrows(WorldSessionConflictException.class, () -> store.resolve("w1", delta(1L, List.of())));
+
+        clock.addAndGet(1_001L * 1_000_000L);
+        assertThrows(WorldSessionConflictException.class, () -> store.resolve("w3", delta(1L, List.of())));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void commit_OnlyAdvancesTheSessionOnceCalledAndRejectsLostRaces() throws Exception {
+        WorldSessionStore store = new WorldSessionStore(4, 0L, new AtomicLong()::get);
+        List<SnapshotDeltaOp> bump = List.of(new SnapshotDeltaOp("replace", "/tick", IntNode.valueOf(2)));
+        assertEquals(0, store.size());
+        store.resolve("w1", full(objectMapper.readTree("{\"tick\": 1}")));
+        assertEquals(0, store.size());
+
+        commit(store, "w1", full(objectMapper.readTree("{\"tick\": 1}")));
+        WorldSessionStore.Resolved first = store.resolve("w1", delta(1L, bump));
+        WorldSessionStore.Resolved second = store.resolve("w1", delta(1L, bump));
+
+        assertEquals(2L, store.commit(first));
+        WorldSessionConflictException lost = assertThrows(WorldSessionConflictException.class, () -> store.commit(second));
+        assertEquals(2L, lost.currentVersion());
+    }
+
+    private static long commit(WorldSessionStore store, String worldId, SessionPatchRequest request) {
+        return store.commit(store.resolve(worldId, request));
+    }
+
+    private static SessionPatchRequest full(JsonNode snapshot) {
+        return new SessionPatchRequest("v1", "req", 7L, 1L, Goal.SEASON_DIRECTOR_CHECKPOINT, null, snapshot, null, null);
+    }
+
+    private static SessionPatchRequest delta(long baseVersion, List<SnapshotDeltaOp> ops) {
+        return new SessionPatchRequest("v1", "req", 7L, 2L, Goal.SEASON_DIRECTOR_CHECKPOINT, baseVersion, null, ops, null);
+    }
+}
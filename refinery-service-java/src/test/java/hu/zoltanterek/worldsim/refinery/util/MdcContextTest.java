@@ -0,0 +1,46 @@
+package hu.zoltanterek.worldsim.refinery.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class MdcContextTest {
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void wrap_CarriesCallerMdcOntoVirtualThread() throws Exception {
+        MDC.put("requestId", "req-mdc");
+        MDC.put("goal", "SEASON_DIRECTOR_CHECKPOINT");
+
+        Supplier<String> wrapped = MdcContext.wrap(() -> MDC.get("requestId"));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            String seen = executor.submit(wrapped::get).get();
+            String unwrapped = executor.submit(() -> MDC.get("requestId")).get();
+
+            assertEquals("req-mdc", seen);
+            assertNull(unwrapped);
+        }
+    }
+
+    @Test
+    void wrap_RestoresWorkerMdcAfterTask() {
+        MDC.put("requestId", "req-caller");
+        Runnable task = MdcContext.wrap(() -> assertEquals("req-caller", MDC.get("requestId")));
+        MDC.put("requestId", "req-worker");
+
+        task.run();
+
+        assertEquals("req-worker", MDC.get("requestId"));
+    }
+}